@@ -0,0 +1,294 @@
+package io.kestra.plugin.cassandra;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.Task;
+import io.kestra.core.runners.RunContext;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Plugin(
+    metrics = {
+        @Metric(
+            name = "scanned.rows",
+            type = Counter.TYPE,
+            unit = "records",
+            description = "The number of rows folded into the aggregations."
+        )
+    }
+)
+public abstract class AbstractAggregate extends Task implements RunnableTask<AbstractAggregate.Output> {
+    @Schema(
+        title = "Keyspace of the table to aggregate"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<String> keyspace;
+
+    @Schema(
+        title = "Table to aggregate"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<String> table;
+
+    @Schema(
+        title = "Aggregations to compute"
+    )
+    @NotEmpty
+    @PluginProperty(group = "main")
+    protected List<Aggregation> aggregations;
+
+    @Schema(
+        title = "Columns to group the aggregations by",
+        description = "Without it, a single row aggregating the whole table is returned. Every group is kept in memory, " +
+            "so only group on low-cardinality columns."
+    )
+    @PluginProperty(group = "main")
+    protected Property<List<String>> groupBy;
+
+    @Schema(
+        title = "Number of token ranges the table is split into"
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    protected Property<Integer> splits = Property.ofValue(64);
+
+    @Schema(
+        title = "Number of token ranges scanned concurrently"
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    protected Property<Integer> parallelism = Property.ofValue(4);
+
+    @Schema(
+        title = "Number of rows fetched per page"
+    )
+    @PluginProperty(group = "advanced")
+    protected Property<Integer> pageSize;
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        String rKeyspace = runContext.render(this.keyspace).as(String.class).orElseThrow();
+        String rTable = runContext.render(this.table).as(String.class).orElseThrow();
+        List<String> rGroupBy = runContext.render(this.groupBy).asList(String.class);
+
+        List<String> names = new ArrayList<>();
+        List<Function> functions = new ArrayList<>();
+        List<String> columns = new ArrayList<>();
+        List<List<Double>> quantiles = new ArrayList<>();
+        for (Aggregation aggregation : this.aggregations) {
+            Function function = runContext.render(aggregation.getFunction()).as(Function.class).orElseThrow();
+            String column = runContext.render(aggregation.getColumn()).as(String.class).orElse(null);
+            if (column == null && function != Function.COUNT) {
+                throw new IllegalArgumentException("A column is required for the " + function + " aggregation");
+            }
+
+            functions.add(function);
+            columns.add(column);
+            quantiles.add(runContext.render(aggregation.getQuantiles()).asList(Double.class));
+            names.add(runContext.render(aggregation.getName()).as(String.class)
+                .orElse(function.name().toLowerCase() + (column == null ? "" : "_" + column)));
+        }
+
+        Set<String> selected = new LinkedHashSet<>(rGroupBy);
+        columns.stream().filter(column -> column != null).forEach(selected::add);
+
+        try (CqlSession session = this.cqlSession(runContext)) {
+            TableMetadata tableMetadata = TokenRanges.table(session, rKeyspace, rTable);
+            String select = selected.isEmpty() ?
+                "SELECT " + TokenRanges.tokenFunction(tableMetadata) :
+                "SELECT " + selected.stream().map(c -> CqlIdentifier.fromCql(c).asCql(true)).collect(Collectors.joining(", "));
+
+            RangeScanner scanner = new RangeScanner(session, tableMetadata, select, runContext.render(this.pageSize).as(Integer.class).orElse(null));
+            List<TokenRanges.Split> ranges = TokenRanges.plan(runContext, session, rKeyspace, rTable, runContext.render(this.splits).as(Integer.class).orElseThrow());
+
+            List<Partial> partials = scanner.scan(
+                ranges,
+                runContext.render(this.parallelism).as(Integer.class).orElseThrow(),
+                (index, split, rows) -> {
+                    Partial partial = new Partial();
+                    ColumnDefinitions definitions = rows.getColumnDefinitions();
+
+                    for (Row row : rows) {
+                        List<Object> group = new ArrayList<>(rGroupBy.size());
+                        for (String column : rGroupBy) {
+                            group.add(AbstractQuery.convertCell(definitions.get(column), row, definitions.firstIndexOf(column)));
+                        }
+
+                        Aggregator[] aggregators = partial.groups.computeIfAbsent(group, g -> newAggregators(functions, quantiles));
+                        for (int i = 0; i < aggregators.length; i++) {
+                            String column = columns.get(i);
+                            aggregators[i].add(column == null ? Boolean.TRUE :
+                                functions.get(i) == Function.DISTINCT ? rawBytes(row, column) : row.getObject(column));
+                        }
+                        partial.rows++;
+                    }
+
+                    return partial;
+                }
+            );
+
+            Partial total = new Partial();
+            for (Partial partial : partials) {
+                total.rows += partial.rows;
+                partial.groups.forEach((group, aggregators) -> {
+                    Aggregator[] merged = total.groups.computeIfAbsent(group, g -> newAggregators(functions, quantiles));
+                    for (int i = 0; i < merged.length; i++) {
+                        merged[i].merge(aggregators[i]);
+                    }
+                });
+            }
+
+            if (rGroupBy.isEmpty() && total.groups.isEmpty()) {
+                total.groups.put(List.of(), newAggregators(functions, quantiles));
+            }
+
+            List<Map<String, Object>> results = new ArrayList<>();
+            total.groups.forEach((group, aggregators) -> {
+                Map<String, Object> result = new LinkedHashMap<>();
+                for (int i = 0; i < rGroupBy.size(); i++) {
+                    result.put(rGroupBy.get(i), group.get(i));
+                }
+                for (int i = 0; i < aggregators.length; i++) {
+                    result.put(names.get(i), aggregators[i].result());
+                }
+                results.add(result);
+            });
+
+            runContext.metric(Counter.of("scanned.rows", total.rows));
+
+            return Output.builder()
+                .rows(results)
+                .size((long) results.size())
+                .scannedRows(total.rows)
+                .build();
+        }
+    }
+
+    private static Aggregator[] newAggregators(List<Function> functions, List<List<Double>> quantiles) {
+        Aggregator[] aggregators = new Aggregator[functions.size()];
+        for (int i = 0; i < aggregators.length; i++) {
+            aggregators[i] = Aggregator.of(functions.get(i), quantiles.get(i));
+        }
+
+        return aggregators;
+    }
+
+    private static byte[] rawBytes(Row row, String column) {
+        ByteBuffer buffer = row.getBytesUnsafe(column);
+        if (buffer == null) {
+            return null;
+        }
+
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+    public abstract CqlSession cqlSession(RunContext runContext) throws IllegalVariableEvaluationException;
+
+    private static class Partial {
+        private final Map<List<Object>, Aggregator[]> groups = new HashMap<>();
+        private long rows = 0;
+    }
+
+    public enum Function {
+        COUNT,
+        SUM,
+        AVG,
+        MIN,
+        MAX,
+        DISTINCT,
+        QUANTILES
+    }
+
+    @Getter
+    @Builder
+    public static class Aggregation {
+        @Schema(
+            title = "Name of the aggregation in the result",
+            description = "Defaults to the function and column names, for example `sum_amount`."
+        )
+        private Property<String> name;
+
+        @Schema(
+            title = "Aggregation function",
+            description = "COUNT - number of rows, or of non-null values when a column is set.\n"
+                + "SUM, AVG, MIN, MAX - computed on the column values; an integer SUM beyond the bigint range is returned as a varint.\n"
+                + "DISTINCT - estimated number of distinct values (HyperLogLog, about 1% error).\n"
+                + "QUANTILES - estimated quantiles of a numeric column (1% relative error)."
+        )
+        @NotNull
+        @PluginProperty(group = "main")
+        private Property<Function> function;
+
+        @Schema(
+            title = "Column to aggregate",
+            description = "Required for every function but COUNT."
+        )
+        @PluginProperty(group = "main")
+        private Property<String> column;
+
+        @Schema(
+            title = "Quantiles to compute with the QUANTILES function"
+        )
+        @Builder.Default
+        @PluginProperty(group = "advanced")
+        private Property<List<Double>> quantiles = Property.ofValue(List.of(0.5, 0.9, 0.99));
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "Aggregation results",
+            description = "One row per group, holding the group columns and the aggregation results."
+        )
+        private final List<Map<String, Object>> rows;
+
+        @Schema(
+            title = "The number of result rows"
+        )
+        private final Long size;
+
+        @Schema(
+            title = "The number of rows scanned"
+        )
+        private final Long scannedRows;
+    }
+}
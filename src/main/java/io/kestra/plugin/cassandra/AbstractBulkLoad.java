@@ -0,0 +1,314 @@
+package io.kestra.plugin.cassandra;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchStatementBuilder;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.DefaultBatchType;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodec;
+import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.Task;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Plugin(
+    metrics = {
+        @Metric(
+            name = "bulk.rows",
+            type = Counter.TYPE,
+            unit = "records",
+            description = "The number of rows loaded."
+        ),
+        @Metric(
+            name = "bulk.batches",
+            type = Counter.TYPE,
+            unit = "queries",
+            description = "The number of single-partition batches sent."
+        )
+    }
+)
+public abstract class AbstractBulkLoad extends Task implements RunnableTask<AbstractBulkLoad.Output> {
+    @Schema(
+        title = "Keyspace of the table to load"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<String> keyspace;
+
+    @Schema(
+        title = "Table to load"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<String> table;
+
+    @Schema(
+        title = "URI of an ion file of rows",
+        description = "One row per line, a map of column names to values. Every primary key column is required; a " +
+            "missing column is left unset rather than written as null, so it creates no tombstone."
+    )
+    @NotNull
+    @PluginProperty(internalStorageURI = true, group = "main")
+    protected Property<String> from;
+
+    @Schema(
+        title = "Columns to load",
+        description = "Defaults to every column of the table."
+    )
+    @PluginProperty(group = "main")
+    protected Property<List<String>> columns;
+
+    @Schema(
+        title = "Number of rows sorted together by token",
+        description = "Rows are read by runs of this size, sorted by token and grouped by partition; larger runs group " +
+            "more rows of the same partition into a single mutation, at the cost of memory."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Integer> sortBuffer = Property.ofValue(100_000);
+
+    @Schema(
+        title = "Maximum number of rows per batch",
+        description = "A batch only ever holds rows of a single partition, which Cassandra applies as one mutation."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Integer> batchSize = Property.ofValue(100);
+
+    @Schema(
+        title = "Maximum number of batches in flight"
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Integer> maxInFlight = Property.ofValue(64);
+
+    @Schema(
+        title = "Maximum number of batches sent per second"
+    )
+    @PluginProperty(group = "execution")
+    protected Property<Integer> rate;
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        String rKeyspace = runContext.render(this.keyspace).as(String.class).orElseThrow();
+        String rTable = runContext.render(this.table).as(String.class).orElseThrow();
+        URI rFrom = URI.create(runContext.render(this.from).as(String.class).orElseThrow());
+        int rSortBuffer = runContext.render(this.sortBuffer).as(Integer.class).orElseThrow();
+        int rBatchSize = runContext.render(this.batchSize).as(Integer.class).orElseThrow();
+
+        try (CqlSession session = this.cqlSession(runContext)) {
+            TableMetadata tableMetadata = TokenRanges.table(session, rKeyspace, rTable);
+            TokenMap tokenMap = session.getMetadata().getTokenMap()
+                .orElseThrow(() -> new IllegalStateException("Token metadata is not available, check the driver metadata settings"));
+
+            List<String> rColumns = runContext.render(this.columns).asList(String.class);
+            List<ColumnMetadata> loaded = rColumns.isEmpty() ?
+                new ArrayList<>(tableMetadata.getColumns().values()) :
+                rColumns.stream()
+                    .map(name -> tableMetadata.getColumn(name)
+                        .orElseThrow(() -> new IllegalArgumentException("Column '" + name + "' doesn't exist in table '" + rKeyspace + "." + rTable + "'")))
+                    .toList();
+
+            for (ColumnMetadata column : tableMetadata.getPrimaryKey()) {
+                if (!loaded.contains(column)) {
+                    throw new IllegalArgumentException("Primary key column '" + column.getName().asInternal() + "' must be loaded");
+                }
+            }
+            int[] primaryKey = tableMetadata.getPrimaryKey().stream().mapToInt(loaded::indexOf).toArray();
+            int[] partitionKey = tableMetadata.getPartitionKey().stream().mapToInt(loaded::indexOf).toArray();
+
+            PreparedStatement prepared = session.prepare(
+                "INSERT INTO " + tableMetadata.getKeyspace().asCql(true) + "." + tableMetadata.getName().asCql(true) +
+                    " (" + loaded.stream().map(c -> c.getName().asCql(true)).collect(Collectors.joining(", ")) + ")" +
+                    " VALUES (" + loaded.stream().map(c -> "?").collect(Collectors.joining(", ")) + ")"
+            );
+
+            Encoder encoder = new Encoder(loaded, session.getContext().getCodecRegistry(), session.getContext().getProtocolVersion());
+
+            Integer rRate = runContext.render(this.rate).as(Integer.class).orElse(null);
+            AsyncWriter writer = new AsyncWriter(
+                session,
+                runContext.render(this.maxInFlight).as(Integer.class).orElseThrow(),
+                rRate == null ? null : new Throttle(rRate)
+            );
+            AsyncWriter.Tracker tracker = writer.tracker();
+
+            long rows = 0;
+            long batches = 0;
+            List<Pending> run = new ArrayList<>(Math.min(rSortBuffer, 1 << 16));
+
+            try (var reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(rFrom), StandardCharsets.UTF_8), FileSerde.BUFFER_SIZE)) {
+                for (Object line : FileSerde.readAll(reader).toIterable()) {
+                    if (!(line instanceof Map<?, ?> row)) {
+                        throw new IllegalArgumentException("Invalid row '" + line + "', expected a map");
+                    }
+
+                    ByteBuffer[] values = encoder.encode(row);
+                    for (int index : primaryKey) {
+                        if (values[index] == null) {
+                            throw new IllegalArgumentException("Row " + rows + " has no value for primary key column '" +
+                                loaded.get(index).getName().asInternal() + "'");
+                        }
+                    }
+
+                    ByteBuffer[] key = new ByteBuffer[partitionKey.length];
+                    for (int i = 0; i < key.length; i++) {
+                        key[i] = values[partitionKey[i]];
+                    }
+                    Token token = tokenMap.newToken(Arrays.stream(key).map(ByteBuffer::duplicate).toArray(ByteBuffer[]::new));
+                    run.add(new Pending(token, key, values));
+                    rows++;
+
+                    if (run.size() >= rSortBuffer) {
+                        batches += flush(run, prepared, tracker, rBatchSize);
+                    }
+                }
+            }
+
+            batches += flush(run, prepared, tracker, rBatchSize);
+            tracker.await();
+
+            runContext.metric(Counter.of("bulk.rows", rows));
+            runContext.metric(Counter.of("bulk.batches", batches));
+            runContext.logger().info("Loaded {} rows into '{}.{}' in {} single-partition batches", rows, rKeyspace, rTable, batches);
+
+            return Output.builder()
+                .rows(rows)
+                .batches(batches)
+                .build();
+        }
+    }
+
+    /**
+     * Sends a run of rows in token order, as unlogged batches of rows of the same partition.
+     */
+    private static long flush(List<Pending> run, PreparedStatement prepared, AsyncWriter.Tracker tracker, int batchSize) throws InterruptedException {
+        run.sort(Comparator.comparing(Pending::token));
+
+        long batches = 0;
+        BatchStatementBuilder batch = null;
+        ByteBuffer[] partition = null;
+
+        for (Pending pending : run) {
+            if (batch != null && (batch.getStatementsCount() >= batchSize || !Arrays.equals(partition, pending.key()))) {
+                tracker.execute(batch.build());
+                batches++;
+                batch = null;
+            }
+
+            if (batch == null) {
+                batch = BatchStatement.builder(DefaultBatchType.UNLOGGED);
+                partition = pending.key();
+            }
+
+            BoundStatement statement = prepared.bind();
+            for (int i = 0; i < pending.values().length; i++) {
+                if (pending.values()[i] != null) {
+                    statement = statement.setBytesUnsafe(i, pending.values()[i]);
+                }
+            }
+            batch.addStatement(statement);
+        }
+
+        if (batch != null) {
+            tracker.execute(batch.build());
+            batches++;
+        }
+
+        run.clear();
+
+        return batches;
+    }
+
+    public abstract CqlSession cqlSession(RunContext runContext) throws IllegalVariableEvaluationException;
+
+    private record Pending(Token token, ByteBuffer[] key, ByteBuffer[] values) {
+    }
+
+    /**
+     * Serializes the values of a row with the codecs of the loaded columns, a missing value being left unset.
+     */
+    private static class Encoder {
+        private final List<ColumnMetadata> columns;
+        private final List<TypeCodec<Object>> codecs;
+        private final CodecRegistry codecRegistry;
+        private final ProtocolVersion protocolVersion;
+
+        Encoder(List<ColumnMetadata> columns, CodecRegistry codecRegistry, ProtocolVersion protocolVersion) {
+            this.columns = columns;
+            this.codecs = columns.stream().map(column -> codecRegistry.<Object>codecFor(column.getType())).toList();
+            this.codecRegistry = codecRegistry;
+            this.protocolVersion = protocolVersion;
+        }
+
+        ByteBuffer[] encode(Map<?, ?> row) {
+            ByteBuffer[] values = new ByteBuffer[this.columns.size()];
+
+            for (int i = 0; i < values.length; i++) {
+                CqlIdentifier name = this.columns.get(i).getName();
+                Object value = row.get(name.asInternal());
+
+                if (value != null) {
+                    values[i] = this.codecs.get(i).encode(CqlValues.coerce(value, this.columns.get(i).getType(), this.codecRegistry), this.protocolVersion);
+                }
+            }
+
+            return values;
+        }
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "The number of rows loaded"
+        )
+        private final Long rows;
+
+        @Schema(
+            title = "The number of single-partition batches sent"
+        )
+        private final Long batches;
+    }
+}
@@ -0,0 +1,242 @@
+package io.kestra.plugin.cassandra;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.reactivestreams.Publisher;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.type.DataType;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodec;
+import com.datastax.oss.driver.api.core.uuid.Uuids;
+import com.datastax.oss.protocol.internal.ProtocolConstants;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.triggers.AbstractTrigger;
+import io.kestra.core.models.triggers.RealtimeTriggerInterface;
+import io.kestra.core.models.triggers.TriggerContext;
+import io.kestra.core.models.triggers.TriggerOutput;
+import io.kestra.core.models.triggers.TriggerService;
+import io.kestra.core.runners.RunContext;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Schedulers;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+public abstract class AbstractCQLRealtimeTrigger extends AbstractTrigger implements RealtimeTriggerInterface, TriggerOutput<AbstractQuery.Output> {
+    private static final Duration CURSOR_TTL = Duration.ofDays(30);
+
+    @Schema(
+        title = "CQL query reading the rows after a cursor",
+        description = "Must contain exactly one bind marker `?` receiving the last cursor value, and return rows in increasing " +
+            "cursor order, for example `SELECT * FROM ks.events WHERE bucket = 'b1' AND event_id >= ? LIMIT 1000`. Use `>=` " +
+            "when several rows can share a cursor value, as with a `timestamp` cursor: the rows already emitted for the last " +
+            "cursor value are skipped, so the query must return the rows sharing a value in a stable order, as clustering " +
+            "columns do. `>` is enough for a unique cursor such as a `timeuuid`."
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Property<String> cql;
+
+    @Schema(
+        title = "Column holding the cursor",
+        description = "Typically a `timeuuid` or `timestamp` clustering column. Its value on the last emitted row is bound to " +
+            "the next query, see `cql` for a cursor not unique per row."
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Property<String> cursorColumn;
+
+    @Schema(
+        title = "Cursor value used the first time the trigger starts",
+        description = "Defaults to the current time for `timeuuid` and `timestamp` cursors. Once rows are emitted, the last " +
+            "cursor is saved in the namespace KV store and restarts resume from it."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<String> initialCursor;
+
+    @Schema(
+        title = "Wait time before querying again when no new rows were found"
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Duration> pollDelay = Property.ofValue(Duration.ofMillis(500));
+
+    @Schema(
+        title = "Maximum number of rows fetched per query",
+        description = "A query never reads more rows than downstream asked for, so nothing is buffered in memory."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> pageSize = Property.ofValue(500);
+
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean isActive = new AtomicBoolean(true);
+
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    private final CountDownLatch waitForTermination = new CountDownLatch(1);
+
+    @Override
+    public Publisher<Execution> evaluate(ConditionContext conditionContext, TriggerContext context) throws Exception {
+        RunContext runContext = conditionContext.getRunContext();
+
+        return Flux.<AbstractQuery.Output>create(sink -> this.stream(runContext, context, sink), FluxSink.OverflowStrategy.BUFFER)
+            .subscribeOn(Schedulers.boundedElastic())
+            .map(output -> TriggerService.generateRealtimeExecution(this, conditionContext, context, output));
+    }
+
+    private void stream(RunContext runContext, TriggerContext context, FluxSink<AbstractQuery.Output> sink) {
+        String stateKey = KvState.key("cassandra-realtime-cursor", context.getNamespace(), context.getFlowId(), context.getTriggerId());
+
+        try (CqlSession session = this.cqlSession(runContext)) {
+            PreparedStatement prepared = session.prepare(runContext.render(this.cql).as(String.class).orElseThrow());
+            String rCursorColumn = runContext.render(this.cursorColumn).as(String.class).orElseThrow();
+            int rPageSize = runContext.render(this.pageSize).as(Integer.class).orElseThrow();
+            long rPollDelay = runContext.render(this.pollDelay).as(Duration.class).orElseThrow().toMillis();
+
+            if (prepared.getVariableDefinitions().size() != 1) {
+                throw new IllegalArgumentException("The query must contain exactly one bind marker for the cursor, got " + prepared.getVariableDefinitions().size());
+            }
+
+            DataType cursorType = prepared.getVariableDefinitions().get(0).getType();
+            TypeCodec<Object> codec = session.getContext().getCodecRegistry().codecFor(cursorType);
+            Map<?, ?> saved = KvState.get(runContext, stateKey).map(value -> value instanceof Map<?, ?> map ? map : (Map<?, ?>) Map.of("cursor", value)).orElse(null);
+            Object cursor = saved != null ? codec.parse((String) saved.get("cursor")) : this.initialCursor(runContext, session, cursorType);
+            // rows already emitted with the cursor value, skipped when the query resumes with `>=`
+            long emitted = saved != null && saved.get("emitted") instanceof Number number ? number.longValue() : 0;
+
+            // released each time downstream requests more executions, or goes away
+            Semaphore demand = new Semaphore(0);
+            sink.onRequest(n -> demand.release());
+            sink.onDispose(demand::release);
+
+            while (this.isActive.get() && !sink.isCancelled()) {
+                // backpressure: only query once downstream asked for more executions, and never for more rows than asked
+                long requested = sink.requestedFromDownstream();
+                if (requested == 0) {
+                    demand.tryAcquire(rPollDelay, TimeUnit.MILLISECONDS);
+                    continue;
+                }
+
+                int pageSize = (int) Math.min(Integer.MAX_VALUE, Math.min(rPageSize, requested) + emitted);
+                ResultSet rs = session.execute(prepared.bind(cursor).setPageSize(pageSize));
+                long skip = emitted;
+                long count = 0;
+
+                // only the first page: the next query resumes from the last emitted cursor
+                for (Row row : rs.currentPage()) {
+                    if (!this.isActive.get() || sink.isCancelled()) {
+                        break;
+                    }
+
+                    Object value = row.getObject(rCursorColumn);
+                    if (skip > 0 && Objects.equals(value, cursor)) {
+                        skip--;
+                        continue;
+                    }
+                    skip = 0;
+
+                    if (sink.requestedFromDownstream() == 0) {
+                        break;
+                    }
+
+                    sink.next(AbstractQuery.Output.builder()
+                        .row(AbstractQuery.convertRow(row, rs.getColumnDefinitions()))
+                        .size(1L)
+                        .build()
+                    );
+                    emitted = Objects.equals(value, cursor) ? emitted + 1 : 1;
+                    cursor = value;
+                    count++;
+                }
+
+                // every emitted row was within the demand, so it was delivered rather than buffered
+                if (count > 0) {
+                    KvState.put(runContext, stateKey, Map.of("cursor", codec.format(cursor), "emitted", emitted), CURSOR_TTL);
+                } else {
+                    Thread.sleep(rPollDelay);
+                }
+            }
+
+            sink.complete();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            sink.complete();
+        } catch (Exception e) {
+            sink.error(e);
+        } finally {
+            this.waitForTermination.countDown();
+        }
+    }
+
+    private Object initialCursor(RunContext runContext, CqlSession session, DataType cursorType) throws Exception {
+        if (this.initialCursor != null) {
+            return CqlValues.coerce(
+                runContext.render(this.initialCursor).as(String.class).orElseThrow(),
+                cursorType,
+                session.getContext().getCodecRegistry()
+            );
+        }
+
+        return switch (cursorType.getProtocolCode()) {
+            case ProtocolConstants.DataType.TIMEUUID -> Uuids.startOf(System.currentTimeMillis());
+            case ProtocolConstants.DataType.TIMESTAMP -> Instant.now();
+            default -> throw new IllegalArgumentException("`initialCursor` is required for a cursor of type '" + cursorType + "'");
+        };
+    }
+
+    @Override
+    public void kill() {
+        this.stop(true);
+    }
+
+    @Override
+    public void stop() {
+        this.stop(false);
+    }
+
+    private void stop(boolean wait) {
+        if (!this.isActive.compareAndSet(true, false)) {
+            return;
+        }
+
+        if (wait) {
+            try {
+                this.waitForTermination.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public abstract CqlSession cqlSession(RunContext runContext) throws IllegalVariableEvaluationException;
+}
@@ -1,14 +1,35 @@
 package io.kestra.plugin.cassandra;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
 
+import com.datastax.oss.driver.api.core.CqlSession;
+
 import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.models.triggers.*;
@@ -25,10 +46,60 @@ import io.kestra.core.models.annotations.PluginProperty;
 @EqualsAndHashCode
 @Getter
 @NoArgsConstructor
+@Plugin(
+    metrics = {
+        @Metric(
+            name = "poll.interval",
+            type = Timer.TYPE,
+            description = "The interval until the next poll when adaptive polling is enabled."
+        ),
+        @Metric(
+            name = "poll.duration",
+            type = Timer.TYPE,
+            description = "The duration of the poll, including the wait for a cluster poll slot."
+        ),
+        @Metric(
+            name = "poll.timeouts",
+            type = Counter.TYPE,
+            unit = "polls",
+            description = "The number of polls cancelled and skipped because they exceeded `pollTimeout`."
+        ),
+        @Metric(
+            name = "poll.throttled",
+            type = Counter.TYPE,
+            unit = "polls",
+            description = "The number of polls skipped because `maxConcurrentPolls` polls of the same cluster were already running."
+        )
+    }
+)
 public abstract class AbstractCQLTrigger extends AbstractTrigger implements PollingTriggerInterface, TriggerOutput<AbstractQuery.Output>, QueryInterface {
+    private static final Pattern LIMIT = Pattern.compile("(?i)(?<!PARTITION\\s)\\bLIMIT\\s+\\d+");
+    private static final Pattern ALLOW_FILTERING = Pattern.compile("(?i)\\bALLOW\\s+FILTERING$");
+
+    // polls run off the scheduler thread, which waits for them up to the poll deadline only
+    private static final ExecutorService POLLS = Executors.newVirtualThreadPerTaskExecutor();
+
+    private static final Map<String, Semaphore> CLUSTER_POLLS = new ConcurrentHashMap<>();
+
     @Builder.Default
     private final Duration interval = Duration.ofSeconds(60);
 
+    @Schema(
+        title = "Minimum interval between polls in adaptive mode",
+        description = "Set together with `maxInterval` to enable adaptive polling: the interval doubles after each poll " +
+            "completed without data up to `maxInterval`, and drops back to `minInterval` as soon as a poll returns data; a poll " +
+            "skipped by `pollTimeout` or `maxConcurrentPolls` leaves it unchanged. `interval` is then ignored. " +
+            "The current interval is kept in the namespace KV store, so it survives scheduler restarts."
+    )
+    @PluginProperty(group = "advanced")
+    private Duration minInterval;
+
+    @Schema(
+        title = "Maximum interval between polls in adaptive mode"
+    )
+    @PluginProperty(group = "advanced")
+    private Duration maxInterval;
+
     @Schema(title = "Time zone id used to parse date/time values returned by the query")
     private String timeZoneId;
 
@@ -54,27 +125,398 @@ public abstract class AbstractCQLTrigger extends AbstractTrigger implements Poll
     @Builder.Default
     protected Property<FetchType> fetchType = Property.ofValue(FetchType.NONE);
 
+    @Schema(
+        title = "Shape of the rows of a FETCH output",
+        description = "COMPACT lists the column names once in `columns` and each row as a list of values in `values`."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<AbstractQuery.RowFormat> rowFormat = Property.ofValue(AbstractQuery.RowFormat.MAP);
+
+    @Schema(
+        title = "Deadline of a poll",
+        description = "A poll still running past this duration is cancelled along with its in-flight requests, and the evaluation is " +
+            "skipped until the next interval; rows it read are not marked as seen for `deduplicationKeys`. Defaults to `interval`, " +
+            "so a hung cluster holds the scheduler for one interval at most."
+    )
+    @PluginProperty(group = "execution")
+    private Property<Duration> pollTimeout;
+
+    @Schema(
+        title = "Maximum number of concurrent polls on the same cluster",
+        description = "Shared by the triggers connecting to the same cluster with the same limit. A poll waits for a " +
+            "slot up to `pollTimeout`, then is skipped; a cancelled poll gives its slot back at once, even if its connection " +
+            "attempt is still running. No limit if not set."
+    )
+    @PluginProperty(group = "execution")
+    private Property<Integer> maxConcurrentPolls;
+
+    @Schema(
+        title = "Check the query against the schema before each poll",
+        description = "See the `guardrails` property of the Query task; with the BLOCK policy, a poll breaking a " +
+            "guardrail fails instead of running."
+    )
+    @PluginProperty(group = "advanced")
+    private QueryGuardrails guardrails;
+
+    @Schema(
+        title = "Run a cheap existence check before the query",
+        description = "When enabled, each poll first reads at most one row with `probeCql` and only runs the full query " +
+            "when the probe returns data, so empty polls never fetch or store rows."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Boolean> probe = Property.ofValue(false);
+
+    @Schema(
+        title = "CQL query used as existence check",
+        description = "Defaults to the `cql` query limited to one row."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<String> probeCql;
+
+    @Schema(
+        title = "Columns identifying a row for de-duplication",
+        description = "When set, each returned row is fingerprinted on these columns (typically the primary key) and rows " +
+            "already returned by a previous poll are dropped; no execution is created when every row was already seen. " +
+            "Fingerprints are kept in the namespace KV store. Only used with `fetchType: FETCH` or `FETCH_ONE`; a " +
+            "column missing from the query result fails the poll."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<List<String>> deduplicationKeys;
+
+    @Schema(
+        title = "Maximum number of row fingerprints remembered",
+        description = "The oldest fingerprints are evicted first, so the trigger state size stays fixed (16 bytes per fingerprint). Must be positive."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> deduplicationSize = Property.ofValue(10_000);
+
+    @Schema(
+        title = "How long a row fingerprint is remembered"
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Duration> deduplicationTtl = Property.ofValue(Duration.ofDays(7));
+
     @Builder.Default
     @Getter(AccessLevel.NONE)
     protected transient Map<String, Object> additionalVars = new HashMap<>();
 
     @Override
     public Optional<Execution> evaluate(ConditionContext conditionContext, TriggerContext context) throws Exception {
+        boolean adaptive = this.isAdaptive();
+        Optional<Polled> polled = this.pollWithDeadline(conditionContext, context);
+        Optional<Execution> execution = polled.flatMap(Polled::execution);
+
+        // a poll skipped by its deadline or the concurrency limit says nothing about the table, so keeps the interval
+        if (adaptive && polled.isPresent()) {
+            RunContext runContext = conditionContext.getRunContext();
+            Duration current = this.adaptiveInterval(runContext, context);
+            Duration next = execution.isPresent() ? this.minInterval : current.multipliedBy(2);
+            if (next.compareTo(this.maxInterval) > 0) {
+                next = this.maxInterval;
+            }
+
+            KvState.put(runContext, adaptiveKey(context), next.toString(), Duration.ofDays(7).plus(this.maxInterval.multipliedBy(2)));
+            runContext.metric(Timer.of("poll.interval", next));
+        }
+
+        return execution;
+    }
+
+    @Override
+    public ZonedDateTime nextEvaluationDate(ConditionContext conditionContext, Optional<? extends TriggerContext> last) throws Exception {
+        if (!this.isAdaptive() || last.isEmpty()) {
+            return PollingTriggerInterface.super.nextEvaluationDate(conditionContext, last);
+        }
+
+        return ZonedDateTime.now().plus(this.adaptiveInterval(conditionContext.getRunContext(), last.get()));
+    }
+
+    private boolean isAdaptive() {
+        if (this.minInterval == null && this.maxInterval == null) {
+            return false;
+        }
+
+        if (this.minInterval == null || this.maxInterval == null) {
+            throw new IllegalArgumentException("minInterval and maxInterval must be set together");
+        }
+        if (!this.minInterval.isPositive() || this.minInterval.compareTo(this.maxInterval) > 0) {
+            throw new IllegalArgumentException("minInterval must be positive and not greater than maxInterval, got " + this.minInterval + " and " + this.maxInterval);
+        }
+
+        return true;
+    }
+
+    /**
+     * The interval saved by the last evaluation, bounded by the current settings in case they changed since.
+     */
+    private Duration adaptiveInterval(RunContext runContext, TriggerContext context) throws Exception {
+        Duration saved = KvState.get(runContext, adaptiveKey(context))
+            .map(value -> value instanceof Duration duration ? duration : Duration.parse(value.toString()))
+            .orElse(this.minInterval);
+
+        return saved.compareTo(this.minInterval) < 0 ? this.minInterval : saved.compareTo(this.maxInterval) > 0 ? this.maxInterval : saved;
+    }
+
+    private static String adaptiveKey(TriggerContext context) {
+        return KvState.key("cassandra-trigger-interval", context.getNamespace(), context.getFlowId(), context.getTriggerId());
+    }
+
+    /**
+     * Runs the poll on its own virtual thread, within the per cluster concurrency limit, and cancels it once past the
+     * deadline: interrupting the poll thread cancels the in-flight query. Empty when the poll was skipped or cancelled.
+     */
+    private Optional<Polled> pollWithDeadline(ConditionContext conditionContext, TriggerContext context) throws Exception {
+        RunContext runContext = conditionContext.getRunContext();
+        Duration rPollTimeout = runContext.render(this.pollTimeout).as(Duration.class).orElse(this.interval);
+        Integer rMaxConcurrentPolls = runContext.render(this.maxConcurrentPolls).as(Integer.class).orElse(null);
+        long start = System.nanoTime();
+
+        Semaphore permits = rMaxConcurrentPolls == null ? null :
+            CLUSTER_POLLS.computeIfAbsent(ResultCache.digest(this.sessionIdentity(runContext), String.valueOf(rMaxConcurrentPolls)), key -> new Semaphore(rMaxConcurrentPolls));
+        if (permits != null && !permits.tryAcquire(rPollTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            runContext.metric(Counter.of("poll.throttled", 1));
+            runContext.logger().warn("Skipping poll, {} polls of the same cluster are already running", rMaxConcurrentPolls);
+            return Optional.empty();
+        }
+
+        // released once, by the poll when it ends or on cancellation: a connection attempt ignores interrupts and
+        // would otherwise keep the slot long after its deadline
+        AtomicBoolean released = new AtomicBoolean(permits == null);
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+
+        Future<Polled> poll = POLLS.submit(() -> {
+            try {
+                return this.poll(conditionContext, context);
+            } finally {
+                release.run();
+            }
+        });
+
+        try {
+            long remaining = rPollTimeout.toNanos() - (System.nanoTime() - start);
+            Polled polled = poll.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+
+            // only an accepted poll marks its rows as seen: a cancelled one is polled again next time
+            if (polled.seen() != null) {
+                KvState.put(runContext, polled.seen().key(), polled.seen().state(), polled.seen().ttl());
+            }
+
+            return Optional.of(polled);
+        } catch (TimeoutException e) {
+            poll.cancel(true);
+            release.run();
+            runContext.metric(Counter.of("poll.timeouts", 1));
+            runContext.logger().warn("Poll cancelled after exceeding its {} deadline, skipping this evaluation", rPollTimeout);
+            return Optional.empty();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception exception ? exception : e;
+        } catch (InterruptedException e) {
+            poll.cancel(true);
+            release.run();
+            throw e;
+        } finally {
+            runContext.metric(Timer.of("poll.duration", Duration.ofNanos(System.nanoTime() - start)));
+        }
+    }
+
+    private Polled poll(ConditionContext conditionContext, TriggerContext context) throws Exception {
         RunContext runContext = conditionContext.getRunContext();
         Logger logger = runContext.logger();
 
-        var run = runQuery(runContext);
+        AbstractQuery.Output run;
+        // the probe and the query share one connection
+        try (CqlSession session = this.cqlSession(runContext)) {
+            if (runContext.render(this.probe).as(Boolean.class).orElse(false)) {
+                String rProbeCql = this.probeCql != null ?
+                    runContext.render(this.probeCql).as(String.class).orElseThrow() :
+                    limitOne(runContext.render(this.cql).as(String.class).orElseThrow());
+
+                var probed = this.queryBuilder()
+                    .cql(Property.ofValue(rProbeCql))
+                    .fetchType(Property.ofValue(FetchType.FETCH_ONE))
+                    .pageSize(Property.ofValue(1))
+                    .build()
+                    .run(runContext, session);
+
+                if (probed.getSize() == 0) {
+                    logger.debug("Probe '{}' returned no rows, skipping the query", rProbeCql);
+                    return new Polled(Optional.empty(), null);
+                }
+            }
+
+            run = runQuery(runContext, session);
+        }
+
+        Seen seen = null;
+        if (this.deduplicationKeys != null) {
+            Deduplicated deduplicated = this.deduplicate(runContext, context, run);
+            run = deduplicated.output();
+            seen = deduplicated.seen();
+        }
 
         logger.debug("Found '{}' rows from '{}'", run.getSize(), runContext.render(this.cql));
 
         if (Optional.ofNullable(run.getSize()).orElse(0L) == 0) {
-            return Optional.empty();
+            return new Polled(Optional.empty(), seen);
         }
 
         Execution execution = TriggerService.generateExecution(this, conditionContext, context, run);
 
-        return Optional.of(execution);
+        return new Polled(Optional.of(execution), seen);
+    }
+
+    protected AbstractQuery.Output runQuery(RunContext runContext, CqlSession session) throws Exception {
+        return this.queryBuilder()
+            .cql(this.getCql())
+            .fetch(this.getFetch())
+            .store(this.getStore())
+            .fetchOne(this.getFetchOne())
+            .fetchType(this.getFetchType())
+            .rowFormat(this.getRowFormat())
+            .guardrails(this.getGuardrails())
+            .build()
+            .run(runContext, session);
+    }
+
+    /**
+     * Drops the rows already seen; the updated fingerprints are returned rather than saved, and only saved once the
+     * poll is accepted.
+     */
+    private Deduplicated deduplicate(RunContext runContext, TriggerContext context, AbstractQuery.Output run) throws Exception {
+        int rDeduplicationSize = runContext.render(this.deduplicationSize).as(Integer.class).orElseThrow();
+        if (rDeduplicationSize <= 0) {
+            throw new IllegalArgumentException("deduplicationSize must be positive, got " + rDeduplicationSize);
+        }
+
+        if (Optional.ofNullable(run.getSize()).orElse(0L) == 0) {
+            return new Deduplicated(run, null);
+        }
+
+        if (run.getRows() == null && run.getRow() == null && run.getValues() == null) {
+            runContext.logger().warn("Row de-duplication is only available with `fetchType: FETCH` or `FETCH_ONE`, ignoring it");
+            return new Deduplicated(run, null);
+        }
+
+        List<String> keys = runContext.render(this.deduplicationKeys).asList(String.class);
+        long maxAge = runContext.render(this.deduplicationTtl).as(Duration.class).orElseThrow().toSeconds();
+        long now = Instant.now().getEpochSecond();
+        String stateKey = KvState.key("cassandra-trigger-dedup", context.getNamespace(), context.getFlowId(), context.getTriggerId());
+
+        SeenSet seen = SeenSet.decode(
+            (String) KvState.get(runContext, stateKey).orElse(null),
+            rDeduplicationSize
+        );
+
+        if (run.getValues() != null) {
+            List<Integer> indexes = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                int index = run.getColumns().indexOf(key);
+                if (index < 0) {
+                    throw new IllegalArgumentException("Unknown deduplicationKeys column '" + key + "', the query returns " + run.getColumns());
+                }
+                indexes.add(index);
+            }
+
+            List<List<Object>> unseen = new ArrayList<>();
+            for (List<Object> row : run.getValues()) {
+                List<Object> values = new ArrayList<>(indexes.size());
+                for (int index : indexes) {
+                    values.add(row.get(index));
+                }
+
+                if (seen.add(SeenSet.fingerprint(values), now, maxAge)) {
+                    unseen.add(row);
+                }
+            }
+
+            runContext.logger().debug("{} of {} rows were already seen", run.getValues().size() - unseen.size(), run.getValues().size());
+
+            return new Deduplicated(
+                AbstractQuery.Output.builder()
+                    .bytes(run.getBytes())
+                    .columns(run.getColumns())
+                    .values(unseen)
+                    .size((long) unseen.size())
+                    .build(),
+                new Seen(stateKey, seen.encode(), runContext.render(this.deduplicationTtl).as(Duration.class).orElseThrow())
+            );
+        }
+
+        List<Map<String, Object>> rows = run.getRows() != null ? run.getRows() : List.of(run.getRow());
+        List<Map<String, Object>> unseen = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            List<Object> values = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                if (!row.containsKey(key)) {
+                    throw new IllegalArgumentException("Unknown deduplicationKeys column '" + key + "', the query returns " + row.keySet());
+                }
+                values.add(row.get(key));
+            }
+
+            if (seen.add(SeenSet.fingerprint(values), now, maxAge)) {
+                unseen.add(row);
+            }
+        }
+
+        runContext.logger().debug("{} of {} rows were already seen", rows.size() - unseen.size(), rows.size());
+
+        var output = AbstractQuery.Output.builder()
+            .bytes(run.getBytes())
+            .size((long) unseen.size());
+
+        if (run.getRows() != null) {
+            output.rows(unseen);
+        } else if (!unseen.isEmpty()) {
+            output.row(unseen.get(0));
+        }
+
+        return new Deduplicated(
+            output.build(),
+            new Seen(stateKey, seen.encode(), runContext.render(this.deduplicationTtl).as(Duration.class).orElseThrow())
+        );
+    }
+
+    private record Polled(Optional<Execution> execution, Seen seen) {
+    }
+
+    private record Deduplicated(AbstractQuery.Output output, Seen seen) {
+    }
+
+    /**
+     * The encoded fingerprints to save under the trigger state key.
+     */
+    private record Seen(String key, String state, Duration ttl) {
     }
 
-    protected abstract AbstractQuery.Output runQuery(RunContext runContext) throws Exception;
+    /**
+     * A query builder bound to the trigger session, on which the polling query is configured.
+     */
+    protected abstract AbstractQuery.AbstractQueryBuilder<?, ?> queryBuilder();
+
+    static String limitOne(String cql) {
+        String trimmed = cql.strip();
+        if (trimmed.endsWith(";")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1).strip();
+        }
+
+        Matcher limit = LIMIT.matcher(trimmed);
+        if (limit.find()) {
+            return limit.replaceFirst("LIMIT 1");
+        }
+
+        Matcher allowFiltering = ALLOW_FILTERING.matcher(trimmed);
+        if (allowFiltering.find()) {
+            return trimmed.substring(0, allowFiltering.start()) + "LIMIT 1 " + allowFiltering.group();
+        }
+
+        return trimmed + " LIMIT 1";
+    }
 }
@@ -0,0 +1,445 @@
+package io.kestra.plugin.cassandra;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
+
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.Task;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Plugin(
+    metrics = {
+        @Metric(
+            name = "compare.rows",
+            type = Counter.TYPE,
+            unit = "records",
+            description = "The number of rows read on both sides to build the hash trees."
+        ),
+        @Metric(
+            name = "compare.drilldown.rows",
+            type = Counter.TYPE,
+            unit = "records",
+            description = "The number of rows read again on both sides in the differing leaves."
+        ),
+        @Metric(
+            name = "compare.mismatches",
+            type = Counter.TYPE,
+            unit = "records",
+            description = "The number of missing, extra and different rows found."
+        ),
+        @Metric(
+            name = "compare.duration",
+            type = Timer.TYPE,
+            description = "The duration of the comparison."
+        )
+    }
+)
+public abstract class AbstractCompare extends Task implements RunnableTask<AbstractCompare.Output> {
+    @Schema(
+        title = "Reference cluster"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Cluster source;
+
+    @Schema(
+        title = "Cluster to verify"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Cluster target;
+
+    @Schema(
+        title = "Keyspace of the source table"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Property<String> sourceKeyspace;
+
+    @Schema(
+        title = "Source table"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Property<String> sourceTable;
+
+    @Schema(
+        title = "Keyspace of the target table",
+        description = "Defaults to the source keyspace."
+    )
+    @PluginProperty(group = "main")
+    private Property<String> targetKeyspace;
+
+    @Schema(
+        title = "Target table",
+        description = "Defaults to the source table name."
+    )
+    @PluginProperty(group = "main")
+    private Property<String> targetTable;
+
+    @Schema(
+        title = "Regular columns to compare",
+        description = "Defaults to every regular column of the source table. Primary key columns are always compared."
+    )
+    @PluginProperty(group = "main")
+    private Property<List<String>> columns;
+
+    @Schema(
+        title = "Number of token ranges the table is split into"
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> splits = Property.ofValue(64);
+
+    @Schema(
+        title = "Number of leaves of the hash tree of each token range",
+        description = "More leaves make the drill-down read fewer rows again when a range differs."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> leaves = Property.ofValue(256);
+
+    @Schema(
+        title = "Number of token ranges compared concurrently"
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> parallelism = Property.ofValue(4);
+
+    @Schema(
+        title = "Maximum number of mismatched rows reported",
+        description = "The mismatches are still counted above it."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> maxMismatches = Property.ofValue(10_000);
+
+    @Schema(
+        title = "Number of rows fetched per page"
+    )
+    @PluginProperty(group = "advanced")
+    private Property<Integer> pageSize;
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        long start = System.nanoTime();
+
+        String rSourceKeyspace = runContext.render(this.sourceKeyspace).as(String.class).orElseThrow();
+        String rSourceTable = runContext.render(this.sourceTable).as(String.class).orElseThrow();
+        String rTargetKeyspace = runContext.render(this.targetKeyspace).as(String.class).orElse(rSourceKeyspace);
+        String rTargetTable = runContext.render(this.targetTable).as(String.class).orElse(rSourceTable);
+        int rLeaves = runContext.render(this.leaves).as(Integer.class).orElseThrow();
+        int rMaxMismatches = runContext.render(this.maxMismatches).as(Integer.class).orElseThrow();
+        Integer rPageSize = runContext.render(this.pageSize).as(Integer.class).orElse(null);
+
+        try (CqlSession sourceSession = this.source.connect(runContext); CqlSession targetSession = this.target.connect(runContext)) {
+            TableMetadata sourceMetadata = TokenRanges.table(sourceSession, rSourceKeyspace, rSourceTable);
+            TableMetadata targetMetadata = TokenRanges.table(targetSession, rTargetKeyspace, rTargetTable);
+            List<ColumnMetadata> compared = this.compared(runContext, sourceMetadata, targetMetadata);
+            int keyWidth = sourceMetadata.getPrimaryKey().size();
+
+            // token first, then the primary key, then the compared regular columns
+            String select = "SELECT " + Stream.concat(
+                Stream.of(TokenRanges.tokenFunction(sourceMetadata)),
+                compared.stream().map(c -> c.getName().asCql(true))
+            ).collect(Collectors.joining(", "));
+
+            TokenMap sourceTokens = TokenRanges.tokenMap(sourceSession);
+            TokenMap targetTokens = TokenRanges.tokenMap(targetSession);
+            Token minToken = TokenRanges.minToken(sourceTokens);
+
+            RangeScanner sourceScanner = new RangeScanner(sourceSession, sourceMetadata, select, rPageSize);
+            RangeScanner targetScanner = new RangeScanner(targetSession, targetMetadata, select, rPageSize);
+            List<TokenRanges.Split> ranges = TokenRanges.plan(runContext, sourceSession, rSourceKeyspace, rSourceTable, runContext.render(this.splits).as(Integer.class).orElseThrow());
+
+            AtomicLong rows = new AtomicLong();
+            AtomicLong drilldownRows = new AtomicLong();
+            List<Map<String, Object>> mismatches = new ArrayList<>();
+            AtomicLong missing = new AtomicLong();
+            AtomicLong extra = new AtomicLong();
+            AtomicLong different = new AtomicLong();
+
+            List<Integer> differingRanges = sourceScanner.scan(
+                ranges,
+                runContext.render(this.parallelism).as(Integer.class).orElseThrow(),
+                (index, split, rs) -> {
+                    List<TokenRange> leaves = sourceTokens.newTokenRange(split.start(), split.end() == null ? minToken : split.end()).splitEvenly(rLeaves);
+                    RangeHashTree sourceTree = new RangeHashTree(leaves, split.end() == null);
+                    RangeHashTree targetTree = new RangeHashTree(leaves, split.end() == null);
+
+                    long count = hash(rs, sourceTree);
+                    count += hash(targetSession.execute(targetScanner.statement(convert(split, sourceTokens, targetTokens))), targetTree);
+                    rows.addAndGet(count);
+                    runContext.metric(Counter.of("compare.rows", count));
+
+                    List<Integer> differing = sourceTree.diff(targetTree);
+                    for (int leaf : differing) {
+                        TokenRanges.Split leafSplit = new TokenRanges.Split(
+                            leaves.get(leaf).getStart(),
+                            sourceTree.unbounded(leaf) ? null : leaves.get(leaf).getEnd(),
+                            0,
+                            Set.of()
+                        );
+
+                        Map<ByteBuffer, Keyed> sourceRows = keyed(sourceSession.execute(sourceScanner.statement(leafSplit)), keyWidth);
+                        Map<ByteBuffer, Keyed> targetRows = keyed(targetSession.execute(targetScanner.statement(convert(leafSplit, sourceTokens, targetTokens))), keyWidth);
+                        drilldownRows.addAndGet(sourceRows.size() + targetRows.size());
+
+                        synchronized (mismatches) {
+                            sourceRows.forEach((key, row) -> {
+                                Keyed other = targetRows.get(key);
+                                if (other == null) {
+                                    missing.incrementAndGet();
+                                    report(mismatches, rMaxMismatches, "MISSING", row);
+                                } else if (other.hash() != row.hash()) {
+                                    different.incrementAndGet();
+                                    report(mismatches, rMaxMismatches, "DIFFERENT", row);
+                                }
+                            });
+                            targetRows.forEach((key, row) -> {
+                                if (!sourceRows.containsKey(key)) {
+                                    extra.incrementAndGet();
+                                    report(mismatches, rMaxMismatches, "EXTRA", row);
+                                }
+                            });
+                        }
+                    }
+
+                    runContext.logger().debug("Compared {} rows of token range {}, {} differing leaves", count, index, differing.size());
+
+                    return differing.isEmpty() ? 0 : 1;
+                }
+            );
+
+            int mismatchedRanges = differingRanges.stream().mapToInt(Integer::intValue).sum();
+            long total = missing.get() + extra.get() + different.get();
+
+            File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+            try (var output = new BufferedOutputStream(new FileOutputStream(tempFile), FileSerde.BUFFER_SIZE)) {
+                for (Map<String, Object> mismatch : mismatches) {
+                    FileSerde.write(output, mismatch);
+                }
+            }
+            URI uri = runContext.storage().putFile(tempFile);
+            tempFile.delete();
+
+            Duration duration = Duration.ofNanos(System.nanoTime() - start);
+            runContext.metric(Counter.of("compare.drilldown.rows", drilldownRows.get()));
+            runContext.metric(Counter.of("compare.mismatches", total));
+            runContext.metric(Timer.of("compare.duration", duration));
+            runContext.logger().info(
+                "Compared {} rows in {}: {} missing, {} extra and {} different rows in {} of {} token ranges",
+                rows.get(), duration, missing.get(), extra.get(), different.get(), mismatchedRanges, ranges.size()
+            );
+
+            return Output.builder()
+                .rows(rows.get())
+                .ranges(ranges.size())
+                .mismatchedRanges(mismatchedRanges)
+                .missing(missing.get())
+                .extra(extra.get())
+                .different(different.get())
+                .uri(uri)
+                .build();
+        }
+    }
+
+    /**
+     * The primary key columns followed by the compared regular columns, checking that they have the same type on both sides.
+     */
+    private List<ColumnMetadata> compared(RunContext runContext, TableMetadata source, TableMetadata target) throws Exception {
+        List<String> rColumns = runContext.render(this.columns).asList(String.class);
+        List<ColumnMetadata> compared = new ArrayList<>(source.getPrimaryKey());
+
+        if (rColumns.isEmpty()) {
+            source.getColumns().values().stream()
+                .filter(column -> !source.getPrimaryKey().contains(column))
+                .forEach(compared::add);
+        } else {
+            for (String name : rColumns) {
+                ColumnMetadata column = source.getColumn(name)
+                    .orElseThrow(() -> new IllegalArgumentException("Column '" + name + "' doesn't exist in the source table"));
+                if (!compared.contains(column)) {
+                    compared.add(column);
+                }
+            }
+        }
+
+        for (ColumnMetadata column : compared) {
+            CqlIdentifier name = column.getName();
+            ColumnMetadata targetColumn = target.getColumn(name)
+                .orElseThrow(() -> new IllegalArgumentException("Column '" + name.asInternal() + "' doesn't exist in the target table"));
+
+            if (!column.getType().equals(targetColumn.getType())) {
+                throw new IllegalArgumentException("Column '" + name.asInternal() + "' is a " + column.getType().asCql(false, true) +
+                    " in the source table but a " + targetColumn.getType().asCql(false, true) + " in the target table");
+            }
+        }
+
+        List<CqlIdentifier> sourceKey = source.getPartitionKey().stream().map(ColumnMetadata::getName).toList();
+        List<CqlIdentifier> targetKey = target.getPartitionKey().stream().map(ColumnMetadata::getName).toList();
+        if (!sourceKey.equals(targetKey)) {
+            throw new IllegalArgumentException("Tables must have the same partition key to be compared by token range");
+        }
+
+        return compared;
+    }
+
+    /**
+     * The same split expressed with the tokens of the other cluster, which must use the same partitioner.
+     */
+    private static TokenRanges.Split convert(TokenRanges.Split split, TokenMap from, TokenMap to) {
+        return new TokenRanges.Split(
+            to.parse(from.format(split.start())),
+            split.end() == null ? null : to.parse(from.format(split.end())),
+            split.estimatedPartitions(),
+            Set.of()
+        );
+    }
+
+    private static long hash(ResultSet rs, RangeHashTree tree) {
+        int width = rs.getColumnDefinitions().size();
+        long count = 0;
+
+        for (Row row : rs) {
+            tree.add(row.getToken(0), RangeHashTree.hash(values(row, 1, width)));
+            count++;
+        }
+
+        return count;
+    }
+
+    private static Map<ByteBuffer, Keyed> keyed(ResultSet rs, int keyWidth) {
+        ColumnDefinitions definitions = rs.getColumnDefinitions();
+        Map<ByteBuffer, Keyed> rows = new HashMap<>();
+
+        for (Row row : rs) {
+            ByteBuffer[] key = values(row, 1, 1 + keyWidth);
+            int size = 0;
+            for (ByteBuffer component : key) {
+                size += Integer.BYTES + component.remaining();
+            }
+            ByteBuffer bytes = ByteBuffer.allocate(size);
+            for (ByteBuffer component : key) {
+                bytes.putInt(component.remaining()).put(component.duplicate());
+            }
+            bytes.flip();
+
+            Map<String, Object> primaryKey = new LinkedHashMap<>();
+            for (int i = 1; i <= keyWidth; i++) {
+                primaryKey.put(definitions.get(i).getName().asInternal(), AbstractQuery.convertCell(definitions.get(i), row, i));
+            }
+
+            rows.put(bytes, new Keyed(primaryKey, RangeHashTree.hash(values(row, 1, definitions.size()))));
+        }
+
+        return rows;
+    }
+
+    private static ByteBuffer[] values(Row row, int from, int to) {
+        ByteBuffer[] values = new ByteBuffer[to - from];
+        for (int i = from; i < to; i++) {
+            values[i - from] = row.getBytesUnsafe(i);
+        }
+
+        return values;
+    }
+
+    private static void report(List<Map<String, Object>> mismatches, int max, String type, Keyed row) {
+        if (mismatches.size() < max) {
+            Map<String, Object> mismatch = new LinkedHashMap<>();
+            mismatch.put("type", type);
+            mismatch.put("key", row.primaryKey());
+            mismatches.add(mismatch);
+        }
+    }
+
+    private record Keyed(Map<String, Object> primaryKey, long hash) {
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "The number of rows read on both sides"
+        )
+        private final Long rows;
+
+        @Schema(
+            title = "The number of token ranges compared"
+        )
+        private final Integer ranges;
+
+        @Schema(
+            title = "The number of token ranges holding at least one mismatch"
+        )
+        private final Integer mismatchedRanges;
+
+        @Schema(
+            title = "The number of rows of the source table missing in the target table"
+        )
+        private final Long missing;
+
+        @Schema(
+            title = "The number of rows of the target table missing in the source table"
+        )
+        private final Long extra;
+
+        @Schema(
+            title = "The number of rows with the same primary key but different values"
+        )
+        private final Long different;
+
+        @Schema(
+            title = "The URI of the ion file of mismatches",
+            description = "One line per mismatched row, with its `type` (MISSING, EXTRA or DIFFERENT) and its primary `key`, " +
+                "up to `maxMismatches` lines."
+        )
+        private final URI uri;
+    }
+}
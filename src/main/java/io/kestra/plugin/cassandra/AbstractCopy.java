@@ -0,0 +1,349 @@
+package io.kestra.plugin.cassandra;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.Task;
+import io.kestra.core.runners.RunContext;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Plugin(
+    metrics = {
+        @Metric(
+            name = "copy.rows",
+            type = Counter.TYPE,
+            unit = "records",
+            description = "The number of rows written to the target table, reported after each token range."
+        ),
+        @Metric(
+            name = "copy.ranges",
+            type = Counter.TYPE,
+            unit = "ranges",
+            description = "The number of token ranges copied."
+        ),
+        @Metric(
+            name = "copy.checkpoints",
+            type = Counter.TYPE,
+            unit = "checkpoints",
+            description = "The number of checkpoints saved in the KV store."
+        ),
+        @Metric(
+            name = "copy.throughput",
+            type = Counter.TYPE,
+            unit = "records/s",
+            description = "The average number of rows written per second."
+        ),
+        @Metric(
+            name = "copy.duration",
+            type = Timer.TYPE,
+            description = "The duration of the copy."
+        )
+    }
+)
+public abstract class AbstractCopy extends Task implements RunnableTask<AbstractCopy.Output> {
+    private static final Duration CHECKPOINT_TTL = Duration.ofDays(7);
+
+    @Schema(
+        title = "Cluster to read from"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Cluster source;
+
+    @Schema(
+        title = "Cluster to write to"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Cluster target;
+
+    @Schema(
+        title = "Keyspace of the source table"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Property<String> sourceKeyspace;
+
+    @Schema(
+        title = "Source table"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Property<String> sourceTable;
+
+    @Schema(
+        title = "Keyspace of the target table",
+        description = "Defaults to the source keyspace."
+    )
+    @PluginProperty(group = "main")
+    private Property<String> targetKeyspace;
+
+    @Schema(
+        title = "Target table",
+        description = "Defaults to the source table name."
+    )
+    @PluginProperty(group = "main")
+    private Property<String> targetTable;
+
+    @Schema(
+        title = "Columns to copy, as a map of source column to target column",
+        description = "Defaults to every source column that also exists in the target table."
+    )
+    @PluginProperty(group = "main")
+    private Property<Map<String, String>> columns;
+
+    @Schema(
+        title = "Number of token ranges the source table is split into"
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> splits = Property.ofValue(64);
+
+    @Schema(
+        title = "Number of token ranges read concurrently"
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> parallelism = Property.ofValue(4);
+
+    @Schema(
+        title = "Maximum number of writes in flight",
+        description = "Bounds the memory used by the copy and the load put on the target cluster."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> maxInFlight = Property.ofValue(256);
+
+    @Schema(
+        title = "Number of rows fetched per page"
+    )
+    @PluginProperty(group = "advanced")
+    private Property<Integer> pageSize;
+
+    @Schema(
+        title = "Checkpoint the copied token ranges so a retried task resumes where it stopped",
+        description = "After all the writes of a token range are acknowledged, the range is recorded in the namespace KV " +
+            "store together with the token ranges planned by the first attempt. A retry of the same task run reuses that plan " +
+            "and skips the recorded ranges."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Boolean> checkpoint = Property.ofValue(false);
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        long start = System.nanoTime();
+
+        String rSourceKeyspace = runContext.render(this.sourceKeyspace).as(String.class).orElseThrow();
+        String rSourceTable = runContext.render(this.sourceTable).as(String.class).orElseThrow();
+        String rTargetKeyspace = runContext.render(this.targetKeyspace).as(String.class).orElse(rSourceKeyspace);
+        String rTargetTable = runContext.render(this.targetTable).as(String.class).orElse(rSourceTable);
+        Map<String, String> rColumns = runContext.render(this.columns).asMap(String.class, String.class);
+
+        String taskRunId = runContext.render(this.checkpoint).as(Boolean.class).orElse(false) ? KvState.taskRunId(runContext) : null;
+        String checkpointKey = taskRunId == null ? null : KvState.key("cassandra-copy", taskRunId);
+
+        try (CqlSession sourceSession = this.source.connect(runContext); CqlSession targetSession = this.target.connect(runContext)) {
+            TableMetadata sourceMetadata = TokenRanges.table(sourceSession, rSourceKeyspace, rSourceTable);
+            TableMetadata targetMetadata = TokenRanges.table(targetSession, rTargetKeyspace, rTargetTable);
+            Map<CqlIdentifier, CqlIdentifier> mapping = mapping(sourceMetadata, targetMetadata, rColumns);
+
+            String select = "SELECT " + mapping.keySet().stream().map(c -> c.asCql(true)).collect(Collectors.joining(", "));
+            PreparedStatement insert = targetSession.prepare(
+                "INSERT INTO " + targetMetadata.getKeyspace().asCql(true) + "." + targetMetadata.getName().asCql(true) +
+                    " (" + mapping.values().stream().map(c -> c.asCql(true)).collect(Collectors.joining(", ")) + ")" +
+                    " VALUES (" + mapping.values().stream().map(c -> "?").collect(Collectors.joining(", ")) + ")"
+            );
+
+            TokenMap tokenMap = TokenRanges.tokenMap(sourceSession);
+            RangeScanner scanner = new RangeScanner(sourceSession, sourceMetadata, select, runContext.render(this.pageSize).as(Integer.class).orElse(null));
+            Map<?, ?> checkpointState = checkpointKey == null ? null : KvState.get(runContext, checkpointKey).map(value -> (Map<?, ?>) value).orElse(null);
+
+            // a resumed copy reuses the saved plan: a new plan, built from newer size estimates, may cut the ring differently
+            List<TokenRanges.Split> ranges = checkpointState != null ?
+                TokenRanges.restore(tokenMap, rSourceKeyspace, (List<?>) checkpointState.get("plan")) :
+                TokenRanges.plan(runContext, sourceSession, rSourceKeyspace, rSourceTable, runContext.render(this.splits).as(Integer.class).orElseThrow());
+            List<Map<String, Object>> savedPlan = checkpointKey == null ? null : TokenRanges.save(tokenMap, ranges);
+
+            Set<Integer> completed = new HashSet<>();
+            AtomicLong rows = new AtomicLong();
+            if (checkpointState != null) {
+                ((List<?>) checkpointState.get("completed")).forEach(range -> completed.add(((Number) range).intValue()));
+                rows.set(((Number) checkpointState.get("rows")).longValue());
+
+                runContext.logger().info("Resuming copy from checkpoint '{}', skipping {} of {} token ranges", checkpointKey, completed.size(), ranges.size());
+            }
+
+            List<Integer> pendingIndexes = new ArrayList<>();
+            for (int i = 0; i < ranges.size(); i++) {
+                if (!completed.contains(i)) {
+                    pendingIndexes.add(i);
+                }
+            }
+            List<TokenRanges.Split> pending = pendingIndexes.stream().map(ranges::get).toList();
+
+            AsyncWriter writer = new AsyncWriter(targetSession, runContext.render(this.maxInFlight).as(Integer.class).orElseThrow(), null);
+            String sourceName = this.source.name(runContext, "source");
+            String targetName = this.target.name(runContext, "target");
+
+            scanner.scan(
+                pending,
+                runContext.render(this.parallelism).as(Integer.class).orElseThrow(),
+                (index, split, rs) -> {
+                    AsyncWriter.Tracker tracker = writer.tracker();
+                    long count = 0;
+
+                    for (Row row : rs) {
+                        if (writer.failed()) {
+                            break;
+                        }
+
+                        BoundStatement statement = insert.bind();
+                        for (int i = 0; i < mapping.size(); i++) {
+                            ByteBuffer bytes = row.getBytesUnsafe(i);
+                            // null values are left unset so the copy doesn't write tombstones
+                            if (bytes != null) {
+                                statement = statement.setBytesUnsafe(i, bytes);
+                            }
+                        }
+
+                        tracker.execute(statement);
+                        count++;
+                    }
+
+                    tracker.await();
+
+                    long total = rows.addAndGet(count);
+                    runContext.metric(Counter.of("copy.rows", count));
+                    runContext.metric(Counter.of("copy.ranges", 1));
+
+                    if (checkpointKey != null) {
+                        synchronized (completed) {
+                            completed.add(pendingIndexes.get(index));
+
+                            Map<String, Object> state = new LinkedHashMap<>();
+                            state.put("plan", savedPlan);
+                            state.put("completed", new ArrayList<>(completed));
+                            state.put("rows", total);
+                            KvState.put(runContext, checkpointKey, state, CHECKPOINT_TTL);
+                        }
+                        runContext.metric(Counter.of("copy.checkpoints", 1));
+                    }
+
+                    runContext.logger().debug("Copied {} rows of token range {} from '{}' to '{}'", count, index, sourceName, targetName);
+
+                    return count;
+                }
+            );
+
+            if (checkpointKey != null) {
+                KvState.delete(runContext, checkpointKey);
+            }
+
+            Duration duration = Duration.ofNanos(System.nanoTime() - start);
+            long throughput = duration.toMillis() == 0 ? rows.get() : rows.get() * 1000 / duration.toMillis();
+            runContext.metric(Timer.of("copy.duration", duration));
+            runContext.metric(Counter.of("copy.throughput", throughput));
+            runContext.logger().info("Copied {} rows from '{}' to '{}' in {} ({} rows/s)", rows.get(), sourceName, targetName, duration, throughput);
+
+            return Output.builder()
+                .rows(rows.get())
+                .ranges(ranges.size())
+                .skippedRanges(ranges.size() - pending.size())
+                .build();
+        }
+    }
+
+    /**
+     * Resolves the source to target column mapping, checking that both columns exist and have the same type.
+     */
+    private static Map<CqlIdentifier, CqlIdentifier> mapping(TableMetadata source, TableMetadata target, Map<String, String> columns) {
+        Map<CqlIdentifier, CqlIdentifier> mapping = new LinkedHashMap<>();
+
+        if (columns.isEmpty()) {
+            for (ColumnMetadata column : source.getColumns().values()) {
+                if (target.getColumn(column.getName()).isPresent()) {
+                    mapping.put(column.getName(), column.getName());
+                }
+            }
+        } else {
+            columns.forEach((from, to) -> mapping.put(CqlIdentifier.fromCql(from), CqlIdentifier.fromCql(to)));
+        }
+
+        mapping.forEach((from, to) -> {
+            ColumnMetadata sourceColumn = source.getColumn(from)
+                .orElseThrow(() -> new IllegalArgumentException("Column '" + from.asInternal() + "' doesn't exist in the source table"));
+            ColumnMetadata targetColumn = target.getColumn(to)
+                .orElseThrow(() -> new IllegalArgumentException("Column '" + to.asInternal() + "' doesn't exist in the target table"));
+
+            if (!sourceColumn.getType().equals(targetColumn.getType())) {
+                throw new IllegalArgumentException("Column '" + from.asInternal() + "' is a " + sourceColumn.getType().asCql(false, true) +
+                    " but target column '" + to.asInternal() + "' is a " + targetColumn.getType().asCql(false, true));
+            }
+        });
+
+        for (ColumnMetadata column : target.getPrimaryKey()) {
+            if (!mapping.containsValue(column.getName())) {
+                throw new IllegalArgumentException("Primary key column '" + column.getName().asInternal() + "' of the target table isn't mapped");
+            }
+        }
+
+        return mapping;
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "The number of rows copied"
+        )
+        private final Long rows;
+
+        @Schema(
+            title = "The number of token ranges of the source table"
+        )
+        private final Integer ranges;
+
+        @Schema(
+            title = "The number of token ranges skipped because they were already copied by a previous attempt"
+        )
+        private final Integer skippedRanges;
+    }
+}
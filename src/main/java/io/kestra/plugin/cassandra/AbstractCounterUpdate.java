@@ -0,0 +1,342 @@
+package io.kestra.plugin.cassandra;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.datastax.oss.driver.api.core.type.DataTypes;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodec;
+import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.Task;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Plugin(
+    metrics = {
+        @Metric(
+            name = "counter.events",
+            type = Counter.TYPE,
+            unit = "records",
+            description = "The number of events read from the file."
+        ),
+        @Metric(
+            name = "counter.updates",
+            type = Counter.TYPE,
+            unit = "queries",
+            description = "The number of counter updates sent, one per distinct primary key with a non-zero delta."
+        ),
+        @Metric(
+            name = "counter.spills",
+            type = Counter.TYPE,
+            unit = "spills",
+            description = "The number of times the coalesced deltas exceeded `maxKeys` and were spilled to disk."
+        )
+    }
+)
+public abstract class AbstractCounterUpdate extends Task implements RunnableTask<AbstractCounterUpdate.Output> {
+    private static final int SPILL_PARTITIONS = 64;
+
+    private static final Duration CHECKPOINT_TTL = Duration.ofDays(7);
+
+    @Schema(
+        title = "Keyspace of the counter table"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<String> keyspace;
+
+    @Schema(
+        title = "Counter table to update"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<String> table;
+
+    @Schema(
+        title = "URI of an ion file of events",
+        description = "One event per line, a map holding every primary key column of the table and the delta of each " +
+            "updated counter column under the column name. A missing delta counts as 0."
+    )
+    @NotNull
+    @PluginProperty(internalStorageURI = true, group = "main")
+    protected Property<String> from;
+
+    @Schema(
+        title = "Counter columns to update",
+        description = "Defaults to every counter column of the table."
+    )
+    @PluginProperty(group = "main")
+    protected Property<List<String>> counters;
+
+    @Schema(
+        title = "Maximum number of distinct keys kept in memory",
+        description = "Above it, the coalesced deltas are spilled to disk and merged back, partition by partition, " +
+            "before being sent; each key is still updated only once."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Integer> maxKeys = Property.ofValue(1_000_000);
+
+    @Schema(
+        title = "Maximum number of updates in flight"
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Integer> maxInFlight = Property.ofValue(32);
+
+    @Schema(
+        title = "Maximum number of updates sent per second"
+    )
+    @PluginProperty(group = "execution")
+    protected Property<Integer> rate;
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        String rKeyspace = runContext.render(this.keyspace).as(String.class).orElseThrow();
+        String rTable = runContext.render(this.table).as(String.class).orElseThrow();
+        URI rFrom = URI.create(runContext.render(this.from).as(String.class).orElseThrow());
+
+        try (CqlSession session = this.cqlSession(runContext)) {
+            TableMetadata tableMetadata = TokenRanges.table(session, rKeyspace, rTable);
+            List<ColumnMetadata> keyColumns = tableMetadata.getPrimaryKey();
+            List<ColumnMetadata> counterColumns = this.counterColumns(runContext, tableMetadata);
+
+            CodecRegistry codecRegistry = session.getContext().getCodecRegistry();
+            ProtocolVersion protocolVersion = session.getContext().getProtocolVersion();
+            List<TypeCodec<Object>> codecs = keyColumns.stream().map(column -> codecRegistry.<Object>codecFor(column.getType())).toList();
+
+            PreparedStatement prepared = session.prepare(
+                "UPDATE " + tableMetadata.getKeyspace().asCql(true) + "." + tableMetadata.getName().asCql(true) +
+                    " SET " + counterColumns.stream().map(c -> c.getName().asCql(true) + " = " + c.getName().asCql(true) + " + ?").collect(Collectors.joining(", ")) +
+                    " WHERE " + keyColumns.stream().map(c -> c.getName().asCql(true) + " = ?").collect(Collectors.joining(" AND "))
+            );
+
+            long events = 0;
+            long[] updates = {0};
+            int spills;
+
+            // counter updates are not idempotent: a retry skips the key partitions a previous attempt fully sent
+            String taskRunId = KvState.taskRunId(runContext);
+            String checkpointKey = taskRunId == null ? null : KvState.key("cassandra-counter", taskRunId);
+            Set<Integer> drained = new HashSet<>();
+            if (checkpointKey != null) {
+                KvState.get(runContext, checkpointKey).ifPresent(value -> ((List<?>) value).forEach(index -> drained.add(((Number) index).intValue())));
+
+                if (!drained.isEmpty()) {
+                    runContext.logger().info("Resuming counter updates from checkpoint '{}', skipping {} of {} key partitions", checkpointKey, drained.size(), SPILL_PARTITIONS);
+                }
+            }
+
+            try (
+                CounterCoalescer coalescer = new CounterCoalescer(
+                    runContext,
+                    counterColumns.size(),
+                    runContext.render(this.maxKeys).as(Integer.class).orElseThrow(),
+                    SPILL_PARTITIONS
+                );
+                var reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(rFrom), StandardCharsets.UTF_8), FileSerde.BUFFER_SIZE)
+            ) {
+                for (Object line : FileSerde.readAll(reader).toIterable()) {
+                    if (!(line instanceof Map<?, ?> event)) {
+                        throw new IllegalArgumentException("Invalid event '" + line + "', expected a map");
+                    }
+
+                    byte[][] components = new byte[keyColumns.size()][];
+                    for (int i = 0; i < components.length; i++) {
+                        ColumnMetadata column = keyColumns.get(i);
+                        Object value = event.get(column.getName().asInternal());
+                        if (value == null) {
+                            throw new IllegalArgumentException("Event " + events + " has no value for primary key column '" + column.getName().asInternal() + "'");
+                        }
+
+                        ByteBuffer bytes = codecs.get(i).encode(CqlValues.coerce(value, column.getType(), codecRegistry), protocolVersion);
+                        components[i] = new byte[bytes.remaining()];
+                        bytes.get(components[i]);
+                    }
+
+                    long[] delta = new long[counterColumns.size()];
+                    for (int i = 0; i < delta.length; i++) {
+                        delta[i] = delta(event.get(counterColumns.get(i).getName().asInternal()));
+                    }
+
+                    coalescer.add(key(components), delta);
+                    events++;
+                }
+
+                Integer rRate = runContext.render(this.rate).as(Integer.class).orElse(null);
+                AsyncWriter writer = new AsyncWriter(
+                    session,
+                    runContext.render(this.maxInFlight).as(Integer.class).orElseThrow(),
+                    rRate == null ? null : new Throttle(rRate)
+                );
+                AsyncWriter.Tracker tracker = writer.tracker();
+
+                coalescer.drain(index -> !drained.contains(index), (key, delta) -> {
+                    if (isZero(delta)) {
+                        return;
+                    }
+
+                    BoundStatement statement = prepared.bind();
+                    for (int i = 0; i < delta.length; i++) {
+                        statement = statement.setLong(i, delta[i]);
+                    }
+
+                    ByteBuffer buffer = ByteBuffer.wrap(key);
+                    for (int i = 0; i < keyColumns.size(); i++) {
+                        ByteBuffer component = buffer.slice(buffer.position() + Integer.BYTES, buffer.getInt(buffer.position()));
+                        buffer.position(buffer.position() + Integer.BYTES + component.remaining());
+                        statement = statement.setBytesUnsafe(delta.length + i, component);
+                    }
+
+                    tracker.execute(statement);
+                    updates[0]++;
+                }, index -> {
+                    tracker.await();
+
+                    if (checkpointKey != null) {
+                        drained.add(index);
+                        KvState.put(runContext, checkpointKey, new ArrayList<>(drained), CHECKPOINT_TTL);
+                    }
+                });
+
+                spills = coalescer.spills();
+            }
+
+            if (checkpointKey != null) {
+                KvState.delete(runContext, checkpointKey);
+            }
+
+            runContext.metric(Counter.of("counter.events", events));
+            runContext.metric(Counter.of("counter.updates", updates[0]));
+            runContext.metric(Counter.of("counter.spills", spills));
+            runContext.logger().info("Coalesced {} events into {} counter updates on '{}.{}'", events, updates[0], rKeyspace, rTable);
+
+            return Output.builder()
+                .events(events)
+                .updates(updates[0])
+                .spills(spills)
+                .build();
+        }
+    }
+
+    private List<ColumnMetadata> counterColumns(RunContext runContext, TableMetadata tableMetadata) throws IllegalVariableEvaluationException {
+        List<String> rCounters = runContext.render(this.counters).asList(String.class);
+
+        List<ColumnMetadata> columns = rCounters.isEmpty() ?
+            tableMetadata.getColumns().values().stream().filter(c -> DataTypes.COUNTER.equals(c.getType())).toList() :
+            rCounters.stream()
+                .map(name -> tableMetadata.getColumn(name)
+                    .orElseThrow(() -> new IllegalArgumentException("Column '" + name + "' doesn't exist in table '" + tableMetadata.getName().asInternal() + "'")))
+                .toList();
+
+        for (ColumnMetadata column : columns) {
+            if (!DataTypes.COUNTER.equals(column.getType())) {
+                throw new IllegalArgumentException("Column '" + column.getName().asInternal() + "' is not a counter");
+            }
+        }
+
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("Table '" + tableMetadata.getName().asInternal() + "' has no counter column");
+        }
+
+        return columns;
+    }
+
+    /**
+     * Concatenates the serialized primary key values, each prefixed with its length.
+     */
+    private static byte[] key(byte[][] components) {
+        int size = 0;
+        for (byte[] component : components) {
+            size += Integer.BYTES + component.length;
+        }
+
+        ByteBuffer key = ByteBuffer.allocate(size);
+        for (byte[] component : components) {
+            key.putInt(component.length).put(component);
+        }
+
+        return key.array();
+    }
+
+    private static long delta(Object value) {
+        if (value == null) {
+            return 0;
+        }
+
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+
+        return Long.parseLong(value.toString());
+    }
+
+    private static boolean isZero(long[] delta) {
+        for (long value : delta) {
+            if (value != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public abstract CqlSession cqlSession(RunContext runContext) throws IllegalVariableEvaluationException;
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "The number of events read"
+        )
+        private final Long events;
+
+        @Schema(
+            title = "The number of counter updates sent",
+            description = "One per distinct primary key whose deltas are not all zero."
+        )
+        private final Long updates;
+
+        @Schema(
+            title = "The number of times the deltas were spilled to disk"
+        )
+        private final Integer spills;
+    }
+}
@@ -0,0 +1,277 @@
+package io.kestra.plugin.cassandra;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.Task;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Plugin(
+    metrics = {
+        @Metric(
+            name = "scanned.rows",
+            type = Counter.TYPE,
+            unit = "records",
+            description = "The number of rows read from the table."
+        ),
+        @Metric(
+            name = "changed.rows",
+            type = Counter.TYPE,
+            unit = "records",
+            description = "The number of rows written since the previous export, and exported."
+        )
+    }
+)
+public abstract class AbstractExport extends Task implements RunnableTask<AbstractExport.Output> {
+    @Schema(
+        title = "Keyspace of the table to export"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<String> keyspace;
+
+    @Schema(
+        title = "Table to export"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<String> table;
+
+    @Schema(
+        title = "Columns to export",
+        description = "Defaults to every column of the table."
+    )
+    @PluginProperty(group = "main")
+    protected Property<List<String>> columns;
+
+    @Schema(
+        title = "Columns whose write time detects changed rows",
+        description = "A row is exported when any of these columns was written after the previous export. Only regular " +
+            "(non primary key), non-collection columns have a write time. The first export exports every row."
+    )
+    @NotEmpty
+    @PluginProperty(group = "main")
+    protected Property<List<String>> writetimeColumns;
+
+    @Schema(
+        title = "Key of the KV entry holding the high-water mark",
+        description = "Defaults to a key derived from the flow, the task and the table. The high-water mark is only " +
+            "advanced after the export file is uploaded, so a failed export is fully retried by the next run."
+    )
+    @PluginProperty(group = "advanced")
+    protected Property<String> stateKey;
+
+    @Schema(
+        title = "Number of token ranges the table is split into"
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    protected Property<Integer> splits = Property.ofValue(64);
+
+    @Schema(
+        title = "Number of token ranges scanned concurrently"
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    protected Property<Integer> parallelism = Property.ofValue(4);
+
+    @Schema(
+        title = "Number of rows fetched per page"
+    )
+    @PluginProperty(group = "advanced")
+    protected Property<Integer> pageSize;
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        String rKeyspace = runContext.render(this.keyspace).as(String.class).orElseThrow();
+        String rTable = runContext.render(this.table).as(String.class).orElseThrow();
+        List<String> rWritetimeColumns = runContext.render(this.writetimeColumns).asList(String.class);
+        String key = runContext.render(this.stateKey).as(String.class)
+            .orElse(KvState.key("cassandra-export-hwm", runContext.flowInfo().id(), this.id, rKeyspace, rTable));
+
+        Instant previous = KvState.get(runContext, key).map(value -> Instant.parse((String) value)).orElse(null);
+        // rows written while the table is scanned are exported again by the next run rather than missed
+        Instant scanStart = Instant.now();
+        long mark = previous == null ? 0 : micros(previous);
+
+        try (CqlSession session = this.cqlSession(runContext)) {
+            TableMetadata tableMetadata = TokenRanges.table(session, rKeyspace, rTable);
+            List<String> rColumns = runContext.render(this.columns).asList(String.class);
+            List<CqlIdentifier> exported = rColumns.isEmpty() ?
+                new ArrayList<>(tableMetadata.getColumns().keySet()) :
+                rColumns.stream().map(CqlIdentifier::fromCql).toList();
+
+            for (String column : rWritetimeColumns) {
+                ColumnMetadata metadata = tableMetadata.getColumn(column)
+                    .orElseThrow(() -> new IllegalArgumentException("Column '" + column + "' doesn't exist in table '" + rKeyspace + "." + rTable + "'"));
+                if (tableMetadata.getPrimaryKey().contains(metadata)) {
+                    throw new IllegalArgumentException("Column '" + column + "' is part of the primary key and has no write time");
+                }
+            }
+
+            String select = "SELECT " + exported.stream().map(c -> c.asCql(true)).collect(Collectors.joining(", ")) + ", " +
+                rWritetimeColumns.stream().map(c -> "WRITETIME(" + CqlIdentifier.fromCql(c).asCql(true) + ")").collect(Collectors.joining(", "));
+            int width = exported.size();
+
+            RangeScanner scanner = new RangeScanner(session, tableMetadata, select, runContext.render(this.pageSize).as(Integer.class).orElse(null));
+            List<TokenRanges.Split> ranges = TokenRanges.plan(runContext, session, rKeyspace, rTable, runContext.render(this.splits).as(Integer.class).orElseThrow());
+
+            List<RangeResult> results = scanner.scan(
+                ranges,
+                runContext.render(this.parallelism).as(Integer.class).orElseThrow(),
+                (index, split, rs) -> {
+                    ColumnDefinitions definitions = rs.getColumnDefinitions();
+                    File file = runContext.workingDir().createTempFile(".ion").toFile();
+                    long scanned = 0;
+                    long changed = 0;
+
+                    try (var output = new BufferedOutputStream(new FileOutputStream(file), FileSerde.BUFFER_SIZE)) {
+                        for (Row row : rs) {
+                            scanned++;
+
+                            if (previous != null && !writtenAfter(row, width, definitions.size(), mark)) {
+                                continue;
+                            }
+
+                            Map<String, Object> map = new LinkedHashMap<>();
+                            for (int i = 0; i < width; i++) {
+                                map.put(definitions.get(i).getName().asInternal(), AbstractQuery.convertCell(definitions.get(i), row, i));
+                            }
+                            FileSerde.write(output, map);
+                            changed++;
+                        }
+                    }
+
+                    return new RangeResult(file, scanned, changed);
+                }
+            );
+
+            // the range files are streamed to internal storage in token order, each deleted once consumed
+            long scanned = 0;
+            long changed = 0;
+            URI uri;
+            try (PipedUpload upload = new PipedUpload(runContext, ".ion")) {
+                OutputStream output = upload.output();
+                for (RangeResult result : results) {
+                    Files.copy(result.file().toPath(), output);
+                    Files.delete(result.file().toPath());
+                    scanned += result.scanned();
+                    changed += result.changed();
+                }
+
+                uri = upload.finish();
+            } finally {
+                for (RangeResult result : results) {
+                    Files.deleteIfExists(result.file().toPath());
+                }
+            }
+
+            KvState.put(runContext, key, scanStart.toString(), null);
+
+            runContext.metric(Counter.of("scanned.rows", scanned));
+            runContext.metric(Counter.of("changed.rows", changed));
+            runContext.logger().info(
+                "Exported {} rows of '{}.{}' written since {}, out of {} scanned rows",
+                changed, rKeyspace, rTable, previous == null ? "the beginning" : previous, scanned
+            );
+
+            return Output.builder()
+                .uri(uri)
+                .size(changed)
+                .scannedRows(scanned)
+                .previousHighWaterMark(previous)
+                .highWaterMark(scanStart)
+                .build();
+        }
+    }
+
+    private static boolean writtenAfter(Row row, int from, int to, long mark) {
+        for (int i = from; i < to; i++) {
+            if (!row.isNull(i) && row.getLong(i) > mark) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static long micros(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+
+    public abstract CqlSession cqlSession(RunContext runContext) throws IllegalVariableEvaluationException;
+
+    private record RangeResult(File file, long scanned, long changed) {
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "The URI of the ion file containing the changed rows"
+        )
+        private final URI uri;
+
+        @Schema(
+            title = "The number of exported rows"
+        )
+        private final Long size;
+
+        @Schema(
+            title = "The number of rows scanned"
+        )
+        private final Long scannedRows;
+
+        @Schema(
+            title = "High-water mark of the previous export",
+            description = "Empty on the first export, which exports every row."
+        )
+        private final Instant previousHighWaterMark;
+
+        @Schema(
+            title = "New high-water mark, the time the scan started"
+        )
+        private final Instant highWaterMark;
+    }
+}
@@ -0,0 +1,401 @@
+package io.kestra.plugin.cassandra;
+
+import java.io.BufferedOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.Task;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Plugin(
+    metrics = {
+        @Metric(
+            name = "multi.rows",
+            type = Counter.TYPE,
+            unit = "records",
+            description = "The number of rows fetched from all the clusters."
+        ),
+        @Metric(
+            name = "multi.failures",
+            type = Counter.TYPE,
+            unit = "clusters",
+            description = "The number of clusters that failed or exceeded the timeout."
+        ),
+        @Metric(
+            name = "multi.duration",
+            type = Timer.TYPE,
+            description = "The duration of the query on the slowest cluster."
+        )
+    }
+)
+public abstract class AbstractMultiClusterQuery extends Task implements RunnableTask<AbstractMultiClusterQuery.Output> {
+    private static final ExecutorService TARGETS = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Schema(
+        title = "Clusters to query"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private List<Cluster> clusters;
+
+    @Schema(
+        title = "CQL query to run on every cluster"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    private Property<String> cql;
+
+    @Schema(
+        title = "The way you want to fetch the merged rows",
+        description = "FETCH_ONE returns the first row of the first cluster, in `clusters` order, that returned one."
+    )
+    @NotNull
+    @Builder.Default
+    @PluginProperty(group = "main")
+    private Property<FetchType> fetchType = Property.ofValue(FetchType.FETCH);
+
+    @Schema(
+        title = "Column added to every row with the name of its cluster",
+        description = "An unnamed cluster is named `cluster-<n>`, after its position in `clusters` starting at 1."
+    )
+    @NotNull
+    @Builder.Default
+    @PluginProperty(group = "main")
+    private Property<String> sourceColumn = Property.ofValue("_source");
+
+    @Schema(
+        title = "Maximum duration of the query on each cluster, connection included",
+        description = "A cluster still running past it is cancelled and counted as failed. No timeout if not set."
+    )
+    @PluginProperty(group = "execution")
+    private Property<Duration> timeout;
+
+    @Schema(
+        title = "Minimum number of clusters that must answer",
+        description = "Below it the task fails; defaults to 1, so the task only fails when every cluster failed."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private Property<Integer> minSuccesses = Property.ofValue(1);
+
+    @Schema(
+        title = "Columns used to merge the results of the clusters",
+        description = "Each cluster result is expected to be sorted on these columns; they are merged keeping this " +
+            "order. A column can be suffixed with `DESC`. Without it, results are concatenated in `clusters` order. " +
+            "Ignored for STORE."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<List<String>> mergeOrder;
+
+    @Schema(
+        title = "Number of rows fetched per page"
+    )
+    @PluginProperty(group = "advanced")
+    private Property<Integer> pageSize;
+
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final Set<Cancellation> running = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        String rCql = runContext.render(this.cql).as(String.class).orElseThrow();
+        FetchType rFetchType = runContext.render(this.fetchType).as(FetchType.class).orElseThrow();
+        String rSourceColumn = runContext.render(this.sourceColumn).as(String.class).orElseThrow();
+        Duration rTimeout = runContext.render(this.timeout).as(Duration.class).orElse(null);
+        int rMinSuccesses = runContext.render(this.minSuccesses).as(Integer.class).orElseThrow();
+        Integer rPageSize = runContext.render(this.pageSize).as(Integer.class).orElse(null);
+        long start = System.nanoTime();
+
+        List<String> names = new ArrayList<>(this.clusters.size());
+        List<Cancellation> cancellations = new ArrayList<>(this.clusters.size());
+        List<Future<Result>> futures = new ArrayList<>(this.clusters.size());
+        for (int i = 0; i < this.clusters.size(); i++) {
+            Cluster cluster = this.clusters.get(i);
+            String name = cluster.name(runContext, "cluster-" + (i + 1));
+            Cancellation cancellation = new Cancellation();
+            this.running.add(cancellation);
+
+            names.add(name);
+            cancellations.add(cancellation);
+            futures.add(TARGETS.submit(() -> this.query(runContext, cluster, name, cancellation, rCql, rPageSize, rFetchType, rSourceColumn)));
+        }
+
+        List<Result> results = new ArrayList<>();
+        List<Target> targets = new ArrayList<>();
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                String name = names.get(i);
+                String error = null;
+
+                try {
+                    Result result = rTimeout == null ?
+                        futures.get(i).get() :
+                        futures.get(i).get(Math.max(0, rTimeout.toNanos() - (System.nanoTime() - start)), TimeUnit.NANOSECONDS);
+                    results.add(result);
+                    targets.add(Target.builder().name(name).size(result.size()).duration(result.duration()).build());
+                    continue;
+                } catch (TimeoutException e) {
+                    cancellations.get(i).cancel();
+                    futures.get(i).cancel(true);
+                    error = "Timed out after " + rTimeout;
+                } catch (ExecutionException e) {
+                    error = e.getCause().getMessage() != null ? e.getCause().getMessage() : e.getCause().getClass().getName();
+                }
+
+                runContext.logger().warn("Query failed on cluster '{}': {}", name, error);
+                targets.add(Target.builder().name(name).error(error).build());
+            }
+        } catch (InterruptedException e) {
+            this.kill();
+            throw e;
+        } finally {
+            this.running.removeAll(cancellations);
+        }
+
+        long failures = targets.stream().filter(target -> target.getError() != null).count();
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        runContext.metric(Counter.of("multi.failures", failures));
+        runContext.metric(Timer.of("multi.duration", duration));
+
+        try {
+            if (results.size() < rMinSuccesses) {
+                throw new IllegalStateException("Query succeeded on " + results.size() + " of " + this.clusters.size() +
+                    " clusters, at least " + rMinSuccesses + " required");
+            }
+
+            Output.OutputBuilder output = Output.builder()
+                .targets(targets)
+                .failures((int) failures);
+
+            long size = results.stream().mapToLong(Result::size).sum();
+            switch (rFetchType) {
+                case FETCH_ONE -> {
+                    Map<String, Object> row = results.stream()
+                        .filter(result -> !result.rows().isEmpty())
+                        .map(result -> result.rows().getFirst())
+                        .findFirst()
+                        .orElse(null);
+                    size = row == null ? 0 : 1;
+                    output.row(row);
+                }
+                case FETCH -> {
+                    List<String> rMergeOrder = runContext.render(this.mergeOrder).asList(String.class);
+                    List<List<Map<String, Object>>> rows = results.stream().map(Result::rows).toList();
+
+                    output.rows(rMergeOrder.isEmpty() ?
+                        rows.stream().flatMap(List::stream).toList() :
+                        FanOutQuery.merge(rows, FanOutQuery.comparator(rMergeOrder))
+                    );
+                }
+                case STORE -> output.uri(this.store(runContext, results));
+                case NONE -> runContext.logger().info("FetchType is NONE");
+            }
+
+            runContext.metric(Counter.of("multi.rows", size));
+            runContext.logger().info("Query ran on {} of {} clusters in {}, {} rows", results.size(), this.clusters.size(), duration, size);
+
+            return output
+                .size(rFetchType == FetchType.NONE ? null : size)
+                .build();
+        } finally {
+            for (Result result : results) {
+                if (result.part() != null) {
+                    runContext.storage().deleteFile(result.part());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void kill() {
+        this.running.forEach(Cancellation::cancel);
+    }
+
+    /**
+     * Runs the query on a cluster, collecting the tagged rows in memory, or for STORE streaming them to a part file in
+     * internal storage.
+     */
+    private Result query(RunContext runContext, Cluster cluster, String name, Cancellation cancellation, String cql, Integer pageSize, FetchType type, String sourceColumn) throws Exception {
+        long start = System.nanoTime();
+        List<Map<String, Object>> rows = new ArrayList<>();
+        URI part = null;
+        long size = 0;
+
+        try (CqlSession session = cluster.connect(runContext)) {
+            cancellation.start(session);
+
+            SimpleStatement statement = SimpleStatement.newInstance(cql);
+            if (pageSize != null) {
+                statement = statement.setPageSize(pageSize);
+            }
+
+            AsyncResultSet first = cancellation.await(session.executeAsync(statement));
+            ColumnDefinitions columnDefinitions = first.getColumnDefinitions();
+
+            if (type == FetchType.STORE) {
+                try (PipedUpload upload = cancellation.register(new PipedUpload(runContext, ".ion"))) {
+                    try (OutputStream stream = new BufferedOutputStream(upload.output(), FileSerde.BUFFER_SIZE)) {
+                        for (Row row : cancellation.rows(first)) {
+                            FileSerde.write(stream, tag(row, columnDefinitions, sourceColumn, name));
+                            size++;
+                        }
+                    }
+
+                    part = upload.finish();
+                }
+            } else if (type != FetchType.NONE) {
+                for (Row row : cancellation.rows(first)) {
+                    rows.add(tag(row, columnDefinitions, sourceColumn, name));
+                    size++;
+
+                    if (type == FetchType.FETCH_ONE) {
+                        break;
+                    }
+                }
+            }
+        } finally {
+            cancellation.finish(runContext);
+        }
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        runContext.logger().debug("Query ran on cluster '{}' in {}, {} rows", name, duration, size);
+
+        return new Result(rows, part, size, duration);
+    }
+
+    private static Map<String, Object> tag(Row row, ColumnDefinitions columnDefinitions, String sourceColumn, String name) {
+        Map<String, Object> tagged = new LinkedHashMap<>();
+        tagged.put(sourceColumn, name);
+        tagged.putAll(AbstractQuery.convertRow(row, columnDefinitions));
+        return tagged;
+    }
+
+    /**
+     * Concatenates the part files of the clusters, in {@code clusters} order, into a single file in internal storage,
+     * streamed from storage to storage without any local copy.
+     */
+    private URI store(RunContext runContext, List<Result> results) throws Exception {
+        try (PipedUpload upload = new PipedUpload(runContext, ".ion")) {
+            OutputStream output = upload.output();
+            for (Result result : results) {
+                try (InputStream input = runContext.storage().getFile(result.part())) {
+                    input.transferTo(output);
+                }
+            }
+
+            return upload.finish();
+        }
+    }
+
+    private record Result(List<Map<String, Object>> rows, URI part, long size, Duration duration) {
+    }
+
+    @Builder
+    @Getter
+    public static class Target {
+        @Schema(
+            title = "Name of the cluster"
+        )
+        private final String name;
+
+        @Schema(
+            title = "The number of rows the cluster returned",
+            description = "Not set if the query failed."
+        )
+        private final Long size;
+
+        @Schema(
+            title = "The duration of the query on the cluster, connection included"
+        )
+        private final Duration duration;
+
+        @Schema(
+            title = "The error of the query, if it failed or timed out"
+        )
+        private final String error;
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "Map containing the first row of fetched data",
+            description = "Only populated if 'fetchType' is FETCH_ONE."
+        )
+        private final Map<String, Object> row;
+
+        @Schema(
+            title = "List of map containing the rows of all the clusters",
+            description = "Only populated if 'fetchType' is FETCH."
+        )
+        private final List<Map<String, Object>> rows;
+
+        @Schema(
+            title = "The url of the result file on kestra storage (.ion file / Amazon Ion text format)",
+            description = "Only populated if 'fetchType' is STORE."
+        )
+        private final URI uri;
+
+        @Schema(
+            title = "The number of fetched rows"
+        )
+        private final Long size;
+
+        @Schema(
+            title = "The outcome of the query on each cluster, in `clusters` order"
+        )
+        private final List<Target> targets;
+
+        @Schema(
+            title = "The number of clusters that failed or timed out"
+        )
+        private final Integer failures;
+    }
+}
@@ -0,0 +1,179 @@
+package io.kestra.plugin.cassandra;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.Task;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+public abstract class AbstractPlanScan extends Task implements RunnableTask<AbstractPlanScan.Output> {
+    @Schema(
+        title = "Keyspace of the table to split"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<String> keyspace;
+
+    @Schema(
+        title = "Table to split"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<String> table;
+
+    @Schema(
+        title = "Number of token ranges to produce",
+        description = "Ranges are balanced using `system.size_estimates` when the cluster exposes it. Adjacent ranges are " +
+            "merged or split to approach this number; the result can differ slightly from it."
+    )
+    @Builder.Default
+    @PluginProperty(group = "main")
+    protected Property<Integer> splits = Property.ofValue(16);
+
+    @Schema(
+        title = "The way you want to output the ranges",
+        description = "FETCH - output the ranges as an output variable.\n"
+            + "STORE - store the ranges into an ion file, one range per line."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<FetchType> fetchType = Property.ofValue(FetchType.FETCH);
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        String rKeyspace = runContext.render(this.keyspace).as(String.class).orElseThrow();
+        String rTable = runContext.render(this.table).as(String.class).orElseThrow();
+        int rSplits = runContext.render(this.splits).as(Integer.class).orElseThrow();
+
+        try (CqlSession session = this.cqlSession(runContext)) {
+            TableMetadata tableMetadata = TokenRanges.table(session, rKeyspace, rTable);
+            TokenMap tokenMap = TokenRanges.tokenMap(session);
+
+            List<ScanRange> ranges = new ArrayList<>();
+            for (TokenRanges.Split split : TokenRanges.plan(runContext, session, rKeyspace, rTable, rSplits)) {
+                ranges.add(ScanRange.builder()
+                    .start(tokenMap.format(split.start()))
+                    .end(split.end() == null ? null : tokenMap.format(split.end()))
+                    .where(TokenRanges.where(tokenMap, tableMetadata, split))
+                    .estimatedPartitions(split.estimatedPartitions())
+                    .replicas(split.replicas().stream().map(node -> node.getEndPoint().toString()).sorted().toList())
+                    .build()
+                );
+            }
+
+            runContext.logger().info("Split '{}.{}' into {} token ranges", rKeyspace, rTable, ranges.size());
+
+            Output.OutputBuilder output = Output.builder().size((long) ranges.size());
+
+            if (runContext.render(this.fetchType).as(FetchType.class).orElseThrow() == FetchType.STORE) {
+                File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+                try (var stream = new BufferedOutputStream(new FileOutputStream(tempFile), FileSerde.BUFFER_SIZE)) {
+                    for (ScanRange range : ranges) {
+                        FileSerde.write(stream, range.toMap());
+                    }
+                }
+
+                output.uri(runContext.storage().putFile(tempFile));
+            } else {
+                output.ranges(ranges);
+            }
+
+            return output.build();
+        }
+    }
+
+    public abstract CqlSession cqlSession(RunContext runContext) throws IllegalVariableEvaluationException;
+
+    @Builder
+    @Getter
+    public static class ScanRange {
+        @Schema(
+            title = "Token after which the range starts (exclusive)"
+        )
+        private final String start;
+
+        @Schema(
+            title = "Last token of the range (inclusive)",
+            description = "Empty when the range goes up to the end of the token ring."
+        )
+        private final String end;
+
+        @Schema(
+            title = "CQL restriction selecting the rows of the range",
+            description = "For example `token(id) > -9223372036854775808 AND token(id) <= -4611686018427387904`, to be added to the `WHERE` clause of a query."
+        )
+        private final String where;
+
+        @Schema(
+            title = "Estimated number of partitions in the range"
+        )
+        private final Long estimatedPartitions;
+
+        @Schema(
+            title = "Replicas owning the range",
+            description = "Any of them can be used as preferred coordinator when scanning the range."
+        )
+        private final List<String> replicas;
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("start", start);
+            map.put("end", end);
+            map.put("where", where);
+            map.put("estimatedPartitions", estimatedPartitions);
+            map.put("replicas", replicas);
+            return map;
+        }
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "The token ranges",
+            description = "Only populated if `fetchType` is FETCH."
+        )
+        private final List<ScanRange> ranges;
+
+        @Schema(
+            title = "The URI of the ion file containing the token ranges",
+            description = "Only populated if `fetchType` is STORE."
+        )
+        private final URI uri;
+
+        @Schema(
+            title = "The number of token ranges"
+        )
+        private final Long size;
+    }
+}
@@ -0,0 +1,432 @@
+package io.kestra.plugin.cassandra;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchStatementBuilder;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.DefaultBatchType;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.Task;
+import io.kestra.core.runners.RunContext;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Plugin(
+    metrics = {
+        @Metric(
+            name = "purge.rows",
+            type = Counter.TYPE,
+            unit = "records",
+            description = "The number of rows matching the purge predicate."
+        ),
+        @Metric(
+            name = "purge.partitions",
+            type = Counter.TYPE,
+            unit = "partitions",
+            description = "The number of partitions holding matching rows."
+        ),
+        @Metric(
+            name = "purge.statements",
+            type = Counter.TYPE,
+            unit = "queries",
+            description = "The number of delete statements or batches sent."
+        ),
+        @Metric(
+            name = "tombstones",
+            type = Counter.TYPE,
+            unit = "tombstones",
+            description = "The number of row, range and partition tombstones written, or that would be written in dry-run mode."
+        )
+    }
+)
+public abstract class AbstractPurge extends Task implements RunnableTask<AbstractPurge.Output> {
+    @Schema(
+        title = "Keyspace of the table to purge"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<String> keyspace;
+
+    @Schema(
+        title = "Table to purge"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<String> table;
+
+    @Schema(
+        title = "CQL restriction selecting the rows to purge",
+        description = "For example `status = 'archived'`. It is evaluated server-side with `ALLOW FILTERING` while " +
+            "scanning each token range."
+    )
+    @PluginProperty(group = "main")
+    protected Property<String> where;
+
+    @Schema(
+        title = "Purge the rows whose first clustering column is lower than this CQL literal",
+        description = "For example `'2024-01-01'` for a timestamp clustering column. With the RANGE granularity, each " +
+            "partition is purged with a single range tombstone."
+    )
+    @PluginProperty(group = "main")
+    protected Property<String> clusteringBefore;
+
+    @Schema(
+        title = "Purge the rows whose `writetimeColumn` was written longer ago than this duration"
+    )
+    @PluginProperty(group = "main")
+    protected Property<Duration> olderThan;
+
+    @Schema(
+        title = "Column whose write time is compared with `olderThan`",
+        description = "Must be a regular, non-collection column; rows where it is null are kept."
+    )
+    @PluginProperty(group = "main")
+    protected Property<String> writetimeColumn;
+
+    @Schema(
+        title = "How matching rows are deleted",
+        description = "ROW - one row tombstone per matching row, in unlogged batches grouped by partition.\n"
+            + "RANGE - one range tombstone per partition, deleting the rows before `clusteringBefore`.\n"
+            + "PARTITION - as RANGE, unless `partitionTombstones` is enabled: then one partition tombstone per partition "
+            + "whose rows are all before `clusteringBefore`, and a range tombstone for the partitions that also hold later rows.\n"
+            + "RANGE and PARTITION require `clusteringBefore` and can't be used with `where` or `olderThan`: a tombstone "
+            + "covering several rows would also delete the rows these filters don't match."
+    )
+    @Builder.Default
+    @PluginProperty(group = "main")
+    protected Property<Granularity> granularity = Property.ofValue(Granularity.ROW);
+
+    @Schema(
+        title = "Write partition tombstones with the PARTITION granularity",
+        description = "Each partition is first checked for a row at or after `clusteringBefore`, and deleted whole when it " +
+            "holds none. The check and the delete are two separate requests, not an atomic operation: a row written at or " +
+            "after the bound between them is deleted along with the partition. Only enable it when nothing writes to the " +
+            "purged partitions while the task runs."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    protected Property<Boolean> partitionTombstones = Property.ofValue(false);
+
+    @Schema(
+        title = "Only count the matching rows and the tombstones that would be written, without deleting anything"
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Boolean> dryRun = Property.ofValue(false);
+
+    @Schema(
+        title = "Maximum number of delete statements sent per second",
+        description = "Unlimited by default."
+    )
+    @PluginProperty(group = "execution")
+    protected Property<Integer> rate;
+
+    @Schema(
+        title = "Maximum number of delete statements in flight"
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Integer> maxInFlight = Property.ofValue(32);
+
+    @Schema(
+        title = "Maximum number of row deletes per batch with the ROW granularity"
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    protected Property<Integer> batchSize = Property.ofValue(50);
+
+    @Schema(
+        title = "Number of token ranges the table is split into"
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    protected Property<Integer> splits = Property.ofValue(64);
+
+    @Schema(
+        title = "Number of token ranges scanned concurrently"
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    protected Property<Integer> parallelism = Property.ofValue(4);
+
+    @Schema(
+        title = "Number of rows fetched per page"
+    )
+    @PluginProperty(group = "advanced")
+    protected Property<Integer> pageSize;
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        String rKeyspace = runContext.render(this.keyspace).as(String.class).orElseThrow();
+        String rTable = runContext.render(this.table).as(String.class).orElseThrow();
+        String rWhere = runContext.render(this.where).as(String.class).orElse(null);
+        String rClusteringBefore = runContext.render(this.clusteringBefore).as(String.class).orElse(null);
+        Duration rOlderThan = runContext.render(this.olderThan).as(Duration.class).orElse(null);
+        String rWritetimeColumn = runContext.render(this.writetimeColumn).as(String.class).orElse(null);
+        Granularity rGranularity = runContext.render(this.granularity).as(Granularity.class).orElseThrow();
+        boolean rDryRun = runContext.render(this.dryRun).as(Boolean.class).orElse(false);
+        boolean rPartitionTombstones = rGranularity == Granularity.PARTITION &&
+            runContext.render(this.partitionTombstones).as(Boolean.class).orElse(false);
+        int rBatchSize = runContext.render(this.batchSize).as(Integer.class).orElseThrow();
+
+        if (rWhere == null && rClusteringBefore == null && rOlderThan == null) {
+            throw new IllegalArgumentException("At least one of where, clusteringBefore or olderThan is required, use a TRUNCATE query to empty a table");
+        }
+        if ((rOlderThan == null) != (rWritetimeColumn == null)) {
+            throw new IllegalArgumentException("olderThan and writetimeColumn must be used together");
+        }
+        if (rGranularity != Granularity.ROW) {
+            if (rClusteringBefore == null) {
+                throw new IllegalArgumentException("The " + rGranularity + " granularity requires clusteringBefore");
+            }
+            if (rWhere != null || rOlderThan != null) {
+                throw new IllegalArgumentException("The " + rGranularity + " granularity can't be used with where or olderThan, use the ROW granularity");
+            }
+        }
+
+        try (CqlSession session = this.cqlSession(runContext)) {
+            TableMetadata tableMetadata = TokenRanges.table(session, rKeyspace, rTable);
+            List<ColumnMetadata> partitionKey = tableMetadata.getPartitionKey();
+            List<ColumnMetadata> clustering = new ArrayList<>(tableMetadata.getClusteringColumns().keySet());
+
+            if (rClusteringBefore != null && clustering.isEmpty()) {
+                throw new IllegalArgumentException("Table '" + rKeyspace + "." + rTable + "' has no clustering column");
+            }
+
+            String firstClustering = clustering.isEmpty() ? null : clustering.getFirst().getName().asCql(true);
+            List<String> restrictions = new ArrayList<>();
+            if (rWhere != null) {
+                restrictions.add(rWhere);
+            }
+            if (rClusteringBefore != null) {
+                restrictions.add(firstClustering + " < " + rClusteringBefore);
+            }
+
+            String select = "SELECT " + Stream.concat(partitionKey.stream(), clustering.stream())
+                .map(column -> column.getName().asCql(true))
+                .collect(Collectors.joining(", ")) +
+                (rWritetimeColumn == null ? "" : ", WRITETIME(" + CqlIdentifier.fromCql(rWritetimeColumn).asCql(true) + ")");
+            long cutoff = rOlderThan == null ? Long.MAX_VALUE : ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now().minus(rOlderThan));
+
+            String from = "DELETE FROM " + tableMetadata.getKeyspace().asCql(true) + "." + tableMetadata.getName().asCql(true) +
+                " WHERE " + equalities(partitionKey);
+            PreparedStatement delete = switch (rGranularity) {
+                case PARTITION -> session.prepare(rPartitionTombstones ? from : from + " AND " + firstClustering + " < " + rClusteringBefore);
+                case RANGE -> session.prepare(from + " AND " + firstClustering + " < " + rClusteringBefore);
+                case ROW -> session.prepare(clustering.isEmpty() ? from : from + " AND " + equalities(clustering));
+            };
+
+            // with partition tombstones, a partition holding a row at or after the bound only gets a range tombstone
+            PreparedStatement later = !rPartitionTombstones ? null : session.prepare(
+                "SELECT " + firstClustering + " FROM " + tableMetadata.getKeyspace().asCql(true) + "." + tableMetadata.getName().asCql(true) +
+                    " WHERE " + equalities(partitionKey) + " AND " + firstClustering + " >= " + rClusteringBefore + " LIMIT 1"
+            );
+            PreparedStatement range = !rPartitionTombstones ? null :
+                session.prepare(from + " AND " + firstClustering + " < " + rClusteringBefore);
+
+            RangeScanner scanner = new RangeScanner(
+                session,
+                tableMetadata,
+                select,
+                restrictions.isEmpty() ? null : String.join(" AND ", restrictions),
+                runContext.render(this.pageSize).as(Integer.class).orElse(null)
+            );
+            List<TokenRanges.Split> ranges = TokenRanges.plan(runContext, session, rKeyspace, rTable, runContext.render(this.splits).as(Integer.class).orElseThrow());
+
+            Integer rRate = runContext.render(this.rate).as(Integer.class).orElse(null);
+            AsyncWriter writer = new AsyncWriter(
+                session,
+                runContext.render(this.maxInFlight).as(Integer.class).orElseThrow(),
+                rRate == null ? null : new Throttle(rRate)
+            );
+
+            AtomicLong rows = new AtomicLong();
+            AtomicLong partitions = new AtomicLong();
+            AtomicLong tombstones = new AtomicLong();
+            AtomicLong statements = new AtomicLong();
+            int keyWidth = partitionKey.size();
+            int rowWidth = keyWidth + clustering.size();
+
+            scanner.scan(
+                ranges,
+                runContext.render(this.parallelism).as(Integer.class).orElseThrow(),
+                (index, split, rs) -> {
+                    AsyncWriter.Tracker tracker = writer.tracker();
+                    List<ByteBuffer> current = null;
+                    BatchStatementBuilder batch = null;
+                    long rangeRows = 0;
+                    long rangePartitions = 0;
+                    long rangeTombstones = 0;
+                    long rangeStatements = 0;
+
+                    for (Row row : rs) {
+                        if (rWritetimeColumn != null && (row.isNull(rowWidth) || row.getLong(rowWidth) >= cutoff)) {
+                            continue;
+                        }
+
+                        List<ByteBuffer> key = new ArrayList<>(keyWidth);
+                        for (int i = 0; i < keyWidth; i++) {
+                            key.add(row.getBytesUnsafe(i));
+                        }
+
+                        boolean newPartition = !key.equals(current);
+                        if (newPartition) {
+                            current = key;
+                            rangePartitions++;
+                        }
+                        rangeRows++;
+
+                        if (rGranularity != Granularity.ROW) {
+                            if (newPartition) {
+                                rangeTombstones++;
+                                rangeStatements++;
+                                if (!rDryRun) {
+                                    boolean whole = later == null || session.execute(bind(later, row, keyWidth)).one() == null;
+                                    tracker.execute(bind(whole ? delete : range, row, keyWidth));
+                                }
+                            }
+                            continue;
+                        }
+
+                        rangeTombstones++;
+                        if (rDryRun) {
+                            rangeStatements += newPartition ? 1 : 0;
+                            continue;
+                        }
+
+                        // a batch only holds rows of a single partition so it's applied as a single mutation
+                        if (batch != null && (newPartition || batch.getStatementsCount() >= rBatchSize)) {
+                            tracker.execute(batch.build());
+                            rangeStatements++;
+                            batch = null;
+                        }
+
+                        if (batch == null) {
+                            batch = BatchStatement.builder(DefaultBatchType.UNLOGGED);
+                        }
+                        batch.addStatement(bind(delete, row, rowWidth));
+                    }
+
+                    if (batch != null) {
+                        tracker.execute(batch.build());
+                        rangeStatements++;
+                    }
+
+                    tracker.await();
+
+                    rows.addAndGet(rangeRows);
+                    partitions.addAndGet(rangePartitions);
+                    tombstones.addAndGet(rangeTombstones);
+                    statements.addAndGet(rangeStatements);
+
+                    return rangeRows;
+                }
+            );
+
+            runContext.metric(Counter.of("purge.rows", rows.get()));
+            runContext.metric(Counter.of("purge.partitions", partitions.get()));
+            runContext.metric(Counter.of("purge.statements", statements.get()));
+            runContext.metric(Counter.of("tombstones", tombstones.get()));
+            runContext.logger().info(
+                "{} {} rows in {} partitions of '{}.{}' with {} tombstones",
+                rDryRun ? "Would purge" : "Purged", rows.get(), partitions.get(), rKeyspace, rTable, tombstones.get()
+            );
+
+            return Output.builder()
+                .rows(rows.get())
+                .partitions(partitions.get())
+                .tombstones(tombstones.get())
+                .statements(statements.get())
+                .dryRun(rDryRun)
+                .build();
+        }
+    }
+
+    private static String equalities(List<ColumnMetadata> columns) {
+        return columns.stream()
+            .map(column -> column.getName().asCql(true) + " = ?")
+            .collect(Collectors.joining(" AND "));
+    }
+
+    private static BoundStatement bind(PreparedStatement prepared, Row row, int width) {
+        BoundStatement statement = prepared.bind();
+        for (int i = 0; i < width; i++) {
+            statement = statement.setBytesUnsafe(i, row.getBytesUnsafe(i));
+        }
+
+        return statement;
+    }
+
+    public abstract CqlSession cqlSession(RunContext runContext) throws IllegalVariableEvaluationException;
+
+    public enum Granularity {
+        ROW,
+        RANGE,
+        PARTITION
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "The number of rows matching the predicate"
+        )
+        private final Long rows;
+
+        @Schema(
+            title = "The number of partitions holding matching rows"
+        )
+        private final Long partitions;
+
+        @Schema(
+            title = "The number of tombstones written",
+            description = "In dry-run mode, the number of tombstones that would have been written."
+        )
+        private final Long tombstones;
+
+        @Schema(
+            title = "The number of delete statements or batches sent",
+            description = "In dry-run mode, an estimate of the number of statements that would have been sent."
+        )
+        private final Long statements;
+
+        @Schema(
+            title = "Whether the purge ran in dry-run mode"
+        )
+        private final Boolean dryRun;
+    }
+}
@@ -1,23 +1,29 @@
 package io.kestra.plugin.cassandra;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.net.InetAddress;
 import java.net.URI;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
 import com.datastax.oss.driver.api.core.cql.ColumnDefinition;
 import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
-import com.datastax.oss.driver.api.core.cql.ResultSet;
 import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
 import com.datastax.oss.driver.api.core.data.CqlDuration;
 import com.datastax.oss.driver.api.core.data.GettableByIndex;
 import com.datastax.oss.driver.api.core.data.TupleValue;
@@ -26,15 +32,19 @@ import com.datastax.oss.protocol.internal.ProtocolConstants;
 import io.kestra.core.exceptions.IllegalVariableEvaluationException;
 import io.kestra.core.models.annotations.Metric;
 import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
 import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.models.tasks.Task;
 import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -55,6 +65,71 @@ import reactor.core.publisher.Flux;
             type = Counter.TYPE,
             unit = "records",
             description = "The number of rows fetch from the embedding store."
+        ),
+        @Metric(
+            name = "export.rows",
+            type = Counter.TYPE,
+            unit = "records",
+            description = "The number of rows written by a checkpointed STORE export, reported after each chunk."
+        ),
+        @Metric(
+            name = "export.chunks",
+            type = Counter.TYPE,
+            unit = "chunks",
+            description = "The number of chunks uploaded by a checkpointed STORE export."
+        ),
+        @Metric(
+            name = "cache.hit",
+            type = Counter.TYPE,
+            unit = "queries",
+            description = "The number of queries answered from the result cache."
+        ),
+        @Metric(
+            name = "cache.miss",
+            type = Counter.TYPE,
+            unit = "queries",
+            description = "The number of cacheable queries sent to the cluster because no cached result was found."
+        ),
+        @Metric(
+            name = "fanout.keys",
+            type = Counter.TYPE,
+            unit = "queries",
+            description = "The number of per-key requests sent by a fan-out query."
+        ),
+        @Metric(
+            name = "guardrail.partitions",
+            type = Counter.TYPE,
+            unit = "partitions",
+            description = "The estimated number of partitions read by the query, when `guardrails` is set."
+        ),
+        @Metric(
+            name = "guardrail.rows",
+            type = Counter.TYPE,
+            unit = "records",
+            description = "The estimated number of rows read by the query, when `guardrails` is set and it can be estimated."
+        ),
+        @Metric(
+            name = "guardrail.violations",
+            type = Counter.TYPE,
+            unit = "violations",
+            description = "The number of guardrails broken by the query."
+        ),
+        @Metric(
+            name = "cancelled.queries",
+            type = Counter.TYPE,
+            unit = "queries",
+            description = "The number of queries cancelled by a task kill or timeout before they completed."
+        ),
+        @Metric(
+            name = "cancelled.requests",
+            type = Counter.TYPE,
+            unit = "requests",
+            description = "The number of in-flight requests (queries or page fetches) abandoned on cancellation."
+        ),
+        @Metric(
+            name = "cancelled.duration",
+            type = Timer.TYPE,
+            description = "The time between the cancellation and the release of the worker thread."
         )
     }
 )
@@ -75,59 +150,286 @@ public abstract class AbstractQuery extends Task implements RunnableTask<Abstrac
     @Builder.Default
     protected Property<FetchType> fetchType = Property.ofValue(FetchType.NONE);
 
+    @Schema(
+        title = "Shape of the rows of a FETCH output",
+        description = "MAP - `rows` holds one map per row, repeating the column names in every row.\n"
+            + "COMPACT - `columns` holds the column names once and `values` one list of values per row, in the same order; " +
+            "much smaller in memory and in the execution context for large results."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<RowFormat> rowFormat = Property.ofValue(RowFormat.MAP);
+
     protected Property<String> cql;
 
+    @Schema(
+        title = "Number of rows fetched per page",
+        description = "Defaults to the driver setting (5000 rows)."
+    )
+    @PluginProperty(group = "advanced")
+    protected Property<Integer> pageSize;
+
+    @Schema(
+        title = "Checkpoint STORE exports so a retried task resumes where it stopped",
+        description = "The result is uploaded in chunks; after each chunk, the paging state and the URIs of the uploaded chunks " +
+            "are saved in the namespace KV store. A retry of the same task run resumes from the last checkpoint instead of " +
+            "scanning the table again. Only used with `fetchType: STORE`."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    protected Property<Boolean> checkpoint = Property.ofValue(false);
+
+    @Schema(
+        title = "Minimum number of rows per checkpointed chunk",
+        description = "Chunks are only cut on a page boundary, so a chunk can hold up to `pageSize` additional rows."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    protected Property<Integer> checkpointRows = Property.ofValue(100_000);
+
+    @Schema(
+        title = "Cache the result of FETCH and FETCH_ONE queries",
+        description = "Results are keyed by the rendered CQL, the fetch type and the session identity, and are returned " +
+            "without opening a session while they are valid. Use it for reference data read many times with the same query."
+    )
+    @PluginProperty(group = "advanced")
+    protected ResultCache cache;
+
+    @Schema(
+        title = "Pass the documents of a `SELECT JSON` query through without per-cell conversion",
+        description = "When the result is the single `[json]` column of a `SELECT JSON` query, STORE writes each document " +
+            "as is in the output file (JSON being valid Ion text) and FETCH parses it once, instead of converting every " +
+            "cell. It is detected automatically when not set; set it to `false` to get the documents in a `[json]` string column."
+    )
+    @PluginProperty(group = "advanced")
+    protected Property<Boolean> jsonPassThrough;
+
+    @Schema(
+        title = "Keys to fan the query out to",
+        description = "When set, `cql` is prepared and executed once per key, as concurrent token-aware requests, and the " +
+            "results are merged into a single output. Each key is a value, or a list of values when the query has several " +
+            "bind markers. Use it instead of a large `IN (...)` list on the partition key, which overloads a single coordinator. " +
+            "Fan-out queries are neither cached nor checkpointed."
+    )
+    @PluginProperty(group = "advanced")
+    protected Property<List<Object>> keys;
+
+    @Schema(
+        title = "URI of an ion file holding the keys to fan the query out to",
+        description = "One key per line, in the same format as `keys`."
+    )
+    @PluginProperty(internalStorageURI = true, group = "advanced")
+    protected Property<String> keysUri;
+
+    @Schema(
+        title = "Maximum number of concurrent requests of a fan-out query"
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    protected Property<Integer> concurrency = Property.ofValue(32);
+
+    @Schema(
+        title = "Columns used to merge the results of a fan-out query",
+        description = "Each key result is expected to be sorted on these columns, typically the clustering columns; they " +
+            "are merged keeping this order. A column can be suffixed with `DESC`. Without it, results are concatenated in key order."
+    )
+    @PluginProperty(group = "advanced")
+    protected Property<List<String>> mergeOrder;
+
+    @Schema(
+        title = "Check the query against the schema before running it",
+        description = "The rendered SELECT is classified as a single-partition, multi-partition or full scan read from the " +
+            "partition key restrictions, the indexes and the size estimates of the table; the estimated partitions and rows " +
+            "are emitted as metrics, and full scans, `ALLOW FILTERING` over several partitions or reads above `maxPartitions` " +
+            "are reported or blocked. Not checked if not set."
+    )
+    @PluginProperty(group = "advanced")
+    protected QueryGuardrails guardrails;
+
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final Cancellation cancellation = new Cancellation();
+
     public AbstractQuery.Output run(RunContext runContext) throws Exception {
+        FetchType type = computeFetchType(runContext);
+        RowFormat rRowFormat = runContext.render(this.rowFormat).as(RowFormat.class).orElse(RowFormat.MAP);
+        String rCql = runContext.render(cql).as(String.class).orElse(null);
+
+        if (this.cache == null || this.keys != null || this.keysUri != null || (type != FetchType.FETCH && type != FetchType.FETCH_ONE)) {
+            return this.execute(runContext, type, rRowFormat, rCql);
+        }
+
+        String key = ResultCache.key(runContext, this.sessionIdentity(runContext), type, rRowFormat, rCql);
+        Optional<Output> cached = this.cache.get(runContext, key);
+        if (cached.isPresent()) {
+            runContext.metric(Counter.of("cache.hit", 1));
+            return cached.get();
+        }
+
+        runContext.metric(Counter.of("cache.miss", 1));
+        Output output = this.execute(runContext, type, rRowFormat, rCql);
+        this.cache.put(runContext, key, output);
+
+        return output;
+    }
+
+    /**
+     * Runs the query on a session owned by the caller, which stays open afterwards, bypassing the result cache.
+     */
+    AbstractQuery.Output run(RunContext runContext, CqlSession session) throws Exception {
+        FetchType type = computeFetchType(runContext);
+        RowFormat rRowFormat = runContext.render(this.rowFormat).as(RowFormat.class).orElse(RowFormat.MAP);
+        String rCql = runContext.render(cql).as(String.class).orElse(null);
+
+        this.cancellation.start(session);
+        try {
+            return this.execute(runContext, session, type, rRowFormat, rCql);
+        } finally {
+            this.cancellation.finish(runContext);
+        }
+    }
+
+    @Override
+    public void kill() {
+        this.cancellation.cancel();
+    }
+
+    private Output execute(RunContext runContext, FetchType type, RowFormat rowFormat, String rCql) throws Exception {
         try (CqlSession session = this.cqlSession(runContext)) {
-            ResultSet rs = session.execute(runContext.render(cql).as(String.class).orElse(null));
-            ColumnDefinitions columnDefinitions = rs.getColumnDefinitions();
-
-            Output.OutputBuilder outputBuilder = Output.builder()
-                .bytes(rs.getExecutionInfo().getResponseSizeInBytes());
-
-            FetchType type = computeFetchType(runContext);
-
-            switch (type) {
-                case FETCH_ONE -> outputBuilder
-                    .row(convertRow(rs.one(), columnDefinitions))
-                    .size(1L);
-                case STORE -> {
-                    File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
-                    try (var output = new BufferedWriter(new FileWriter(tempFile), FileSerde.BUFFER_SIZE)) {
-                        Long count = FileSerde.writeAll(
-                            output,
-                            Flux.fromIterable(rs).map(row -> convertRow(row, columnDefinitions))
-                        ).block();
-
-                        outputBuilder
-                            .uri(runContext.storage().putFile(tempFile))
-                            .size(count);
+            this.cancellation.start(session);
+            return this.execute(runContext, session, type, rowFormat, rCql);
+        } finally {
+            this.cancellation.finish(runContext);
+        }
+    }
+
+    private Output execute(RunContext runContext, CqlSession session, FetchType type, RowFormat rowFormat, String rCql) throws Exception {
+        if (this.guardrails != null) {
+            this.guardrails.check(runContext, session, rCql);
+        }
+
+        SimpleStatement statement = SimpleStatement.newInstance(rCql);
+        Integer rPageSize = runContext.render(this.pageSize).as(Integer.class).orElse(null);
+        if (rPageSize != null) {
+            statement = statement.setPageSize(rPageSize);
+        }
+
+        if (this.keys != null || this.keysUri != null) {
+            List<Object> rKeys = this.keysUri != null ?
+                FanOutQuery.keys(runContext, URI.create(runContext.render(this.keysUri).as(String.class).orElseThrow())) :
+                runContext.render(this.keys).asList(Object.class);
+
+            FanOutQuery fanOut = new FanOutQuery(
+                runContext,
+                this.cancellation,
+                runContext.render(this.concurrency).as(Integer.class).orElseThrow(),
+                runContext.render(this.mergeOrder).asList(String.class)
+            );
+
+            return this.metrics(runContext, fanOut.run(session, rCql, rPageSize, rKeys, type, rowFormat));
+        }
+
+        Boolean rJsonPassThrough = runContext.render(this.jsonPassThrough).as(Boolean.class).orElse(null);
+
+        if (type == FetchType.STORE && runContext.render(this.checkpoint).as(Boolean.class).orElse(false)) {
+            String taskRunId = KvState.taskRunId(runContext);
+
+            if (taskRunId == null) {
+                runContext.logger().warn("Checkpointing is only available for tasks, exporting without checkpoint");
+            } else {
+                CheckpointedExport export = new CheckpointedExport(
+                    runContext,
+                    taskRunId,
+                    runContext.render(this.checkpointRows).as(Integer.class).orElseThrow(),
+                    rJsonPassThrough
+                );
+
+                return this.metrics(runContext, export.run(session, statement));
+            }
+        }
+
+        AsyncResultSet first = this.cancellation.await(session.executeAsync(statement));
+        Iterable<Row> rs = this.cancellation.rows(first);
+        ColumnDefinitions columnDefinitions = first.getColumnDefinitions();
+        boolean json = type != FetchType.NONE && jsonRows(columnDefinitions, rJsonPassThrough);
+
+        Output.OutputBuilder outputBuilder = Output.builder()
+            .bytes(first.getExecutionInfo().getResponseSizeInBytes());
+
+        switch (type) {
+            case FETCH_ONE -> {
+                Iterator<Row> rows = rs.iterator();
+                Row row = rows.hasNext() ? rows.next() : null;
+
+                outputBuilder
+                    .row(row == null ? null : json ? JacksonMapper.toMap(row.getString(0)) : convertRow(row, columnDefinitions))
+                    .size(row == null ? 0L : 1L);
+            }
+            case STORE -> {
+                long count;
+
+                try (PipedUpload upload = this.cancellation.register(new PipedUpload(runContext, ".ion"))) {
+                    if (json) {
+                        count = 0;
+                        try (var output = new BufferedOutputStream(upload.output(), FileSerde.BUFFER_SIZE)) {
+                            for (Row row : rs) {
+                                writeJson(output, row);
+                                count++;
+                            }
+                        }
+                    } else {
+                        try (var output = new BufferedWriter(new OutputStreamWriter(upload.output(), StandardCharsets.UTF_8), FileSerde.BUFFER_SIZE)) {
+                            count = FileSerde.writeAll(
+                                output,
+                                Flux.fromIterable(rs).map(row -> convertRow(row, columnDefinitions))
+                            ).block();
+                        }
                     }
-                }
-                case FETCH -> {
-                    List<Map<String, Object>> maps = new ArrayList<>();
-                    rs.forEach(row -> maps.add(convertRow(row, columnDefinitions)));
 
                     outputBuilder
-                        .rows(maps)
-                        .size((long) maps.size());
+                        .uri(upload.finish())
+                        .size(count);
                 }
-
-                case NONE -> runContext.logger().info("FetchType is NONE");
             }
+            case FETCH -> {
+                if (rowFormat == RowFormat.COMPACT && !json) {
+                    List<List<Object>> values = new ArrayList<>();
+                    for (Row row : rs) {
+                        values.add(convertValues(row, columnDefinitions));
+                    }
 
-            Output output = outputBuilder.build();
+                    outputBuilder
+                        .columns(columnNames(columnDefinitions))
+                        .values(values)
+                        .size((long) values.size());
+                } else {
+                    List<Map<String, Object>> maps = new ArrayList<>();
+                    for (Row row : rs) {
+                        maps.add(json ? JacksonMapper.toMap(row.getString(0)) : convertRow(row, columnDefinitions));
+                    }
 
-            if (output.getSize() != null) {
-                runContext.metric(Counter.of("fetch.size", output.getSize()));
+                    fetched(outputBuilder, maps, rowFormat);
+                }
             }
 
-            if (output.getBytes() != null) {
-                runContext.metric(Counter.of("fetch.size", output.getBytes()));
-            }
+            case NONE -> runContext.logger().info("FetchType is NONE");
+        }
+
+        return this.metrics(runContext, outputBuilder.build());
+    }
+
+    private Output metrics(RunContext runContext, Output output) {
+        if (output.getSize() != null) {
+            runContext.metric(Counter.of("fetch.size", output.getSize()));
+        }
 
-            return output;
+        if (output.getBytes() != null) {
+            runContext.metric(Counter.of("fetch.size", output.getBytes()));
         }
+
+        return output;
     }
 
     private FetchType computeFetchType(RunContext runContext) throws IllegalVariableEvaluationException {
@@ -146,7 +448,82 @@ public abstract class AbstractQuery extends Task implements RunnableTask<Abstrac
         return runContext.render(this.getFetchType()).as(FetchType.class).orElse(FetchType.NONE);
     }
 
-    private Map<String, Object> convertRow(Row row, ColumnDefinitions columnDefinitions) {
+    /**
+     * Whether the rows are the documents of a {@code SELECT JSON} query that can be passed through as is.
+     */
+    static boolean jsonRows(ColumnDefinitions columnDefinitions, Boolean passThrough) {
+        boolean json = columnDefinitions.size() == 1 &&
+            columnDefinitions.get(0).getName().asInternal().equals("[json]") &&
+            columnDefinitions.get(0).getType().getProtocolCode() == ProtocolConstants.DataType.VARCHAR;
+
+        if (Boolean.TRUE.equals(passThrough) && !json) {
+            throw new IllegalArgumentException("jsonPassThrough requires a 'SELECT JSON' query");
+        }
+
+        return json && !Boolean.FALSE.equals(passThrough);
+    }
+
+    /**
+     * Writes the JSON document of a row followed by a new line, copying the UTF-8 bytes received from the server.
+     */
+    static void writeJson(OutputStream output, Row row) throws IOException {
+        ByteBuffer bytes = row.getBytesUnsafe(0);
+
+        if (bytes.hasArray()) {
+            output.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+        } else {
+            byte[] copy = new byte[bytes.remaining()];
+            bytes.duplicate().get(copy);
+            output.write(copy);
+        }
+        output.write('\n');
+    }
+
+    /**
+     * Fills a FETCH output from rows already converted to maps, in the requested row format.
+     */
+    static void fetched(Output.OutputBuilder output, List<Map<String, Object>> rows, RowFormat rowFormat) {
+        output.size((long) rows.size());
+
+        if (rowFormat != RowFormat.COMPACT) {
+            output.rows(rows);
+            return;
+        }
+
+        List<String> columns = rows.isEmpty() ? List.of() : new ArrayList<>(rows.getFirst().keySet());
+        List<List<Object>> values = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            List<Object> list = new ArrayList<>(columns.size());
+            for (String column : columns) {
+                list.add(row.get(column));
+            }
+            values.add(list);
+        }
+
+        output
+            .columns(columns)
+            .values(values);
+    }
+
+    static List<String> columnNames(ColumnDefinitions columnDefinitions) {
+        List<String> names = new ArrayList<>(columnDefinitions.size());
+        for (ColumnDefinition columnDefinition : columnDefinitions) {
+            names.add(columnDefinition.getName().asInternal());
+        }
+
+        return names;
+    }
+
+    static List<Object> convertValues(Row row, ColumnDefinitions columnDefinitions) {
+        List<Object> values = new ArrayList<>(columnDefinitions.size());
+        for (int index = 0; index < columnDefinitions.size(); index++) {
+            values.add(convertCell(columnDefinitions.get(index), row, index));
+        }
+
+        return values;
+    }
+
+    static Map<String, Object> convertRow(Row row, ColumnDefinitions columnDefinitions) {
         Map<String, Object> map = new LinkedHashMap<>();
 
         for (int index = 0; index < columnDefinitions.size(); index++) {
@@ -161,7 +538,7 @@ public abstract class AbstractQuery extends Task implements RunnableTask<Abstrac
         return map;
     }
 
-    private Object convertCell(ColumnDefinition columnDefinition, GettableByIndex row, int index) {
+    static Object convertCell(ColumnDefinition columnDefinition, GettableByIndex row, int index) {
         switch (columnDefinition.getType().getProtocolCode()) {
             case ProtocolConstants.DataType.COUNTER:
             case ProtocolConstants.DataType.BIGINT:
@@ -240,12 +617,22 @@ public abstract class AbstractQuery extends Task implements RunnableTask<Abstrac
                 return list;
 
             case ProtocolConstants.DataType.CUSTOM:
+                if (Vectors.isFloatVector(columnDefinition.getType())) {
+                    return Vectors.decode(row.getBytesUnsafe(index));
+                }
+                break;
+
             case ProtocolConstants.DataType.UDT:
         }
 
         throw new IllegalArgumentException("Invalid datatype '" + columnDefinition.getType() + '"');
     }
 
+    public enum RowFormat {
+        MAP,
+        COMPACT
+    }
+
     @Builder
     @Getter
     public static class Output implements io.kestra.core.models.tasks.Output {
@@ -261,6 +648,18 @@ public abstract class AbstractQuery extends Task implements RunnableTask<Abstrac
         )
         private final List<Map<String, Object>> rows;
 
+        @Schema(
+            title = "Names of the columns of `values`",
+            description = "Only populated if 'fetchType' is FETCH and 'rowFormat' is COMPACT."
+        )
+        private final List<String> columns;
+
+        @Schema(
+            title = "List of rows of fetched data, each row being the list of its values in the order of `columns`",
+            description = "Only populated if 'fetchType' is FETCH and 'rowFormat' is COMPACT."
+        )
+        private final List<List<Object>> values;
+
         @Schema(
             title = "The url of the result file on kestra storage (.ion file / Amazon Ion text format)",
             description = "Only populated if 'store' is set to true."
@@ -0,0 +1,405 @@
+package io.kestra.plugin.cassandra;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.Task;
+import io.kestra.core.runners.RunContext;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Plugin(
+    metrics = {
+        @Metric(
+            name = "stress.reads",
+            type = Counter.TYPE,
+            unit = "queries",
+            description = "The number of read operations completed."
+        ),
+        @Metric(
+            name = "stress.writes",
+            type = Counter.TYPE,
+            unit = "queries",
+            description = "The number of write operations completed."
+        ),
+        @Metric(
+            name = "stress.errors",
+            type = Counter.TYPE,
+            unit = "queries",
+            description = "The number of failed operations."
+        ),
+        @Metric(
+            name = "stress.throughput",
+            type = Counter.TYPE,
+            unit = "queries/s",
+            description = "The average number of operations completed per second."
+        )
+    }
+)
+public abstract class AbstractStress extends Task implements RunnableTask<AbstractStress.Output> {
+    private static final List<Double> QUANTILES = List.of(0.5, 0.9, 0.99, 0.999);
+
+    @Schema(
+        title = "Keyspace of the table to load"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<String> keyspace;
+
+    @Schema(
+        title = "Table to load"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<String> table;
+
+    @Schema(
+        title = "Value generators, one per written column",
+        description = "Every primary key column needs a generator. Reads look up partitions with the generators of the " +
+            "partition key columns, so a Zipf key distribution also skews reads towards the same hot partitions."
+    )
+    @NotEmpty
+    @PluginProperty(group = "main")
+    protected List<ColumnGenerator> columns;
+
+    @Schema(
+        title = "Ratio of read operations, between 0 and 1",
+        description = "The other operations are writes."
+    )
+    @Builder.Default
+    @PluginProperty(group = "main")
+    protected Property<Double> readRatio = Property.ofValue(0.0);
+
+    @Schema(
+        title = "How long to run the workload"
+    )
+    @Builder.Default
+    @PluginProperty(group = "main")
+    protected Property<Duration> duration = Property.ofValue(Duration.ofMinutes(1));
+
+    @Schema(
+        title = "Maximum number of operations to run",
+        description = "The workload stops at the end of `duration` or after this number of operations, whichever comes first."
+    )
+    @PluginProperty(group = "main")
+    protected Property<Long> operations;
+
+    @Schema(
+        title = "Target number of operations per second",
+        description = "Without it, operations are sent as fast as `concurrency` allows."
+    )
+    @PluginProperty(group = "execution")
+    protected Property<Integer> rate;
+
+    @Schema(
+        title = "Maximum number of operations in flight"
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Integer> concurrency = Property.ofValue(64);
+
+    @Schema(
+        title = "Seed of the value generators",
+        description = "Set it to generate the same sequence of operations across runs."
+    )
+    @PluginProperty(group = "advanced")
+    protected Property<Long> seed;
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        String rKeyspace = runContext.render(this.keyspace).as(String.class).orElseThrow();
+        String rTable = runContext.render(this.table).as(String.class).orElseThrow();
+        double rReadRatio = runContext.render(this.readRatio).as(Double.class).orElseThrow();
+        Duration rDuration = runContext.render(this.duration).as(Duration.class).orElseThrow();
+        long rOperations = runContext.render(this.operations).as(Long.class).orElse(Long.MAX_VALUE);
+        Integer rRate = runContext.render(this.rate).as(Integer.class).orElse(null);
+        SplittableRandom random = runContext.render(this.seed).as(Long.class).map(SplittableRandom::new).orElseGet(SplittableRandom::new);
+
+        if (rReadRatio < 0 || rReadRatio > 1) {
+            throw new IllegalArgumentException("readRatio must be between 0 and 1, got " + rReadRatio);
+        }
+
+        try (CqlSession session = this.cqlSession(runContext)) {
+            TableMetadata tableMetadata = TokenRanges.table(session, rKeyspace, rTable);
+            CodecRegistry codecRegistry = session.getContext().getCodecRegistry();
+
+            Map<CqlIdentifier, ValueGenerator> generators = new LinkedHashMap<>();
+            for (ColumnGenerator column : this.columns) {
+                String name = runContext.render(column.getColumn()).as(String.class).orElseThrow();
+                ColumnMetadata metadata = tableMetadata.getColumn(name)
+                    .orElseThrow(() -> new IllegalArgumentException("Column '" + name + "' doesn't exist in table '" + rKeyspace + "." + rTable + "'"));
+
+                generators.put(metadata.getName(), new ValueGenerator(
+                    runContext.render(column.getType()).as(GeneratorType.class).orElseThrow(),
+                    metadata.getType(),
+                    codecRegistry,
+                    runContext.render(column.getMin()).as(Long.class).orElseThrow(),
+                    runContext.render(column.getMax()).as(Long.class).orElseThrow(),
+                    runContext.render(column.getSize()).as(Integer.class).orElseThrow(),
+                    runContext.render(column.getExponent()).as(Double.class).orElseThrow()
+                ));
+            }
+
+            for (ColumnMetadata column : tableMetadata.getPrimaryKey()) {
+                if (!generators.containsKey(column.getName())) {
+                    throw new IllegalArgumentException("Primary key column '" + column.getName().asInternal() + "' has no generator");
+                }
+            }
+
+            String target = tableMetadata.getKeyspace().asCql(true) + "." + tableMetadata.getName().asCql(true);
+            List<CqlIdentifier> written = new ArrayList<>(generators.keySet());
+            List<CqlIdentifier> keys = tableMetadata.getPartitionKey().stream().map(ColumnMetadata::getName).toList();
+
+            PreparedStatement insert = session.prepare(
+                "INSERT INTO " + target + " (" + written.stream().map(c -> c.asCql(true)).collect(Collectors.joining(", ")) + ")" +
+                    " VALUES (" + written.stream().map(c -> "?").collect(Collectors.joining(", ")) + ")"
+            );
+            PreparedStatement select = rReadRatio == 0 ? null : session.prepare(
+                "SELECT * FROM " + target + " WHERE " + keys.stream().map(c -> c.asCql(true) + " = ?").collect(Collectors.joining(" AND "))
+            );
+
+            int rConcurrency = runContext.render(this.concurrency).as(Integer.class).orElseThrow();
+            Semaphore window = new Semaphore(rConcurrency);
+            Throttle throttle = rRate == null ? null : new Throttle(rRate);
+            QuantileSketch readLatency = new QuantileSketch();
+            QuantileSketch writeLatency = new QuantileSketch();
+            AtomicLong errors = new AtomicLong();
+
+            long start = System.nanoTime();
+            long deadline = start + rDuration.toNanos();
+            long sent = 0;
+
+            while (sent < rOperations && System.nanoTime() < deadline) {
+                if (throttle != null) {
+                    throttle.acquire();
+                }
+                if (!window.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    break;
+                }
+
+                boolean read = select != null && random.nextDouble() < rReadRatio;
+                BoundStatement statement = read ? bind(select, keys, generators, random) : bind(insert, written, generators, random);
+                QuantileSketch latency = read ? readLatency : writeLatency;
+
+                long sentAt = System.nanoTime();
+                session.executeAsync(statement).whenComplete((result, throwable) -> {
+                    long elapsed = System.nanoTime() - sentAt;
+
+                    if (throwable != null) {
+                        if (errors.getAndIncrement() == 0) {
+                            runContext.logger().warn("Operation failed: {}", throwable.getMessage());
+                        }
+                    } else {
+                        synchronized (latency) {
+                            latency.add(elapsed / 1_000_000.0);
+                        }
+                    }
+                    window.release();
+                });
+                sent++;
+            }
+
+            // wait for the operations still in flight
+            window.acquire(rConcurrency);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            long reads;
+            long writes;
+            Map<String, Double> reading;
+            Map<String, Double> writing;
+            synchronized (readLatency) {
+                reads = readLatency.count();
+                reading = latencies(readLatency);
+            }
+            synchronized (writeLatency) {
+                writes = writeLatency.count();
+                writing = latencies(writeLatency);
+            }
+
+            double throughput = elapsed.isZero() ? 0 : (reads + writes) * 1_000_000_000.0 / elapsed.toNanos();
+
+            runContext.metric(Counter.of("stress.reads", reads));
+            runContext.metric(Counter.of("stress.writes", writes));
+            runContext.metric(Counter.of("stress.errors", errors.get()));
+            runContext.metric(Counter.of("stress.throughput", throughput));
+            runContext.logger().info(
+                "Ran {} operations on '{}.{}' in {}: {} ops/s, {} errors, read latency {} ms, write latency {} ms",
+                sent, rKeyspace, rTable, elapsed, Math.round(throughput), errors.get(), reading, writing
+            );
+
+            return Output.builder()
+                .operations(sent)
+                .reads(reads)
+                .writes(writes)
+                .errors(errors.get())
+                .duration(elapsed)
+                .throughput(throughput)
+                .readLatency(reading)
+                .writeLatency(writing)
+                .build();
+        }
+    }
+
+    private static BoundStatement bind(PreparedStatement statement, List<CqlIdentifier> columns, Map<CqlIdentifier, ValueGenerator> generators, SplittableRandom random) {
+        Object[] values = new Object[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = generators.get(columns.get(i)).next(random);
+        }
+
+        return statement.bind(values);
+    }
+
+    private static Map<String, Double> latencies(QuantileSketch sketch) {
+        if (sketch.count() == 0) {
+            return null;
+        }
+
+        Map<String, Double> latencies = sketch.quantiles(QUANTILES);
+        latencies.put("max", sketch.max());
+        return latencies;
+    }
+
+    public abstract CqlSession cqlSession(RunContext runContext) throws IllegalVariableEvaluationException;
+
+    public enum GeneratorType {
+        RANDOM,
+        SEQUENCE,
+        ZIPF,
+        PAYLOAD
+    }
+
+    @Getter
+    @Builder
+    public static class ColumnGenerator {
+        @Schema(
+            title = "Column to generate"
+        )
+        @NotNull
+        @PluginProperty(group = "main")
+        private Property<String> column;
+
+        @Schema(
+            title = "Generator type",
+            description = "RANDOM - uniformly distributed numbers between `min` and `max`.\n"
+                + "SEQUENCE - increasing numbers from `min`, wrapping around after `max`.\n"
+                + "ZIPF - numbers between `min` and `max` following a Zipf distribution, `min` being the most frequent.\n"
+                + "PAYLOAD - random text or bytes of `size` characters.\n"
+                + "Numbers are converted to the column type: text columns get their decimal representation, uuid columns a " +
+                "UUID derived from the number, so the same number always maps to the same key."
+        )
+        @NotNull
+        @PluginProperty(group = "main")
+        private Property<GeneratorType> type;
+
+        @Schema(
+            title = "Lowest generated number"
+        )
+        @Builder.Default
+        @PluginProperty(group = "main")
+        private Property<Long> min = Property.ofValue(0L);
+
+        @Schema(
+            title = "Highest generated number"
+        )
+        @Builder.Default
+        @PluginProperty(group = "main")
+        private Property<Long> max = Property.ofValue(1_000_000L);
+
+        @Schema(
+            title = "Size of the generated payloads"
+        )
+        @Builder.Default
+        @PluginProperty(group = "main")
+        private Property<Integer> size = Property.ofValue(100);
+
+        @Schema(
+            title = "Exponent of the Zipf distribution",
+            description = "The higher it is, the more operations target the most frequent keys."
+        )
+        @Builder.Default
+        @PluginProperty(group = "advanced")
+        private Property<Double> exponent = Property.ofValue(1.0);
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "The number of operations sent"
+        )
+        private final Long operations;
+
+        @Schema(
+            title = "The number of successful reads"
+        )
+        private final Long reads;
+
+        @Schema(
+            title = "The number of successful writes"
+        )
+        private final Long writes;
+
+        @Schema(
+            title = "The number of failed operations"
+        )
+        private final Long errors;
+
+        @Schema(
+            title = "The duration of the workload"
+        )
+        private final Duration duration;
+
+        @Schema(
+            title = "The number of successful operations per second"
+        )
+        private final Double throughput;
+
+        @Schema(
+            title = "Read latency percentiles in milliseconds",
+            description = "p50, p90, p99, p99.9 and max, with a 1% relative accuracy."
+        )
+        private final Map<String, Double> readLatency;
+
+        @Schema(
+            title = "Write latency percentiles in milliseconds",
+            description = "p50, p90, p99, p99.9 and max, with a 1% relative accuracy."
+        )
+        private final Map<String, Double> writeLatency;
+    }
+}
@@ -0,0 +1,336 @@
+package io.kestra.plugin.cassandra;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.datastax.oss.driver.api.core.type.VectorType;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.annotations.Metric;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.Task;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Plugin(
+    metrics = {
+        @Metric(
+            name = "vector.queries",
+            type = Counter.TYPE,
+            unit = "queries",
+            description = "The number of similarity searches run."
+        ),
+        @Metric(
+            name = "vector.rows",
+            type = Counter.TYPE,
+            unit = "records",
+            description = "The number of rows returned by all the searches."
+        )
+    }
+)
+public abstract class AbstractVectorSearch extends Task implements RunnableTask<AbstractVectorSearch.Output> {
+    @Schema(
+        title = "Keyspace of the table to search"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<String> keyspace;
+
+    @Schema(
+        title = "Table to search"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<String> table;
+
+    @Schema(
+        title = "The `vector<float, n>` column to search, which needs a storage-attached index"
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<String> column;
+
+    @Schema(
+        title = "Columns to return",
+        description = "Defaults to every column of the table."
+    )
+    @PluginProperty(group = "main")
+    protected Property<List<String>> columns;
+
+    @Schema(
+        title = "Query vector",
+        description = "Either `vector` or `vectorsUri` must be set."
+    )
+    @PluginProperty(group = "main")
+    protected Property<List<Float>> vector;
+
+    @Schema(
+        title = "URI of an ion file of query vectors",
+        description = "One query vector per line, either a list of numbers or a map with the list under the `vector` key. " +
+            "The results are stored in an ion file, with one line per query vector in the same order."
+    )
+    @PluginProperty(internalStorageURI = true, group = "main")
+    protected Property<String> vectorsUri;
+
+    @Schema(
+        title = "Additional filter, the CQL expression of the WHERE clause",
+        description = "It can only restrict columns with a storage-attached index, and must not contain bind markers."
+    )
+    @PluginProperty(group = "main")
+    protected Property<String> where;
+
+    @Schema(
+        title = "Number of nearest rows returned per query vector"
+    )
+    @Builder.Default
+    @PluginProperty(group = "main")
+    protected Property<Integer> limit = Property.ofValue(10);
+
+    @Schema(
+        title = "Similarity function whose score is returned in the `similarity` column",
+        description = "No score is returned if not set. It should match the similarity function of the index."
+    )
+    @PluginProperty(group = "main")
+    protected Property<Similarity> similarity;
+
+    @Schema(
+        title = "Maximum number of searches in flight"
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Integer> concurrency = Property.ofValue(16);
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        String rKeyspace = runContext.render(this.keyspace).as(String.class).orElseThrow();
+        String rTable = runContext.render(this.table).as(String.class).orElseThrow();
+        String rColumn = runContext.render(this.column).as(String.class).orElseThrow();
+        String rVectorsUri = runContext.render(this.vectorsUri).as(String.class).orElse(null);
+        List<Float> rVector = runContext.render(this.vector).asList(Float.class);
+
+        if (rVector.isEmpty() == (rVectorsUri == null)) {
+            throw new IllegalArgumentException("Exactly one of 'vector' or 'vectorsUri' must be set");
+        }
+
+        try (CqlSession session = this.cqlSession(runContext)) {
+            TableMetadata tableMetadata = TokenRanges.table(session, rKeyspace, rTable);
+            ColumnMetadata vectorColumn = tableMetadata.getColumn(rColumn)
+                .orElseThrow(() -> new IllegalArgumentException("Column '" + rColumn + "' doesn't exist in table '" + rKeyspace + "." + rTable + "'"));
+            if (!Vectors.isFloatVector(vectorColumn.getType())) {
+                throw new IllegalArgumentException("Column '" + rColumn + "' is a '" + vectorColumn.getType().asCql(false, true) +
+                    "', not a vector of floats");
+            }
+            int dimensions = ((VectorType) vectorColumn.getType()).getDimensions();
+
+            PreparedStatement prepared = session.prepare(this.cql(runContext, tableMetadata, vectorColumn));
+            Search search = new Search(session, prepared, dimensions, runContext.render(this.concurrency).as(Integer.class).orElseThrow());
+
+            Output output;
+            if (rVectorsUri == null) {
+                float[] query = new float[rVector.size()];
+                for (int i = 0; i < query.length; i++) {
+                    query[i] = rVector.get(i);
+                }
+
+                List<Map<String, Object>> rows = search.execute(query).toCompletableFuture().join();
+                output = Output.builder()
+                    .rows(rows)
+                    .queries(1L)
+                    .size((long) rows.size())
+                    .build();
+            } else {
+                output = this.batch(runContext, search, URI.create(rVectorsUri));
+            }
+
+            runContext.metric(Counter.of("vector.queries", output.getQueries()));
+            runContext.metric(Counter.of("vector.rows", output.getSize()));
+            runContext.logger().info("Ran {} similarity searches on '{}.{}', returning {} rows", output.getQueries(), rKeyspace, rTable, output.getSize());
+
+            return output;
+        }
+    }
+
+    private String cql(RunContext runContext, TableMetadata tableMetadata, ColumnMetadata vectorColumn) throws IllegalVariableEvaluationException {
+        List<String> rColumns = runContext.render(this.columns).asList(String.class);
+        String selected = rColumns.isEmpty() ?
+            tableMetadata.getColumns().keySet().stream().map(c -> c.asCql(true)).collect(Collectors.joining(", ")) :
+            rColumns.stream().map(c -> CqlIdentifier.fromCql(c).asCql(true)).collect(Collectors.joining(", "));
+        String name = vectorColumn.getName().asCql(true);
+
+        StringBuilder cql = new StringBuilder("SELECT ").append(selected);
+        runContext.render(this.similarity).as(Similarity.class).ifPresent(function ->
+            cql.append(", ").append(function.function).append("(").append(name).append(", ?) AS similarity")
+        );
+        cql.append(" FROM ").append(tableMetadata.getKeyspace().asCql(true)).append(".").append(tableMetadata.getName().asCql(true));
+        runContext.render(this.where).as(String.class).ifPresent(where -> cql.append(" WHERE ").append(where));
+        cql.append(" ORDER BY ").append(name).append(" ANN OF ? LIMIT ").append(runContext.render(this.limit).as(Integer.class).orElseThrow());
+
+        return cql.toString();
+    }
+
+    /**
+     * Streams the query vectors of the file and writes the results in the same order, keeping at most
+     * {@code concurrency} searches in flight.
+     */
+    private Output batch(RunContext runContext, Search search, URI uri) throws Exception {
+        File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+        ArrayDeque<CompletableFuture<List<Map<String, Object>>>> inFlight = new ArrayDeque<>();
+        long queries = 0;
+        long size = 0;
+
+        try (
+            var reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(uri), StandardCharsets.UTF_8), FileSerde.BUFFER_SIZE);
+            var output = new BufferedOutputStream(new FileOutputStream(tempFile), FileSerde.BUFFER_SIZE)
+        ) {
+            try {
+                for (Object line : FileSerde.readAll(reader).toIterable()) {
+                    Object value = line instanceof Map<?, ?> map ? map.get("vector") : line;
+                    inFlight.add(search.execute(Vectors.of(value)).toCompletableFuture());
+
+                    if (inFlight.size() >= search.concurrency) {
+                        size += write(output, queries++, inFlight.poll().join());
+                    }
+                }
+
+                while (!inFlight.isEmpty()) {
+                    size += write(output, queries++, inFlight.poll().join());
+                }
+            } catch (Exception e) {
+                // a failed search, a vector rejected before it is sent, or a failed write: the other searches are abandoned
+                inFlight.forEach(future -> future.cancel(true));
+                throw e instanceof CompletionException && e.getCause() instanceof Exception exception ? exception : e;
+            }
+        }
+
+        URI stored = runContext.storage().putFile(tempFile);
+        tempFile.delete();
+
+        return Output.builder()
+            .uri(stored)
+            .queries(queries)
+            .size(size)
+            .build();
+    }
+
+    private static int write(BufferedOutputStream output, long query, List<Map<String, Object>> rows) throws Exception {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("query", query);
+        result.put("rows", rows);
+        FileSerde.write(output, result);
+
+        return rows.size();
+    }
+
+    public abstract CqlSession cqlSession(RunContext runContext) throws IllegalVariableEvaluationException;
+
+    public enum Similarity {
+        COSINE("similarity_cosine"),
+        EUCLIDEAN("similarity_euclidean"),
+        DOT_PRODUCT("similarity_dot_product");
+
+        private final String function;
+
+        Similarity(String function) {
+            this.function = function;
+        }
+    }
+
+    private record Search(CqlSession session, PreparedStatement prepared, int dimensions, int concurrency) {
+        CompletionStage<List<Map<String, Object>>> execute(float[] vector) {
+            if (vector.length != this.dimensions) {
+                throw new IllegalArgumentException("Query vector has " + vector.length + " dimensions, but the column has " + this.dimensions);
+            }
+
+            // every bind marker is the query vector, bound as raw bytes so no boxed CqlVector is ever built
+            ByteBuffer bytes = Vectors.encode(vector);
+            BoundStatement statement = this.prepared.bind();
+            for (int i = 0; i < this.prepared.getVariableDefinitions().size(); i++) {
+                statement = statement.setBytesUnsafe(i, bytes);
+            }
+
+            return this.session.executeAsync(statement).thenCompose(rs -> collect(rs, new ArrayList<>()));
+        }
+
+        private static CompletionStage<List<Map<String, Object>>> collect(AsyncResultSet rs, List<Map<String, Object>> rows) {
+            ColumnDefinitions columnDefinitions = rs.getColumnDefinitions();
+            for (Row row : rs.currentPage()) {
+                rows.add(AbstractQuery.convertRow(row, columnDefinitions));
+            }
+
+            if (rs.hasMorePages()) {
+                return rs.fetchNextPage().thenCompose(next -> collect(next, rows));
+            }
+
+            return CompletableFuture.completedFuture(rows);
+        }
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "The nearest rows of the query vector, closest first",
+            description = "Only populated when searching a single `vector`. Vector columns are returned as lists of floats."
+        )
+        private final List<Map<String, Object>> rows;
+
+        @Schema(
+            title = "The URI of the ion file of results",
+            description = "Only populated when searching the vectors of `vectorsUri`: one line per query vector, with its " +
+                "`query` index and its nearest `rows`."
+        )
+        private final URI uri;
+
+        @Schema(
+            title = "The number of query vectors searched"
+        )
+        private final Long queries;
+
+        @Schema(
+            title = "The total number of rows returned"
+        )
+        private final Long size;
+    }
+}
@@ -0,0 +1,227 @@
+package io.kestra.plugin.cassandra;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * Streaming, mergeable accumulator folding the values of one column. Each token range is aggregated independently,
+ * and the partial results are merged at the end.
+ */
+abstract class Aggregator {
+    abstract void add(Object value);
+
+    abstract void merge(Aggregator other);
+
+    abstract Object result();
+
+    static Aggregator of(AbstractAggregate.Function function, List<Double> quantiles) {
+        return switch (function) {
+            case COUNT -> new Count();
+            case SUM -> new Sum();
+            case AVG -> new Avg();
+            case MIN -> new Extremum(-1);
+            case MAX -> new Extremum(1);
+            case DISTINCT -> new Distinct();
+            case QUANTILES -> new Quantiles(quantiles);
+        };
+    }
+
+    private static boolean integral(Number number) {
+        return number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte ||
+            number instanceof BigInteger;
+    }
+
+    static class Count extends Aggregator {
+        private long count = 0;
+
+        @Override
+        void add(Object value) {
+            if (value != null) {
+                count++;
+            }
+        }
+
+        @Override
+        void merge(Aggregator other) {
+            count += ((Count) other).count;
+        }
+
+        @Override
+        Object result() {
+            return count;
+        }
+    }
+
+    /**
+     * Sums integers exactly: in a long while it fits, and in a BigInteger once a bigint sum overflows it. Decimals are
+     * summed exactly in a BigDecimal, only float and double values are summed as a double.
+     */
+    static class Sum extends Aggregator {
+        protected long longSum = 0;
+        protected BigInteger bigSum = BigInteger.ZERO;
+        protected BigDecimal decimalSum = BigDecimal.ZERO;
+        protected boolean decimal = false;
+        protected double doubleSum = 0;
+        protected boolean floating = false;
+        protected long count = 0;
+
+        @Override
+        void add(Object value) {
+            if (!(value instanceof Number number)) {
+                return;
+            }
+
+            if (number instanceof BigInteger bigInteger && bigInteger.bitLength() >= Long.SIZE) {
+                bigSum = bigSum.add(bigInteger);
+            } else if (integral(number)) {
+                this.addLong(number.longValue());
+            } else if (number instanceof BigDecimal bigDecimal) {
+                decimal = true;
+                decimalSum = decimalSum.add(bigDecimal);
+            } else {
+                floating = true;
+                doubleSum += number.doubleValue();
+            }
+            count++;
+        }
+
+        private void addLong(long value) {
+            long sum = longSum + value;
+
+            // both operands have the sign opposite to the result only on overflow: carry into the BigInteger part
+            if (((longSum ^ sum) & (value ^ sum)) < 0) {
+                bigSum = bigSum.add(BigInteger.valueOf(longSum)).add(BigInteger.valueOf(value));
+                longSum = 0;
+            } else {
+                longSum = sum;
+            }
+        }
+
+        @Override
+        void merge(Aggregator other) {
+            Sum sum = (Sum) other;
+            this.addLong(sum.longSum);
+            bigSum = bigSum.add(sum.bigSum);
+            decimalSum = decimalSum.add(sum.decimalSum);
+            decimal |= sum.decimal;
+            doubleSum += sum.doubleSum;
+            floating |= sum.floating;
+            count += sum.count;
+        }
+
+        protected Number integralSum() {
+            if (bigSum.signum() == 0) {
+                return longSum;
+            }
+
+            BigInteger total = bigSum.add(BigInteger.valueOf(longSum));
+            return total.bitLength() < Long.SIZE ? (Number) total.longValue() : (Number) total;
+        }
+
+        @Override
+        Object result() {
+            if (count == 0) {
+                return null;
+            }
+
+            Number integral = this.integralSum();
+            if (floating) {
+                return doubleSum + this.exactSum().doubleValue();
+            }
+
+            return decimal ? this.exactSum() : integral;
+        }
+
+        protected BigDecimal exactSum() {
+            Number integral = this.integralSum();
+            return decimalSum.add(integral instanceof BigInteger bigInteger ? new BigDecimal(bigInteger) : BigDecimal.valueOf(integral.longValue()));
+        }
+    }
+
+    static class Avg extends Sum {
+        @Override
+        Object result() {
+            return count == 0 ? null : (doubleSum + this.exactSum().doubleValue()) / count;
+        }
+    }
+
+    static class Extremum extends Aggregator {
+        private final int direction;
+        private Comparable<Object> current;
+
+        Extremum(int direction) {
+            this.direction = direction;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void add(Object value) {
+            if (value instanceof Comparable<?> comparable &&
+                (current == null || Integer.signum(((Comparable<Object>) comparable).compareTo(current)) == direction)) {
+                current = (Comparable<Object>) comparable;
+            }
+        }
+
+        @Override
+        void merge(Aggregator other) {
+            this.add(((Extremum) other).current);
+        }
+
+        @Override
+        Object result() {
+            return current;
+        }
+    }
+
+    /**
+     * Expects the serialized bytes of the cell, so that values without a meaningful string form (blobs, UDTs) are
+     * still told apart.
+     */
+    static class Distinct extends Aggregator {
+        private final HyperLogLog hyperLogLog = new HyperLogLog();
+
+        @Override
+        void add(Object value) {
+            if (value != null) {
+                hyperLogLog.add(SeenSet.fingerprint(List.of(value)));
+            }
+        }
+
+        @Override
+        void merge(Aggregator other) {
+            hyperLogLog.merge(((Distinct) other).hyperLogLog);
+        }
+
+        @Override
+        Object result() {
+            return hyperLogLog.estimate();
+        }
+    }
+
+    static class Quantiles extends Aggregator {
+        private final List<Double> quantiles;
+        private final QuantileSketch sketch = new QuantileSketch();
+
+        Quantiles(List<Double> quantiles) {
+            this.quantiles = quantiles;
+        }
+
+        @Override
+        void add(Object value) {
+            if (value instanceof Number number) {
+                sketch.add(number.doubleValue());
+            }
+        }
+
+        @Override
+        void merge(Aggregator other) {
+            sketch.merge(((Quantiles) other).sketch);
+        }
+
+        @Override
+        Object result() {
+            return sketch.quantiles(quantiles);
+        }
+    }
+}
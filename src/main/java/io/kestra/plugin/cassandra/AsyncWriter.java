@@ -0,0 +1,71 @@
+package io.kestra.plugin.cassandra;
+
+import java.util.concurrent.Phaser;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.Statement;
+
+/**
+ * Executes write statements asynchronously under a bounded in-flight window, optionally throttled. Writes are tracked
+ * per unit of work (typically a token range) so a caller can wait for all of its writes to be acknowledged before
+ * checkpointing; the first failure fails every following write.
+ */
+class AsyncWriter {
+    private final CqlSession session;
+    private final Semaphore window;
+    private final Throttle throttle;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    AsyncWriter(CqlSession session, int maxInFlight, Throttle throttle) {
+        this.session = session;
+        this.window = new Semaphore(maxInFlight);
+        this.throttle = throttle;
+    }
+
+    boolean failed() {
+        return this.failure.get() != null;
+    }
+
+    Tracker tracker() {
+        return new Tracker();
+    }
+
+    private void rethrow() {
+        Throwable throwable = this.failure.get();
+        if (throwable != null) {
+            throw new IllegalStateException("Failed to write to the cluster: " + throwable.getMessage(), throwable);
+        }
+    }
+
+    class Tracker {
+        private final Phaser inFlight = new Phaser(1);
+
+        void execute(Statement<?> statement) throws InterruptedException {
+            rethrow();
+
+            if (throttle != null) {
+                throttle.acquire();
+            }
+
+            window.acquire();
+            inFlight.register();
+            session.executeAsync(statement).whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                    failure.compareAndSet(null, throwable);
+                }
+                window.release();
+                inFlight.arriveAndDeregister();
+            });
+        }
+
+        /**
+         * Waits for all the writes of this tracker to be acknowledged, failing if any write of the writer failed.
+         */
+        void await() {
+            inFlight.arriveAndAwaitAdvance();
+            rethrow();
+        }
+    }
+}
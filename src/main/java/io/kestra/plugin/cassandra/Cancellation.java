@@ -0,0 +1,178 @@
+package io.kestra.plugin.cassandra;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.runners.RunContext;
+
+/**
+ * Cooperative cancellation of a running query. The run registers its session, its in-flight requests and its
+ * uploads; {@link #cancel()}, called on task kill or when the running thread is interrupted, cancels the outstanding
+ * requests, closes the session so no further page is fetched, and aborts the partial uploads right away.
+ */
+class Cancellation {
+    private final Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+    private final Set<AutoCloseable> resources = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger cancelledRequests = new AtomicInteger();
+
+    private volatile boolean running = false;
+    private volatile boolean cancelled = false;
+    private volatile long cancelledAt;
+    private volatile CqlSession session;
+
+    void start(CqlSession session) {
+        this.session = session;
+        this.cancelled = false;
+        this.running = true;
+        this.cancelledRequests.set(0);
+    }
+
+    /**
+     * Ends the run: emits the cancellation metrics when it was cancelled and forgets the registered resources.
+     */
+    void finish(RunContext runContext) {
+        this.running = false;
+        this.session = null;
+        this.inFlight.clear();
+        this.resources.clear();
+
+        if (this.cancelled) {
+            runContext.metric(Counter.of("cancelled.queries", 1));
+            runContext.metric(Counter.of("cancelled.requests", this.cancelledRequests.get()));
+            runContext.metric(Timer.of("cancelled.duration", Duration.ofNanos(System.nanoTime() - this.cancelledAt)));
+            runContext.logger().warn("Query cancelled, {} in-flight requests abandoned", this.cancelledRequests.get());
+        }
+    }
+
+    boolean cancelled() {
+        return this.cancelled;
+    }
+
+    void cancel() {
+        if (!this.running || this.cancelled) {
+            return;
+        }
+
+        this.cancelled = true;
+        this.cancelledAt = System.nanoTime();
+
+        for (CompletableFuture<?> future : this.inFlight) {
+            if (future.cancel(true)) {
+                this.cancelledRequests.incrementAndGet();
+            }
+        }
+
+        CqlSession current = this.session;
+        if (current != null) {
+            current.closeAsync();
+        }
+
+        this.resources.forEach(Cancellation::closeQuietly);
+    }
+
+    <T extends AutoCloseable> T register(T resource) {
+        this.resources.add(resource);
+        if (this.cancelled) {
+            closeQuietly(resource);
+        }
+
+        return resource;
+    }
+
+    private static void closeQuietly(AutoCloseable resource) {
+        try {
+            resource.close();
+        } catch (Exception ignored) {
+            // the run fails with a cancellation anyway
+        }
+    }
+
+    <T> CompletableFuture<T> track(CompletionStage<T> stage) {
+        CompletableFuture<T> future = stage.toCompletableFuture();
+        this.inFlight.add(future);
+        future.whenComplete((value, throwable) -> this.inFlight.remove(future));
+
+        if (this.cancelled && future.cancel(true)) {
+            this.cancelledRequests.incrementAndGet();
+        }
+
+        return future;
+    }
+
+    /**
+     * Waits for a request, cancelling the whole run if the waiting thread is interrupted.
+     */
+    <T> T await(CompletionStage<T> stage) throws Exception {
+        CompletableFuture<T> future = this.track(stage);
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            this.cancel();
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Query interrupted");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception exception ? exception : e;
+        } catch (CancellationException e) {
+            throw new CancellationException("Query cancelled");
+        }
+    }
+
+    /**
+     * Iterates the rows of all the pages of a result, fetching each page only when the previous one is consumed and
+     * stopping as soon as the run is cancelled.
+     */
+    Iterable<Row> rows(AsyncResultSet first) {
+        return () -> new Iterator<>() {
+            private AsyncResultSet page = first;
+            private Iterator<Row> rows = first.currentPage().iterator();
+
+            @Override
+            public boolean hasNext() {
+                if (Thread.currentThread().isInterrupted()) {
+                    cancel();
+                }
+
+                if (cancelled) {
+                    throw new CancellationException("Query cancelled");
+                }
+
+                while (!this.rows.hasNext() && this.page.hasMorePages()) {
+                    try {
+                        this.page = await(this.page.fetchNextPage());
+                    } catch (RuntimeException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    this.rows = this.page.currentPage().iterator();
+                }
+
+                return this.rows.hasNext();
+            }
+
+            @Override
+            public Row next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return this.rows.next();
+            }
+        };
+    }
+}
@@ -0,0 +1,168 @@
+package io.kestra.plugin.cassandra;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+
+/**
+ * STORE export that uploads its result in chunks and records, after each chunk, the driver paging state and the
+ * storage URIs of the finished chunks in the KV store. A retried attempt of the same task run resumes from the last
+ * checkpoint instead of scanning the table again. Once the scan is done, the chunks are streamed into the final file
+ * and deleted.
+ */
+class CheckpointedExport {
+    private static final Duration TTL = Duration.ofDays(7);
+
+    private final RunContext runContext;
+    private final String key;
+    private final int chunkRows;
+    private final Boolean jsonPassThrough;
+
+    private final List<String> chunks = new ArrayList<>();
+    private long count = 0;
+
+    CheckpointedExport(RunContext runContext, String taskRunId, int chunkRows, Boolean jsonPassThrough) {
+        this.runContext = runContext;
+        this.key = KvState.key("cassandra-export", taskRunId);
+        this.chunkRows = chunkRows;
+        this.jsonPassThrough = jsonPassThrough;
+    }
+
+    @SuppressWarnings("unchecked")
+    AbstractQuery.Output run(CqlSession session, SimpleStatement statement) throws Exception {
+        Logger logger = runContext.logger();
+
+        Map<String, Object> checkpoint = (Map<String, Object>) KvState.get(runContext, key).orElse(null);
+        boolean completed = false;
+
+        if (checkpoint != null) {
+            chunks.addAll((List<String>) checkpoint.get("chunks"));
+            count = ((Number) checkpoint.get("count")).longValue();
+            completed = Boolean.TRUE.equals(checkpoint.get("completed"));
+
+            String pagingState = (String) checkpoint.get("pagingState");
+            if (pagingState != null) {
+                statement = statement.setPagingState(ByteBuffer.wrap(Base64.getDecoder().decode(pagingState)));
+            }
+
+            logger.info("Resuming export from checkpoint '{}' after {} rows in {} chunks", key, count, chunks.size());
+        }
+
+        if (!completed) {
+            this.scan(session.execute(statement));
+        }
+
+        URI uri = this.merge();
+
+        // the checkpoint goes first: a retry must never resume from chunks that no longer exist
+        KvState.delete(runContext, key);
+        this.deleteChunks();
+
+        return AbstractQuery.Output.builder()
+            .uri(uri)
+            .size(count)
+            .build();
+    }
+
+    private void scan(ResultSet rs) throws Exception {
+        ColumnDefinitions columnDefinitions = rs.getColumnDefinitions();
+        boolean json = AbstractQuery.jsonRows(columnDefinitions, jsonPassThrough);
+        Iterator<Row> iterator = rs.iterator();
+
+        while (iterator.hasNext()) {
+            File chunk = runContext.workingDir().createTempFile(".ion").toFile();
+            long rows = 0;
+
+            try (var output = new BufferedOutputStream(new FileOutputStream(chunk), FileSerde.BUFFER_SIZE)) {
+                while (iterator.hasNext()) {
+                    if (json) {
+                        AbstractQuery.writeJson(output, iterator.next());
+                    } else {
+                        FileSerde.write(output, AbstractQuery.convertRow(iterator.next(), columnDefinitions));
+                    }
+                    rows++;
+
+                    // only cut on a page boundary so the paging state points exactly after the last written row
+                    if (rows >= chunkRows && rs.getAvailableWithoutFetching() == 0) {
+                        break;
+                    }
+                }
+            }
+
+            chunks.add(runContext.storage().putFile(chunk).toString());
+            chunk.delete();
+            count += rows;
+
+            ByteBuffer pagingState = rs.getExecutionInfo().getPagingState();
+            this.save(pagingState, pagingState == null);
+
+            runContext.metric(Counter.of("export.rows", rows));
+            runContext.metric(Counter.of("export.chunks", 1));
+            runContext.logger().info("Checkpointed {} rows in {} chunks", count, chunks.size());
+        }
+    }
+
+    private void save(ByteBuffer pagingState, boolean completed) throws IOException {
+        Map<String, Object> checkpoint = new LinkedHashMap<>();
+        checkpoint.put("chunks", chunks);
+        checkpoint.put("count", count);
+        checkpoint.put("completed", completed);
+        if (pagingState != null) {
+            byte[] bytes = new byte[pagingState.remaining()];
+            pagingState.duplicate().get(bytes);
+            checkpoint.put("pagingState", Base64.getEncoder().encodeToString(bytes));
+        }
+
+        KvState.put(runContext, key, checkpoint, TTL);
+    }
+
+    /**
+     * Concatenates the chunks into the final file, streamed from storage to storage without a local copy.
+     */
+    private URI merge() throws Exception {
+        try (PipedUpload upload = new PipedUpload(runContext, ".ion")) {
+            OutputStream output = upload.output();
+            for (String chunk : chunks) {
+                try (InputStream input = runContext.storage().getFile(URI.create(chunk))) {
+                    input.transferTo(output);
+                }
+            }
+
+            return upload.finish();
+        }
+    }
+
+    private void deleteChunks() {
+        for (String chunk : chunks) {
+            try {
+                runContext.storage().deleteFile(URI.create(chunk));
+            } catch (IOException e) {
+                runContext.logger().warn("Unable to delete the export chunk '{}'", chunk, e);
+            }
+        }
+    }
+}
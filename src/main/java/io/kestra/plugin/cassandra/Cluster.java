@@ -0,0 +1,65 @@
+package io.kestra.plugin.cassandra;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.cassandra.astradb.AstraDbSession;
+import io.kestra.plugin.cassandra.standard.CassandraDbSession;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Connection to either a Cassandra cluster or an Astra DB database, used by the tasks working with several clusters.
+ */
+@Getter
+@Builder
+public class Cluster {
+    @Schema(
+        title = "Name of the cluster",
+        description = "Used in logs and outputs; defaults to a label of the cluster role or position, never to its " +
+            "connection settings, which may hold credentials."
+    )
+    @PluginProperty(group = "main")
+    private Property<String> name;
+
+    @Schema(
+        title = "Cassandra session configuration",
+        description = "Set either `standard` or `astradb`."
+    )
+    @PluginProperty(group = "connection")
+    private CassandraDbSession standard;
+
+    @Schema(
+        title = "Astra DB session configuration",
+        description = "Set either `standard` or `astradb`."
+    )
+    @PluginProperty(group = "connection")
+    private AstraDbSession astradb;
+
+    public CqlSession connect(RunContext runContext) throws IllegalVariableEvaluationException {
+        this.validate();
+
+        return this.standard != null ? this.standard.connect(runContext) : this.astradb.connect(runContext);
+    }
+
+    public String identity(RunContext runContext) throws IllegalVariableEvaluationException {
+        this.validate();
+
+        return this.standard != null ? this.standard.identity(runContext) : this.astradb.identity(runContext);
+    }
+
+    public String name(RunContext runContext, String defaultName) throws IllegalVariableEvaluationException {
+        return runContext.render(this.name).as(String.class).orElse(defaultName);
+    }
+
+    private void validate() {
+        if ((this.standard == null) == (this.astradb == null)) {
+            throw new IllegalArgumentException("Please use only one of standard or astradb");
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package io.kestra.plugin.cassandra;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+import io.kestra.core.runners.RunContext;
+
+/**
+ * Sums counter deltas per primary key. Keys are the serialized primary key values, deltas are primitive {@code long}
+ * arrays updated in place. Above {@code maxKeys} distinct keys, the map is spilled to disk into hash partitions; each
+ * partition is coalesced again on its own when the result is read, so a key is always emitted exactly once. Keys are
+ * emitted partition by partition, and a key lands in the same partition whether it was spilled or not.
+ */
+class CounterCoalescer implements AutoCloseable {
+    private final RunContext runContext;
+    private final int width;
+    private final int maxKeys;
+    private final int partitions;
+
+    private Map<Key, long[]> deltas = new HashMap<>();
+    private File[] spillFiles;
+    private DataOutputStream[] spillOutputs;
+    private int spills = 0;
+
+    CounterCoalescer(RunContext runContext, int width, int maxKeys, int partitions) {
+        this.runContext = runContext;
+        this.width = width;
+        this.maxKeys = maxKeys;
+        this.partitions = partitions;
+    }
+
+    void add(byte[] key, long[] delta) throws IOException {
+        add(this.deltas, new Key(key), delta);
+
+        if (this.deltas.size() >= this.maxKeys) {
+            this.spill();
+        }
+    }
+
+    int spills() {
+        return this.spills;
+    }
+
+    /**
+     * Emits every key once with its summed deltas, partition by partition, then forgets them. The partitions rejected
+     * by {@code include} are skipped, and {@code drained} is called after the last key of each emitted partition.
+     */
+    void drain(IntPredicate include, Consumer consumer, PartitionConsumer drained) throws Exception {
+        if (this.spillFiles == null) {
+            // one pass over the keys per partition, rather than a second copy of the map
+            for (int index = 0; index < this.partitions; index++) {
+                if (!include.test(index)) {
+                    continue;
+                }
+
+                for (Map.Entry<Key, long[]> entry : this.deltas.entrySet()) {
+                    if (this.partition(entry.getKey()) == index) {
+                        consumer.accept(entry.getKey().bytes, entry.getValue());
+                    }
+                }
+                drained.accept(index);
+            }
+
+            this.deltas = new HashMap<>();
+            return;
+        }
+
+        this.spill();
+        for (DataOutputStream output : this.spillOutputs) {
+            output.close();
+        }
+
+        for (int index = 0; index < this.partitions; index++) {
+            File file = this.spillFiles[index];
+            if (!include.test(index)) {
+                file.delete();
+                continue;
+            }
+
+            Map<Key, long[]> partition = new HashMap<>();
+            try (var input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                while (true) {
+                    int length;
+                    try {
+                        length = input.readInt();
+                    } catch (EOFException e) {
+                        break;
+                    }
+
+                    byte[] key = new byte[length];
+                    input.readFully(key);
+                    long[] delta = new long[this.width];
+                    for (int i = 0; i < this.width; i++) {
+                        delta[i] = input.readLong();
+                    }
+
+                    add(partition, new Key(key), delta);
+                }
+            }
+
+            file.delete();
+            emit(partition, consumer);
+            drained.accept(index);
+        }
+    }
+
+    private void spill() throws IOException {
+        if (this.spillFiles == null) {
+            this.spillFiles = new File[this.partitions];
+            this.spillOutputs = new DataOutputStream[this.partitions];
+            for (int i = 0; i < this.partitions; i++) {
+                this.spillFiles[i] = this.runContext.workingDir().createTempFile(".spill").toFile();
+                this.spillOutputs[i] = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(this.spillFiles[i])));
+            }
+        }
+
+        for (Map.Entry<Key, long[]> entry : this.deltas.entrySet()) {
+            DataOutputStream output = this.spillOutputs[this.partition(entry.getKey())];
+            output.writeInt(entry.getKey().bytes.length);
+            output.write(entry.getKey().bytes);
+            for (long delta : entry.getValue()) {
+                output.writeLong(delta);
+            }
+        }
+
+        this.spills++;
+        this.runContext.logger().debug("Spilled {} counter keys to disk", this.deltas.size());
+        this.deltas = new HashMap<>();
+    }
+
+    private int partition(Key key) {
+        // partition on the high bits of the hash, the hash map of a partition buckets on the low bits
+        return Math.floorMod(Integer.reverse(key.hash), this.partitions);
+    }
+
+    private static void add(Map<Key, long[]> deltas, Key key, long[] delta) {
+        long[] current = deltas.putIfAbsent(key, delta);
+        if (current != null) {
+            for (int i = 0; i < current.length; i++) {
+                current[i] += delta[i];
+            }
+        }
+    }
+
+    private static void emit(Map<Key, long[]> deltas, Consumer consumer) throws Exception {
+        for (Map.Entry<Key, long[]> entry : deltas.entrySet()) {
+            consumer.accept(entry.getKey().bytes, entry.getValue());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.spillFiles != null) {
+            for (int i = 0; i < this.partitions; i++) {
+                this.spillOutputs[i].close();
+                this.spillFiles[i].delete();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface Consumer {
+        void accept(byte[] key, long[] delta) throws Exception;
+    }
+
+    @FunctionalInterface
+    interface PartitionConsumer {
+        void accept(int partition) throws Exception;
+    }
+
+    private static final class Key {
+        private final byte[] bytes;
+        private final int hash;
+
+        private Key(byte[] bytes) {
+            this.bytes = bytes;
+            this.hash = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && this.hash == key.hash && Arrays.equals(this.bytes, key.bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package io.kestra.plugin.cassandra;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+import com.datastax.oss.driver.api.core.type.DataType;
+import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
+import com.datastax.oss.protocol.internal.ProtocolConstants;
+
+/**
+ * Converts values coming from flow properties or serialized files (strings, JSON numbers) to the Java type expected by
+ * the driver codec of a CQL column, so they can be bound to prepared statements.
+ */
+final class CqlValues {
+    private CqlValues() {
+    }
+
+    static Object coerce(Object value, DataType type, CodecRegistry codecRegistry) {
+        if (value == null) {
+            return null;
+        }
+
+        if (value instanceof Number number) {
+            switch (type.getProtocolCode()) {
+                case ProtocolConstants.DataType.COUNTER:
+                case ProtocolConstants.DataType.BIGINT:
+                    return number.longValue();
+                case ProtocolConstants.DataType.INT:
+                    return number.intValue();
+                case ProtocolConstants.DataType.SMALLINT:
+                    return number.shortValue();
+                case ProtocolConstants.DataType.TINYINT:
+                    return number.byteValue();
+                case ProtocolConstants.DataType.DOUBLE:
+                    return number.doubleValue();
+                case ProtocolConstants.DataType.FLOAT:
+                    return number.floatValue();
+                case ProtocolConstants.DataType.DECIMAL:
+                    return new BigDecimal(number.toString());
+                case ProtocolConstants.DataType.VARINT:
+                    return new BigInteger(number.toString());
+                case ProtocolConstants.DataType.TIMESTAMP:
+                    return Instant.ofEpochMilli(number.longValue());
+                default:
+                    return value;
+            }
+        }
+
+        if (value instanceof String string) {
+            switch (type.getProtocolCode()) {
+                case ProtocolConstants.DataType.ASCII:
+                case ProtocolConstants.DataType.VARCHAR:
+                    return string;
+                case ProtocolConstants.DataType.UUID:
+                case ProtocolConstants.DataType.TIMEUUID:
+                    return UUID.fromString(string);
+                case ProtocolConstants.DataType.TIMESTAMP:
+                    return Instant.parse(string);
+                case ProtocolConstants.DataType.DATE:
+                    return LocalDate.parse(string);
+                case ProtocolConstants.DataType.TIME:
+                    return LocalTime.parse(string);
+                default:
+                    return codecRegistry.codecFor(type).parse(string);
+            }
+        }
+
+        return value;
+    }
+}
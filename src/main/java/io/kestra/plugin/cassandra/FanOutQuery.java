@@ -0,0 +1,374 @@
+package io.kestra.plugin.cassandra;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
+
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+
+/**
+ * Runs a prepared per-partition query once per key, as concurrent token-aware asynchronous requests, and merges the
+ * results into a single query output. Results are kept in key order, or k-way merged on the given columns. A STORE
+ * output is written as the results arrive, through local files when they are merged, so only a window of results is
+ * held in memory; a FETCH_ONE output stops at the first row.
+ */
+class FanOutQuery {
+    private static final int MERGE_FAN_IN = 128;
+    private static final int MERGE_PREFETCH = 32;
+
+    private final RunContext runContext;
+    private final Cancellation cancellation;
+    private final int concurrency;
+    private final List<String> mergeOrder;
+
+    FanOutQuery(RunContext runContext, Cancellation cancellation, int concurrency, List<String> mergeOrder) {
+        this.runContext = runContext;
+        this.cancellation = cancellation;
+        this.concurrency = concurrency;
+        this.mergeOrder = mergeOrder;
+    }
+
+    /**
+     * Loads the keys of an ion file, one key (a value, or a list of values for several bind markers) per line.
+     */
+    static List<Object> keys(RunContext runContext, URI uri) throws Exception {
+        try (var reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(uri), StandardCharsets.UTF_8), FileSerde.BUFFER_SIZE)) {
+            return FileSerde.readAll(reader).collectList().block();
+        }
+    }
+
+    AbstractQuery.Output run(CqlSession session, String cql, Integer pageSize, List<Object> keys, FetchType type, AbstractQuery.RowFormat rowFormat) throws Exception {
+        PreparedStatement prepared = session.prepare(cql);
+        Comparator<Map<String, Object>> comparator = this.mergeOrder.isEmpty() ? null : comparator(this.mergeOrder);
+        AbstractQuery.Output.OutputBuilder output = AbstractQuery.Output.builder();
+        long queried;
+        long rows;
+
+        switch (type) {
+            case FETCH_ONE -> {
+                // each key result is sorted, so only its first row can be the first row of the merge
+                List<Map<String, Object>> first = new ArrayList<>(1);
+                queried = this.fanOut(session, prepared, pageSize, keys, true, result -> {
+                    if (result.isEmpty()) {
+                        return true;
+                    }
+                    if (first.isEmpty() || (comparator != null && comparator.compare(result.getFirst(), first.getFirst()) < 0)) {
+                        first.clear();
+                        first.add(result.getFirst());
+                    }
+
+                    // in key order, the first non-empty result holds the row
+                    return comparator != null;
+                });
+
+                rows = first.size();
+                output
+                    .row(first.isEmpty() ? null : first.getFirst())
+                    .size(rows);
+            }
+            case STORE -> {
+                try (PipedUpload upload = this.cancellation.register(new PipedUpload(runContext, ".ion"))) {
+                    try (var stream = new BufferedOutputStream(upload.output(), FileSerde.BUFFER_SIZE)) {
+                        if (comparator == null) {
+                            long[] count = {0};
+                            queried = this.fanOut(session, prepared, pageSize, keys, false, result -> {
+                                for (Map<String, Object> row : result) {
+                                    FileSerde.write(stream, row);
+                                }
+                                count[0] += result.size();
+                                return true;
+                            });
+                            rows = count[0];
+                        } else {
+                            List<File> files = new ArrayList<>();
+                            try {
+                                queried = this.fanOut(session, prepared, pageSize, keys, false, result -> {
+                                    if (!result.isEmpty()) {
+                                        files.add(this.spill(result));
+                                    }
+                                    return true;
+                                });
+                                rows = this.mergeFiles(files, comparator, stream);
+                            } finally {
+                                files.forEach(File::delete);
+                            }
+                        }
+                    }
+
+                    output
+                        .uri(upload.finish())
+                        .size(rows);
+                }
+            }
+            case FETCH -> {
+                List<List<Map<String, Object>>> results = new ArrayList<>();
+                queried = this.fanOut(session, prepared, pageSize, keys, false, results::add);
+
+                List<Map<String, Object>> merged = comparator == null ?
+                    results.stream().flatMap(List::stream).toList() :
+                    merge(results, comparator);
+                rows = merged.size();
+                AbstractQuery.fetched(output, merged, rowFormat);
+            }
+            default -> {
+                queried = this.fanOut(session, prepared, pageSize, keys, false, result -> true);
+                rows = 0;
+                runContext.logger().info("FetchType is NONE");
+            }
+        }
+
+        runContext.metric(Counter.of("fanout.keys", queried));
+        runContext.logger().debug("Fanned out query to {} of {} keys, {} rows", queried, keys.size(), rows);
+
+        return output.build();
+    }
+
+    /**
+     * Queries the keys concurrently and hands their results to the consumer in key order. A slot is only freed once
+     * the oldest result is consumed, so at most {@code concurrency} results are in flight or waiting in memory. The
+     * consumer returns {@code false} to stop, cancelling the outstanding requests.
+     *
+     * @return the number of keys queried
+     */
+    private long fanOut(CqlSession session, PreparedStatement prepared, Integer pageSize, List<Object> keys, boolean firstRow, ResultConsumer consumer) throws Exception {
+        CodecRegistry codecRegistry = session.getContext().getCodecRegistry();
+        Deque<CompletableFuture<List<Map<String, Object>>>> pending = new ArrayDeque<>(this.concurrency);
+        long queried = 0;
+
+        try {
+            for (Object key : keys) {
+                if (pending.size() >= this.concurrency && !consumer.accept(this.cancellation.await(pending.poll()))) {
+                    return queried;
+                }
+
+                BoundStatement statement = this.bind(prepared, key, codecRegistry);
+                if (pageSize != null) {
+                    statement = statement.setPageSize(pageSize);
+                }
+
+                pending.add(this.cancellation.track(
+                    session.executeAsync(statement).thenCompose(rs -> collect(rs, new ArrayList<>(), firstRow))
+                ));
+                queried++;
+            }
+
+            while (!pending.isEmpty()) {
+                if (!consumer.accept(this.cancellation.await(pending.poll()))) {
+                    return queried;
+                }
+            }
+
+            return queried;
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private BoundStatement bind(PreparedStatement prepared, Object key, CodecRegistry codecRegistry) {
+        List<?> values = key instanceof List<?> list ? list : List.of(key);
+        ColumnDefinitions variables = prepared.getVariableDefinitions();
+
+        if (values.size() != variables.size()) {
+            throw new IllegalArgumentException("Key " + key + " has " + values.size() + " values, but the query has " +
+                variables.size() + " bind markers");
+        }
+
+        Object[] bound = new Object[values.size()];
+        for (int i = 0; i < bound.length; i++) {
+            bound[i] = CqlValues.coerce(values.get(i), variables.get(i).getType(), codecRegistry);
+        }
+
+        return prepared.bind(bound);
+    }
+
+    private static CompletionStage<List<Map<String, Object>>> collect(AsyncResultSet rs, List<Map<String, Object>> rows, boolean firstRow) {
+        ColumnDefinitions columnDefinitions = rs.getColumnDefinitions();
+        for (Row row : rs.currentPage()) {
+            rows.add(AbstractQuery.convertRow(row, columnDefinitions));
+
+            if (firstRow) {
+                return CompletableFuture.completedFuture(rows);
+            }
+        }
+
+        if (rs.hasMorePages()) {
+            return rs.fetchNextPage().thenCompose(next -> collect(next, rows, firstRow));
+        }
+
+        return CompletableFuture.completedFuture(rows);
+    }
+
+    /**
+     * Writes a key result to a local file, read back by {@link #mergeFiles}.
+     */
+    private File spill(List<Map<String, Object>> rows) throws IOException {
+        File file = runContext.workingDir().createTempFile(".ion").toFile();
+
+        try (var output = new BufferedOutputStream(new FileOutputStream(file), FileSerde.BUFFER_SIZE)) {
+            for (Map<String, Object> row : rows) {
+                FileSerde.write(output, row);
+            }
+        }
+
+        return file;
+    }
+
+    /**
+     * K-way merge of sorted files streamed into the output, in several passes of at most {@link #MERGE_FAN_IN} files
+     * so the number of open files stays bounded.
+     *
+     * @return the number of rows written
+     */
+    private long mergeFiles(List<File> files, Comparator<Map<String, Object>> comparator, OutputStream output) throws IOException {
+        List<File> current = new ArrayList<>(files);
+
+        while (current.size() > MERGE_FAN_IN) {
+            List<File> next = new ArrayList<>();
+
+            for (int i = 0; i < current.size(); i += MERGE_FAN_IN) {
+                List<File> group = current.subList(i, Math.min(i + MERGE_FAN_IN, current.size()));
+                File merged = runContext.workingDir().createTempFile(".ion").toFile();
+
+                try (var stream = new BufferedOutputStream(new FileOutputStream(merged), FileSerde.BUFFER_SIZE)) {
+                    mergeStreams(group, comparator, stream);
+                }
+
+                group.forEach(File::delete);
+                next.add(merged);
+                files.add(merged);
+            }
+
+            current = next;
+        }
+
+        return mergeStreams(current, comparator, output);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long mergeStreams(List<File> files, Comparator<Map<String, Object>> comparator, OutputStream output) throws IOException {
+        record Cursor(Iterator<Object> rows, Map<String, Object> current) {
+        }
+
+        List<BufferedReader> readers = new ArrayList<>(files.size());
+        try {
+            PriorityQueue<Cursor> queue = new PriorityQueue<>(Math.max(1, files.size()), Comparator.comparing(Cursor::current, comparator));
+            for (File file : files) {
+                BufferedReader reader = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8), FileSerde.BUFFER_SIZE);
+                readers.add(reader);
+
+                Iterator<Object> rows = FileSerde.readAll(reader).toIterable(MERGE_PREFETCH).iterator();
+                if (rows.hasNext()) {
+                    queue.add(new Cursor(rows, (Map<String, Object>) rows.next()));
+                }
+            }
+
+            long count = 0;
+            while (!queue.isEmpty()) {
+                Cursor cursor = queue.poll();
+                FileSerde.write(output, cursor.current());
+                count++;
+
+                if (cursor.rows().hasNext()) {
+                    queue.add(new Cursor(cursor.rows(), (Map<String, Object>) cursor.rows().next()));
+                }
+            }
+
+            return count;
+        } finally {
+            for (BufferedReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResultConsumer {
+        /**
+         * @return {@code false} to stop querying the next keys
+         */
+        boolean accept(List<Map<String, Object>> rows) throws Exception;
+    }
+
+    /**
+     * Builds the row comparator of {@code mergeOrder}, a list of columns optionally suffixed by {@code ASC} or {@code DESC}.
+     */
+    @SuppressWarnings("unchecked")
+    static Comparator<Map<String, Object>> comparator(List<String> mergeOrder) {
+        Comparator<Map<String, Object>> comparator = null;
+
+        for (String order : mergeOrder) {
+            String[] parts = order.trim().split("\\s+");
+            String column = parts[0];
+            boolean descending = parts.length > 1 && parts[1].equalsIgnoreCase("DESC");
+
+            Comparator<Map<String, Object>> current = Comparator.comparing(
+                row -> (Comparable<Object>) row.get(column),
+                Comparator.nullsFirst(Comparator.naturalOrder())
+            );
+            current = descending ? current.reversed() : current;
+            comparator = comparator == null ? current : comparator.thenComparing(current);
+        }
+
+        return comparator;
+    }
+
+    /**
+     * K-way merge of results that are each already sorted with {@code comparator}.
+     */
+    static List<Map<String, Object>> merge(List<List<Map<String, Object>>> results, Comparator<Map<String, Object>> comparator) {
+        record Cursor(List<Map<String, Object>> rows, int index) {
+            Map<String, Object> current() {
+                return rows.get(index);
+            }
+        }
+
+        PriorityQueue<Cursor> queue = new PriorityQueue<>(Math.max(1, results.size()), Comparator.comparing(Cursor::current, comparator));
+        int size = 0;
+        for (List<Map<String, Object>> rows : results) {
+            size += rows.size();
+            if (!rows.isEmpty()) {
+                queue.add(new Cursor(rows, 0));
+            }
+        }
+
+        List<Map<String, Object>> merged = new ArrayList<>(size);
+        while (!queue.isEmpty()) {
+            Cursor cursor = queue.poll();
+            merged.add(cursor.current());
+
+            if (cursor.index() + 1 < cursor.rows().size()) {
+                queue.add(new Cursor(cursor.rows(), cursor.index() + 1));
+            }
+        }
+
+        return merged;
+    }
+}
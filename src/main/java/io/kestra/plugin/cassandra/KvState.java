@@ -0,0 +1,60 @@
+package io.kestra.plugin.cassandra;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import io.kestra.core.exceptions.ResourceExpiredException;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+
+/**
+ * Small wrapper around the namespace KV store used to persist plugin state (checkpoints, caches, cursors)
+ * between task attempts and trigger evaluations.
+ */
+final class KvState {
+    private KvState() {
+    }
+
+    static String key(String... parts) {
+        return Arrays.stream(parts)
+            .map(part -> part.replaceAll("[^a-zA-Z0-9._-]", "_"))
+            .collect(Collectors.joining("_"));
+    }
+
+    static Optional<Object> get(RunContext runContext, String key) throws IOException {
+        try {
+            return store(runContext).getValue(key).map(KVValue::value);
+        } catch (ResourceExpiredException e) {
+            return Optional.empty();
+        }
+    }
+
+    static void put(RunContext runContext, String key, Object value, Duration ttl) throws IOException {
+        store(runContext).put(key, new KVValueAndMetadata(new KVMetadata("Cassandra plugin state", ttl), value));
+    }
+
+    static void delete(RunContext runContext, String key) throws IOException {
+        store(runContext).delete(key);
+    }
+
+    /**
+     * The id of the current task run, shared by all the attempts of a task, or {@code null} outside of a task.
+     */
+    @SuppressWarnings("unchecked")
+    static String taskRunId(RunContext runContext) {
+        Object taskRun = runContext.getVariables().get("taskrun");
+
+        return taskRun instanceof Map ? (String) ((Map<String, Object>) taskRun).get("id") : null;
+    }
+
+    private static KVStore store(RunContext runContext) {
+        return runContext.namespaceKv(runContext.flowInfo().namespace());
+    }
+}
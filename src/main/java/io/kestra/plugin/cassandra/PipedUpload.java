@@ -0,0 +1,73 @@
+package io.kestra.plugin.cassandra;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.net.URI;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import io.kestra.core.runners.RunContext;
+
+/**
+ * Uploads a file to the internal storage while it is being written: the writer streams through a bounded in-memory
+ * pipe read by an upload thread, so the upload runs alongside the scan and no copy of the file is kept on local disk.
+ * A slow storage applies back-pressure to the writer once the pipe buffer is full.
+ */
+class PipedUpload implements AutoCloseable {
+    static final int BUFFER_SIZE = 4 * 1024 * 1024;
+
+    private final PipedInputStream input;
+    private final PipedOutputStream output;
+    private final CompletableFuture<URI> upload = new CompletableFuture<>();
+    private final Thread thread;
+
+    PipedUpload(RunContext runContext, String extension) throws IOException {
+        this.input = new PipedInputStream(BUFFER_SIZE);
+        this.output = new PipedOutputStream(this.input);
+
+        String name = UUID.randomUUID() + extension;
+        this.thread = new Thread(
+            () -> {
+                try (PipedInputStream stream = this.input) {
+                    this.upload.complete(runContext.storage().putFile(stream, name));
+                } catch (Throwable e) {
+                    this.upload.completeExceptionally(e);
+                }
+            },
+            "cassandra-upload-" + name
+        );
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    OutputStream output() {
+        return this.output;
+    }
+
+    /**
+     * Ends the file and waits for the upload to complete.
+     */
+    URI finish() throws Exception {
+        this.output.close();
+
+        try {
+            return this.upload.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception exception ? exception : e;
+        }
+    }
+
+    /**
+     * Aborts the upload if it did not finish, e.g. when the scan failed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!this.upload.isDone()) {
+            this.thread.interrupt();
+            this.input.close();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package io.kestra.plugin.cassandra;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Mergeable quantile sketch with bounded relative error: values are counted in logarithmic buckets, so any quantile
+ * is returned within {@link #RELATIVE_ACCURACY} of the exact value while memory only grows with the value range.
+ */
+class QuantileSketch {
+    static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private final NavigableMap<Integer, Long> positives = new TreeMap<>();
+    private final NavigableMap<Integer, Long> negatives = new TreeMap<>();
+    private long zeros = 0;
+    private long count = 0;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    void add(double value) {
+        if (value > 0) {
+            positives.merge(index(value), 1L, Long::sum);
+        } else if (value < 0) {
+            negatives.merge(index(-value), 1L, Long::sum);
+        } else {
+            zeros++;
+        }
+
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    void merge(QuantileSketch other) {
+        other.positives.forEach((index, bucket) -> positives.merge(index, bucket, Long::sum));
+        other.negatives.forEach((index, bucket) -> negatives.merge(index, bucket, Long::sum));
+        zeros += other.zeros;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    long count() {
+        return count;
+    }
+
+    Double max() {
+        return count == 0 ? null : max;
+    }
+
+    Double quantile(double quantile) {
+        if (count == 0) {
+            return null;
+        }
+
+        long rank = (long) Math.floor(quantile * (count - 1));
+        long seen = 0;
+
+        for (Map.Entry<Integer, Long> bucket : negatives.descendingMap().entrySet()) {
+            seen += bucket.getValue();
+            if (seen > rank) {
+                return Math.max(min, -value(bucket.getKey()));
+            }
+        }
+
+        seen += zeros;
+        if (seen > rank) {
+            return 0D;
+        }
+
+        for (Map.Entry<Integer, Long> bucket : positives.entrySet()) {
+            seen += bucket.getValue();
+            if (seen > rank) {
+                return Math.min(max, value(bucket.getKey()));
+            }
+        }
+
+        return max;
+    }
+
+    Map<String, Double> quantiles(List<Double> quantiles) {
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (Double quantile : quantiles) {
+            result.put("p" + BigDecimal.valueOf(quantile * 100).stripTrailingZeros().toPlainString(), quantile(quantile));
+        }
+
+        return result;
+    }
+
+    private static int index(double value) {
+        return (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+    }
+
+    private static double value(int index) {
+        return 2 * Math.pow(GAMMA, index) / (GAMMA + 1);
+    }
+}
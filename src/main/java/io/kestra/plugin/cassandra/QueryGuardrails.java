@@ -0,0 +1,355 @@
+package io.kestra.plugin.cassandra;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.DriverException;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.IndexMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Checks a SELECT against the schema metadata before it is executed: which restrictions reach the partition key
+ * decides whether it reads a single partition, several partitions or the whole table, and the size estimates of the
+ * table give an order of magnitude of what it reads.
+ */
+@Getter
+@Builder
+public class QueryGuardrails {
+    private static final String IDENTIFIER = "(?:\"(?:[^\"]|\"\")+\"|\\w+)";
+
+    private static final Pattern SELECT = Pattern.compile(
+        "^\\s*SELECT\\s+.+?\\s+FROM\\s+(" + IDENTIFIER + "(?:\\s*\\.\\s*" + IDENTIFIER + ")?)" +
+            "(?:\\s+WHERE\\s+(.+?))?" +
+            "(?:\\s+GROUP\\s+BY\\s+.+?)?" +
+            "(?:\\s+ORDER\\s+BY\\s+.+?)?" +
+            "(?:\\s+PER\\s+PARTITION\\s+LIMIT\\s+\\S+)?" +
+            "(?:\\s+LIMIT\\s+(\\S+))?" +
+            "(\\s+ALLOW\\s+FILTERING)?\\s*$",
+        Pattern.CASE_INSENSITIVE | Pattern.DOTALL
+    );
+
+    private static final Pattern TABLE = Pattern.compile("(" + IDENTIFIER + ")(?:\\s*\\.\\s*(" + IDENTIFIER + "))?");
+
+    private static final Pattern CONDITION = Pattern.compile(
+        "^\\s*(token\\s*\\(.*?\\)|" + IDENTIFIER + ")\\s*(=|IN\\b|CONTAINS\\s+KEY\\b|CONTAINS\\b|LIKE\\b|<=|>=|!=|<|>)\\s*(.*?)\\s*$",
+        Pattern.CASE_INSENSITIVE | Pattern.DOTALL
+    );
+
+    private static final Pattern INDEX_TARGET = Pattern.compile("^\\w+\\((.+)\\)$");
+
+    @Schema(
+        title = "What to do with a query breaking a guardrail",
+        description = "WARN - log the violations and run the query.\n"
+            + "BLOCK - fail the task before anything is executed."
+    )
+    @Builder.Default
+    @PluginProperty(group = "main")
+    private Property<Policy> policy = Property.ofValue(Policy.WARN);
+
+    @Schema(
+        title = "Maximum estimated number of partitions a query may read",
+        description = "Estimated from the partition key restrictions, or from `system.size_estimates` for range, index " +
+            "and full scans. Not checked if not set; full scans without `LIMIT` and `ALLOW FILTERING` over several " +
+            "partitions are always reported."
+    )
+    @PluginProperty(group = "main")
+    private Property<Long> maxPartitions;
+
+    /**
+     * Analyzes the query, emits its estimates as metrics and applies the policy to its violations. Statements other
+     * than SELECT, or on tables missing from the metadata, are not checked.
+     */
+    void check(RunContext runContext, CqlSession session, String cql) throws IllegalVariableEvaluationException {
+        Optional<Analysis> analysis = analyze(session, cql);
+        if (analysis.isEmpty()) {
+            runContext.logger().debug("Guardrails skipped, the statement is not a SELECT on a known table");
+            return;
+        }
+
+        Analysis result = analysis.get();
+        if (result.partitions() != null) {
+            runContext.metric(Counter.of("guardrail.partitions", result.partitions()));
+        }
+        if (result.rows() != null) {
+            runContext.metric(Counter.of("guardrail.rows", result.rows()));
+        }
+
+        List<String> violations = new ArrayList<>();
+        if (result.allowFiltering() && result.scope() != Scope.SINGLE_PARTITION) {
+            violations.add("uses ALLOW FILTERING over " + (result.scope() == Scope.FULL_SCAN ? "the whole table" : "several partitions"));
+        }
+        if (result.scope() == Scope.FULL_SCAN && !result.limited()) {
+            violations.add("scans the whole table without LIMIT, no partition key restriction");
+        }
+
+        Long rMaxPartitions = runContext.render(this.maxPartitions).as(Long.class).orElse(null);
+        if (rMaxPartitions != null && result.partitions() != null && result.partitions() > rMaxPartitions) {
+            violations.add("reads about " + result.partitions() + " partitions, above the limit of " + rMaxPartitions);
+        }
+
+        runContext.logger().info(
+            "Query on '{}' is a {} read, about {} partitions and {} rows",
+            result.table(),
+            result.scope(),
+            result.partitions() == null ? "unknown" : result.partitions(),
+            result.rows() == null ? "unknown" : result.rows()
+        );
+
+        if (violations.isEmpty()) {
+            return;
+        }
+
+        runContext.metric(Counter.of("guardrail.violations", violations.size()));
+        String message = "Query on '" + result.table() + "' " + String.join("; ", violations);
+
+        if (runContext.render(this.policy).as(Policy.class).orElseThrow() == Policy.BLOCK) {
+            throw new IllegalArgumentException(message + ". Blocked by the guardrails policy");
+        }
+
+        runContext.logger().warn(message);
+    }
+
+    static Optional<Analysis> analyze(CqlSession session, String cql) {
+        String statement = cql.strip();
+        if (statement.endsWith(";")) {
+            statement = statement.substring(0, statement.length() - 1);
+        }
+
+        Matcher select = SELECT.matcher(statement);
+        if (!select.matches()) {
+            return Optional.empty();
+        }
+
+        Matcher name = TABLE.matcher(select.group(1));
+        if (!name.matches()) {
+            return Optional.empty();
+        }
+
+        Optional<CqlIdentifier> keyspace = name.group(2) != null ? Optional.of(CqlIdentifier.fromCql(name.group(1))) : session.getKeyspace();
+        CqlIdentifier tableName = CqlIdentifier.fromCql(name.group(2) != null ? name.group(2) : name.group(1));
+        Optional<TableMetadata> table = keyspace
+            .flatMap(k -> session.getMetadata().getKeyspace(k))
+            .flatMap(k -> k.getTable(tableName));
+        if (table.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Set<CqlIdentifier> equal = new HashSet<>();
+        Map<CqlIdentifier, Integer> in = new HashMap<>();
+        boolean token = false;
+
+        for (String condition : select.group(2) == null ? List.<String>of() : conditions(select.group(2))) {
+            Matcher restriction = CONDITION.matcher(condition);
+            if (!restriction.matches()) {
+                continue;
+            }
+
+            if (restriction.group(1).regionMatches(true, 0, "token", 0, 5) && restriction.group(1).contains("(")) {
+                token = true;
+            } else if (restriction.group(2).equals("=")) {
+                equal.add(CqlIdentifier.fromCql(restriction.group(1)));
+            } else if (restriction.group(2).equalsIgnoreCase("IN")) {
+                in.put(CqlIdentifier.fromCql(restriction.group(1)), values(restriction.group(3)));
+            }
+        }
+
+        String limit = select.group(3);
+        Long rowLimit = null;
+        if (limit != null) {
+            try {
+                rowLimit = Long.parseLong(limit);
+            } catch (NumberFormatException e) {
+                // a bind marker, the query is still bounded
+            }
+        }
+
+        TableMetadata metadata = table.get();
+        Long partitions = 1L;
+        boolean keyed = true;
+        for (ColumnMetadata column : metadata.getPartitionKey()) {
+            if (equal.contains(column.getName())) {
+                continue;
+            }
+
+            Integer values = in.get(column.getName());
+            if (values == null) {
+                keyed = false;
+                break;
+            }
+            partitions = values < 0 || partitions == null ? null : partitions * values;
+        }
+
+        Scope scope;
+        if (keyed) {
+            scope = partitions != null && partitions == 1 ? Scope.SINGLE_PARTITION : Scope.MULTI_PARTITION;
+        } else {
+            scope = token || indexed(metadata, equal) ? Scope.MULTI_PARTITION : Scope.FULL_SCAN;
+            // an upper bound for range and index reads
+            partitions = estimatedPartitions(session, metadata);
+        }
+
+        Long rows = metadata.getClusteringColumns().isEmpty() ? partitions : null;
+        if (rowLimit != null) {
+            rows = rows == null ? rowLimit : Math.min(rows, rowLimit);
+        }
+
+        return Optional.of(new Analysis(
+            metadata.getKeyspace().asInternal() + "." + metadata.getName().asInternal(),
+            scope,
+            partitions,
+            rows,
+            limit != null,
+            select.group(4) != null
+        ));
+    }
+
+    /**
+     * Splits a WHERE clause on its top-level {@code AND}, outside of string literals and parentheses.
+     */
+    static List<String> conditions(String where) {
+        List<String> conditions = new ArrayList<>();
+        boolean quoted = false;
+        int depth = 0;
+        int start = 0;
+
+        for (int i = 0; i < where.length(); i++) {
+            char c = where.charAt(i);
+
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (!quoted && c == '(') {
+                depth++;
+            } else if (!quoted && c == ')') {
+                depth--;
+            } else if (!quoted && depth == 0 && Character.isWhitespace(c) && i + 4 < where.length() &&
+                where.regionMatches(true, i + 1, "AND", 0, 3) && Character.isWhitespace(where.charAt(i + 4))) {
+                conditions.add(where.substring(start, i));
+                start = i + 4;
+            }
+        }
+        conditions.add(where.substring(start));
+
+        return conditions;
+    }
+
+    /**
+     * The number of values of an {@code IN} list, or -1 for a bind marker.
+     */
+    private static int values(String list) {
+        String trimmed = list.strip();
+        if (!trimmed.startsWith("(")) {
+            return -1;
+        }
+
+        int values = 1;
+        boolean quoted = false;
+        int depth = 0;
+        for (int i = 1; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (!quoted && (c == '(' || c == '[' || c == '{')) {
+                depth++;
+            } else if (!quoted && (c == ')' || c == ']' || c == '}')) {
+                depth--;
+            } else if (!quoted && depth == 0 && c == ',') {
+                values++;
+            } else if (!quoted && depth == 0 && c == '?') {
+                return -1;
+            }
+        }
+
+        return values;
+    }
+
+    private static boolean indexed(TableMetadata table, Set<CqlIdentifier> restricted) {
+        for (IndexMetadata index : table.getIndexes().values()) {
+            Matcher target = INDEX_TARGET.matcher(index.getTarget());
+            String column = target.matches() ? target.group(1) : index.getTarget();
+
+            if (restricted.contains(CqlIdentifier.fromCql(column))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * The number of partitions of the table, extrapolated to the whole ring from the estimates of the token ranges
+     * of the coordinator.
+     */
+    private static Long estimatedPartitions(CqlSession session, TableMetadata table) {
+        try {
+            long partitions = 0;
+            double ring = 0;
+            boolean ranges = false;
+            boolean murmur3 = true;
+
+            for (Row row : session.execute(SimpleStatement.newInstance(
+                "SELECT range_start, range_end, partitions_count FROM system.size_estimates WHERE keyspace_name = ? AND table_name = ?",
+                table.getKeyspace().asInternal(),
+                table.getName().asInternal()
+            ))) {
+                ranges = true;
+                partitions += row.getLong("partitions_count");
+
+                try {
+                    long start = Long.parseLong(row.getString("range_start"));
+                    long end = Long.parseLong(row.getString("range_end"));
+                    ring += start == end ? 1 : ((end - start) >>> 1) / 0x1p63;
+                } catch (NumberFormatException e) {
+                    murmur3 = false;
+                }
+            }
+
+            if (!ranges) {
+                return null;
+            }
+
+            return murmur3 && ring > 0 ?
+                Math.round(partitions / Math.min(1, ring)) :
+                partitions * session.getMetadata().getNodes().size();
+        } catch (DriverException e) {
+            // size estimates are not readable, e.g. on Astra DB
+            return null;
+        }
+    }
+
+    public enum Policy {
+        WARN,
+        BLOCK
+    }
+
+    enum Scope {
+        SINGLE_PARTITION,
+        MULTI_PARTITION,
+        FULL_SCAN
+    }
+
+    record Analysis(String table, Scope scope, Long partitions, Long rows, boolean limited, boolean allowFiltering) {
+    }
+}
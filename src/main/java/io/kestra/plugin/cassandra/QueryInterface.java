@@ -54,4 +54,10 @@ public interface QueryInterface {
     Property<FetchType> getFetchType();
 
     CqlSession cqlSession(RunContext runContext) throws IllegalVariableEvaluationException;
+
+    /**
+     * A stable description of the cluster and credentials targeted by {@link #cqlSession(RunContext)}, used to key
+     * per-cluster state such as cached results. It holds the secrets in clear, so it's only ever used hashed.
+     */
+    String sessionIdentity(RunContext runContext) throws IllegalVariableEvaluationException;
 }
@@ -0,0 +1,140 @@
+package io.kestra.plugin.cassandra;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
+
+/**
+ * Merkle tree of the rows of a token range. The range is split evenly into leaves; a leaf holds the count and the
+ * order-independent sum of the hashes of its rows, and each inner node the hash of its two children. Two trees of the
+ * same range built on two tables are equal if the tables hold the same rows, and {@link #diff(RangeHashTree)} walks
+ * down only the differing branches to the leaves to read again.
+ */
+final class RangeHashTree {
+    private final List<TokenRange> leaves;
+    private final boolean unbounded;
+    private final long[] sums;
+    private final long[] counts;
+
+    /**
+     * @param leaves the contiguous sub-ranges of the range, in token order
+     * @param unbounded whether the last leaf extends to the end of the ring
+     */
+    RangeHashTree(List<TokenRange> leaves, boolean unbounded) {
+        this.leaves = leaves;
+        this.unbounded = unbounded;
+        this.sums = new long[leaves.size()];
+        this.counts = new long[leaves.size()];
+    }
+
+    List<TokenRange> leaves() {
+        return this.leaves;
+    }
+
+    boolean unbounded(int leaf) {
+        return this.unbounded && leaf == this.leaves.size() - 1;
+    }
+
+    void add(Token token, long hash) {
+        int leaf = this.leaf(token);
+        this.sums[leaf] += mix(hash);
+        this.counts[leaf]++;
+    }
+
+    /**
+     * The leaves whose rows differ between the two trees.
+     */
+    List<Integer> diff(RangeHashTree other) {
+        long[] mine = this.nodes();
+        long[] theirs = other.nodes();
+        List<Integer> leaves = new ArrayList<>();
+
+        diff(mine, theirs, 1, mine.length / 2, leaves);
+
+        return leaves;
+    }
+
+    private void diff(long[] mine, long[] theirs, int node, int firstLeaf, List<Integer> leaves) {
+        if (mine[node] == theirs[node]) {
+            return;
+        }
+
+        if (node >= firstLeaf) {
+            int leaf = node - firstLeaf;
+            if (leaf < this.leaves.size()) {
+                leaves.add(leaf);
+            }
+            return;
+        }
+
+        diff(mine, theirs, 2 * node, firstLeaf, leaves);
+        diff(mine, theirs, 2 * node + 1, firstLeaf, leaves);
+    }
+
+    /**
+     * The tree as a heap array: the root at index 1, the children of node {@code i} at {@code 2i} and {@code 2i + 1}
+     * and the leaves, padded to a power of two, at the end.
+     */
+    private long[] nodes() {
+        int width = Integer.highestOneBit(Math.max(1, this.leaves.size() - 1)) << 1;
+        long[] nodes = new long[2 * width];
+
+        for (int i = 0; i < this.leaves.size(); i++) {
+            nodes[width + i] = mix(this.sums[i] ^ mix(this.counts[i]));
+        }
+        for (int i = width - 1; i > 0; i--) {
+            nodes[i] = mix(nodes[2 * i] * 31 + nodes[2 * i + 1]);
+        }
+
+        return nodes;
+    }
+
+    private int leaf(Token token) {
+        int low = 0;
+        int high = this.leaves.size() - 1;
+
+        // first leaf whose end is at or after the token, the ranges being (start, end]
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.leaves.get(middle).getEnd().compareTo(token) >= 0) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of serialized values, each prefixed with its length so that value boundaries count.
+     */
+    static long hash(ByteBuffer[] values) {
+        long hash = 0xcbf29ce484222325L;
+
+        for (ByteBuffer value : values) {
+            int length = value == null ? -1 : value.remaining();
+            for (int shift = 0; shift < 32; shift += 8) {
+                hash = (hash ^ ((length >>> shift) & 0xff)) * 0x100000001b3L;
+            }
+
+            if (value != null) {
+                for (int i = value.position(); i < value.limit(); i++) {
+                    hash = (hash ^ (value.get(i) & 0xff)) * 0x100000001b3L;
+                }
+            }
+        }
+
+        return hash;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,86 @@
+package io.kestra.plugin.cassandra;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+
+/**
+ * Scans the token ranges of a table in parallel, one prepared token-restricted query per range, handing each range
+ * result to a callback running on a bounded thread pool.
+ */
+class RangeScanner {
+    private final CqlSession session;
+    private final PreparedStatement bounded;
+    private final PreparedStatement unbounded;
+    private final Integer pageSize;
+
+    /**
+     * @param select the select clause of the query, for example {@code SELECT id, name}
+     */
+    RangeScanner(CqlSession session, TableMetadata table, String select, Integer pageSize) {
+        this(session, table, select, null, pageSize);
+    }
+
+    /**
+     * @param select the select clause of the query, for example {@code SELECT id, name}
+     * @param restriction an additional CQL restriction filtering the rows of each range server-side, or {@code null}
+     */
+    RangeScanner(CqlSession session, TableMetadata table, String select, String restriction, Integer pageSize) {
+        String from = select + " FROM " + table.getKeyspace().asCql(true) + "." + table.getName().asCql(true) +
+            " WHERE " + TokenRanges.tokenFunction(table) + " > ?";
+        String filter = restriction == null ? "" : " AND " + restriction + " ALLOW FILTERING";
+
+        this.session = session;
+        this.unbounded = session.prepare(from + filter);
+        this.bounded = session.prepare(from + " AND " + TokenRanges.tokenFunction(table) + " <= ?" + filter);
+        this.pageSize = pageSize;
+    }
+
+    @FunctionalInterface
+    interface RangeTask<T> {
+        T run(int index, TokenRanges.Split split, ResultSet rows) throws Exception;
+    }
+
+    <T> List<T> scan(List<TokenRanges.Split> splits, int parallelism, RangeTask<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < splits.size(); i++) {
+                int index = i;
+                TokenRanges.Split split = splits.get(i);
+                futures.add(executor.submit(() -> task.run(index, split, session.execute(this.statement(split)))));
+            }
+
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception exception ? exception : e;
+                }
+            }
+
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    BoundStatement statement(TokenRanges.Split split) {
+        BoundStatement statement = split.end() == null ?
+            this.unbounded.bind().setToken(0, split.start()) :
+            this.bounded.bind().setToken(0, split.start()).setToken(1, split.end());
+
+        return this.pageSize == null ? statement : statement.setPageSize(this.pageSize);
+    }
+}
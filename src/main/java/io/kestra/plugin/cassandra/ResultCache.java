@@ -0,0 +1,178 @@
+package io.kestra.plugin.cassandra;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ResultCache {
+    private static final int MEMORY_ENTRIES = 1024;
+
+    private static final long MEMORY_BYTES = 64L * 1024 * 1024;
+
+    // guarded by itself, in access order for the LRU eviction
+    private static final LinkedHashMap<String, MemoryEntry> MEMORY = new LinkedHashMap<>(16, 0.75f, true);
+
+    private static long memoryBytes = 0;
+
+    @Schema(
+        title = "How long a cached result stays valid"
+    )
+    @Builder.Default
+    @PluginProperty(group = "main")
+    private Property<Duration> ttl = Property.ofValue(Duration.ofMinutes(5));
+
+    @Schema(
+        title = "Maximum number of rows of a cacheable result",
+        description = "Results with more rows are returned but not cached."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Integer> maxRows = Property.ofValue(10_000);
+
+    @Schema(
+        title = "Where cached results are kept",
+        description = "MEMORY - in-process LRU cache, local to each worker and bounded to 1024 results and about 64 MiB; " +
+            "a result estimated above 8 MiB is not cached.\n"
+            + "KV - namespace KV store, shared by all workers; cached values are read back with their JSON types."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Type> type = Property.ofValue(Type.MEMORY);
+
+    /**
+     * The cache key of a query: the session identity holds the credentials, and the tenant and namespace keep flows
+     * that can't read each other's results apart, even when they share a worker and a cluster.
+     */
+    static String key(RunContext runContext, String sessionIdentity, FetchType fetchType, AbstractQuery.RowFormat rowFormat, String cql) {
+        return digest(
+            runContext.flowInfo().tenantId(),
+            runContext.flowInfo().namespace(),
+            sessionIdentity,
+            fetchType.name(),
+            rowFormat.name(),
+            cql
+        );
+    }
+
+    /**
+     * A SHA-256 of the parts, so that keys derived from a session identity never hold its secrets in clear.
+     */
+    static String digest(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                if (part != null) {
+                    digest.update(part.getBytes(StandardCharsets.UTF_8));
+                }
+                digest.update((byte) 0);
+            }
+
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    Optional<AbstractQuery.Output> get(RunContext runContext, String key) throws Exception {
+        if (runContext.render(this.type).as(Type.class).orElseThrow() == Type.MEMORY) {
+            synchronized (MEMORY) {
+                MemoryEntry entry = MEMORY.get(key);
+                if (entry == null || entry.expiresAt().isBefore(Instant.now())) {
+                    return Optional.empty();
+                }
+
+                return Optional.of(entry.output());
+            }
+        }
+
+        return KvState.get(runContext, KvState.key("cassandra-cache", key))
+            .map(value -> (Map<String, Object>) value)
+            .map(value -> AbstractQuery.Output.builder()
+                .row((Map<String, Object>) value.get("row"))
+                .rows((List<Map<String, Object>>) value.get("rows"))
+                .columns((List<String>) value.get("columns"))
+                .values((List<List<Object>>) value.get("values"))
+                .size(value.get("size") == null ? null : ((Number) value.get("size")).longValue())
+                .build()
+            );
+    }
+
+    void put(RunContext runContext, String key, AbstractQuery.Output output) throws Exception {
+        if (output.getSize() != null && output.getSize() > runContext.render(this.maxRows).as(Integer.class).orElseThrow()) {
+            return;
+        }
+
+        Duration rTtl = runContext.render(this.ttl).as(Duration.class).orElseThrow();
+
+        if (runContext.render(this.type).as(Type.class).orElseThrow() == Type.MEMORY) {
+            long bytes = estimate(output.getRow()) + estimate(output.getRows()) + estimate(output.getColumns()) + estimate(output.getValues());
+            if (bytes > MEMORY_BYTES / 8) {
+                return;
+            }
+
+            synchronized (MEMORY) {
+                MemoryEntry previous = MEMORY.put(key, new MemoryEntry(output, Instant.now().plus(rTtl), bytes));
+                memoryBytes += bytes - (previous == null ? 0 : previous.bytes());
+
+                Iterator<MemoryEntry> eldest = MEMORY.values().iterator();
+                while (MEMORY.size() > MEMORY_ENTRIES || memoryBytes > MEMORY_BYTES) {
+                    memoryBytes -= eldest.next().bytes();
+                    eldest.remove();
+                }
+            }
+            return;
+        }
+
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("row", output.getRow());
+        value.put("rows", output.getRows());
+        value.put("columns", output.getColumns());
+        value.put("values", output.getValues());
+        value.put("size", output.getSize());
+
+        KvState.put(runContext, KvState.key("cassandra-cache", key), value, rTtl);
+    }
+
+    /**
+     * A rough heap size of a result, enough to bound the memory cache: it counts the values, not the exact layout.
+     */
+    static long estimate(Object value) {
+        return switch (value) {
+            case null -> 8;
+            case String string -> 48 + 2L * string.length();
+            case byte[] bytes -> 24 + bytes.length;
+            case Map<?, ?> map -> 64 + map.entrySet().stream().mapToLong(entry -> 32 + estimate(entry.getKey()) + estimate(entry.getValue())).sum();
+            case Collection<?> collection -> 48 + collection.stream().mapToLong(ResultCache::estimate).sum();
+            default -> 32;
+        };
+    }
+
+    public enum Type {
+        MEMORY,
+        KV
+    }
+
+    private record MemoryEntry(AbstractQuery.Output output, Instant expiresAt, long bytes) {
+    }
+}
@@ -0,0 +1,167 @@
+package io.kestra.plugin.cassandra;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Bounded set of 64-bit row fingerprints, evicted oldest first either when full or once older than a maximum age.
+ * Fingerprints are kept in primitive arrays: a ring buffer holding insertion order and an open-addressing index for
+ * lookups, so memory and serialized size only depend on the capacity.
+ */
+class SeenSet {
+    private static final long EMPTY = 0L;
+
+    private final int capacity;
+    private final long[] fingerprints;
+    private final long[] seenAt;
+    private int head = 0;
+    private int size = 0;
+
+    private final long[] index;
+    private final int mask;
+
+    SeenSet(int capacity) {
+        this.capacity = capacity;
+        this.fingerprints = new long[capacity];
+        this.seenAt = new long[capacity];
+
+        int indexSize = Integer.highestOneBit(Math.max(capacity, 2) * 2 - 1) << 1;
+        this.index = new long[indexSize];
+        this.mask = indexSize - 1;
+    }
+
+    static long fingerprint(List<Object> values) {
+        long hash = 0xcbf29ce484222325L;
+
+        for (Object value : values) {
+            byte[] bytes = value instanceof byte[] array ? array : String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+            for (byte b : bytes) {
+                hash ^= b;
+                hash *= 0x100000001b3L;
+            }
+            hash ^= 0xff;
+            hash *= 0x100000001b3L;
+        }
+
+        // murmur3 finalizer, FNV alone mixes the high bits poorly
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+
+        return hash == EMPTY ? 1L : hash;
+    }
+
+    /**
+     * @return {@code true} if the fingerprint was not already in the set
+     */
+    boolean add(long fingerprint, long now, long maxAge) {
+        this.evictOlderThan(now - maxAge);
+
+        if (this.contains(fingerprint)) {
+            return false;
+        }
+
+        if (this.size == this.capacity) {
+            this.evictOldest();
+        }
+
+        int tail = (this.head + this.size) % this.capacity;
+        this.fingerprints[tail] = fingerprint;
+        this.seenAt[tail] = now;
+        this.size++;
+        this.indexInsert(fingerprint);
+
+        return true;
+    }
+
+    boolean contains(long fingerprint) {
+        for (int slot = slot(fingerprint); this.index[slot] != EMPTY; slot = (slot + 1) & this.mask) {
+            if (this.index[slot] == fingerprint) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(this.size * 2 * Long.BYTES);
+
+        for (int i = 0; i < this.size; i++) {
+            int position = (this.head + i) % this.capacity;
+            buffer.putLong(this.fingerprints[position]);
+            buffer.putLong(this.seenAt[position]);
+        }
+
+        return Base64.getEncoder().encodeToString(buffer.array());
+    }
+
+    static SeenSet decode(String encoded, int capacity) {
+        SeenSet set = new SeenSet(capacity);
+
+        if (encoded != null) {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(encoded));
+            while (buffer.remaining() >= 2 * Long.BYTES) {
+                long fingerprint = buffer.getLong();
+                long seenAt = buffer.getLong();
+                set.add(fingerprint, seenAt, Long.MAX_VALUE);
+            }
+        }
+
+        return set;
+    }
+
+    private void evictOlderThan(long threshold) {
+        while (this.size > 0 && this.seenAt[this.head] < threshold) {
+            this.evictOldest();
+        }
+    }
+
+    private void evictOldest() {
+        this.indexRemove(this.fingerprints[this.head]);
+        this.head = (this.head + 1) % this.capacity;
+        this.size--;
+    }
+
+    private int slot(long fingerprint) {
+        return (int) (fingerprint ^ (fingerprint >>> 32)) & this.mask;
+    }
+
+    private void indexInsert(long fingerprint) {
+        int slot = slot(fingerprint);
+        while (this.index[slot] != EMPTY) {
+            slot = (slot + 1) & this.mask;
+        }
+        this.index[slot] = fingerprint;
+    }
+
+    private void indexRemove(long fingerprint) {
+        int slot = slot(fingerprint);
+        while (this.index[slot] != fingerprint) {
+            if (this.index[slot] == EMPTY) {
+                return;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+
+        // backward shift deletion keeps probe sequences intact without tombstones
+        int next = (slot + 1) & this.mask;
+        while (this.index[next] != EMPTY) {
+            int ideal = slot(this.index[next]);
+            if (((next - ideal) & this.mask) >= ((next - slot) & this.mask)) {
+                this.index[slot] = this.index[next];
+                slot = next;
+            }
+            next = (next + 1) & this.mask;
+        }
+        this.index[slot] = EMPTY;
+    }
+}
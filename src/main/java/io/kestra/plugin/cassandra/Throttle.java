@@ -0,0 +1,36 @@
+package io.kestra.plugin.cassandra;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces out operations to stay under a fixed rate, shared by all the threads of a task.
+ */
+final class Throttle {
+    private final long interval;
+    private long next = System.nanoTime();
+
+    Throttle(double perSecond) {
+        if (perSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive, got " + perSecond);
+        }
+
+        this.interval = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+    }
+
+    /**
+     * Blocks until the next operation is allowed.
+     */
+    void acquire() throws InterruptedException {
+        long slot;
+        synchronized (this) {
+            long now = System.nanoTime();
+            slot = Math.max(next, now);
+            next = slot + interval;
+        }
+
+        long wait = slot - System.nanoTime();
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+}
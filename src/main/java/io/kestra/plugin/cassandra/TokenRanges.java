@@ -0,0 +1,200 @@
+package io.kestra.plugin.cassandra;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
+import com.datastax.oss.driver.api.core.servererrors.QueryValidationException;
+
+import io.kestra.core.runners.RunContext;
+
+/**
+ * Splits the token ring of a table into contiguous ranges of similar estimated size, used by the tasks scanning a
+ * whole table range by range.
+ */
+final class TokenRanges {
+    private TokenRanges() {
+    }
+
+    /**
+     * A contiguous range of tokens {@code (start, end]}; a {@code null} end means up to the end of the ring.
+     */
+    record Split(Token start, Token end, long estimatedPartitions, Set<Node> replicas) {
+    }
+
+    private record Piece(TokenRange origin, Token start, Token end, double weight) {
+    }
+
+    static TableMetadata table(CqlSession session, String keyspace, String table) {
+        return session.getMetadata().getKeyspace(keyspace)
+            .flatMap(k -> k.getTable(table))
+            .orElseThrow(() -> new IllegalArgumentException("Table '" + keyspace + "." + table + "' doesn't exist"));
+    }
+
+    static TokenMap tokenMap(CqlSession session) {
+        return session.getMetadata().getTokenMap()
+            .orElseThrow(() -> new IllegalStateException("Token metadata is not available, is token metadata disabled in the driver configuration?"));
+    }
+
+    static List<Split> plan(RunContext runContext, CqlSession session, String keyspace, String table, int splits) {
+        TokenMap tokenMap = tokenMap(session);
+        Map<String, Long> estimates = estimates(runContext, session, keyspace, table);
+        Set<TokenRange> ranges = tokenMap.getTokenRanges();
+
+        double average = estimates.isEmpty() ? 1 : estimates.values().stream().mapToLong(Long::longValue).average().orElse(1);
+        Map<TokenRange, Double> weights = new HashMap<>();
+        for (TokenRange range : ranges) {
+            weights.put(range, estimates.getOrDefault(tokenMap.format(range.getStart()), Math.round(average)).doubleValue());
+        }
+        double total = weights.values().stream().mapToDouble(Double::doubleValue).sum();
+
+        List<Piece> pieces = new ArrayList<>();
+        for (TokenRange range : ranges) {
+            int count = ranges.size() >= splits ? 1 : (int) Math.max(1, Math.round(splits * weights.get(range) / total));
+
+            for (TokenRange split : count == 1 ? List.of(range) : range.splitEvenly(count)) {
+                List<TokenRange> unwrapped = split.unwrap();
+                for (TokenRange part : unwrapped) {
+                    pieces.add(new Piece(range, part.getStart(), part.getEnd(), weights.get(range) / count / unwrapped.size()));
+                }
+            }
+        }
+
+        // the piece ending at the minimum token covers the end of the ring
+        Token minToken = pieces.stream().map(Piece::start).min(Comparator.naturalOrder()).orElseThrow();
+        pieces.sort(Comparator.comparing(Piece::start));
+
+        CqlIdentifier keyspaceId = CqlIdentifier.fromCql(keyspace);
+        double target = total / splits;
+        List<Split> result = new ArrayList<>();
+
+        int index = 0;
+        while (index < pieces.size()) {
+            Piece first = pieces.get(index);
+            Piece largest = first;
+            double weight = 0;
+            Piece last;
+
+            do {
+                last = pieces.get(index);
+                weight += last.weight();
+                largest = last.weight() > largest.weight() ? last : largest;
+                index++;
+            } while (index < pieces.size() && weight + pieces.get(index).weight() / 2 <= target);
+
+            result.add(new Split(
+                first.start(),
+                last.end().equals(minToken) ? null : last.end(),
+                Math.round(weight),
+                tokenMap.getReplicas(keyspaceId, largest.origin())
+            ));
+        }
+
+        return result;
+    }
+
+    /**
+     * The minimum token of the partitioner, which as the end of a range stands for the end of the ring.
+     */
+    static Token minToken(TokenMap tokenMap) {
+        return tokenMap.getTokenRanges().stream()
+            .flatMap(range -> range.unwrap().stream())
+            .map(TokenRange::getStart)
+            .min(Comparator.naturalOrder())
+            .orElseThrow();
+    }
+
+    /**
+     * The splits as plain values, to be saved in a checkpoint and read back with {@link #restore}.
+     */
+    static List<Map<String, Object>> save(TokenMap tokenMap, List<Split> splits) {
+        List<Map<String, Object>> saved = new ArrayList<>(splits.size());
+
+        for (Split split : splits) {
+            Map<String, Object> value = new LinkedHashMap<>();
+            value.put("start", tokenMap.format(split.start()));
+            if (split.end() != null) {
+                value.put("end", tokenMap.format(split.end()));
+            }
+            value.put("partitions", split.estimatedPartitions());
+            saved.add(value);
+        }
+
+        return saved;
+    }
+
+    /**
+     * Reads back the splits saved with {@link #save}, so that a resumed scan works on exactly the same ranges even if
+     * the size estimates changed since; the replicas are resolved again from the current ring.
+     */
+    static List<Split> restore(TokenMap tokenMap, String keyspace, List<?> saved) {
+        CqlIdentifier keyspaceId = CqlIdentifier.fromCql(keyspace);
+        Token minToken = minToken(tokenMap);
+        List<Split> splits = new ArrayList<>(saved.size());
+
+        for (Object value : saved) {
+            Map<?, ?> split = (Map<?, ?>) value;
+            Token start = tokenMap.parse((String) split.get("start"));
+            Token end = split.get("end") == null ? null : tokenMap.parse((String) split.get("end"));
+
+            splits.add(new Split(
+                start,
+                end,
+                ((Number) split.get("partitions")).longValue(),
+                tokenMap.getReplicas(keyspaceId, tokenMap.newTokenRange(start, end == null ? minToken : end))
+            ));
+        }
+
+        return splits;
+    }
+
+    static String tokenFunction(TableMetadata table) {
+        return "token(" + table.getPartitionKey().stream()
+            .map(ColumnMetadata::getName)
+            .map(name -> name.asCql(true))
+            .collect(Collectors.joining(", ")) + ")";
+    }
+
+    /**
+     * The CQL restriction selecting the rows of the split, with the tokens inlined as literals.
+     */
+    static String where(TokenMap tokenMap, TableMetadata table, Split split) {
+        String function = tokenFunction(table);
+        String where = function + " > " + tokenMap.format(split.start());
+
+        return split.end() == null ? where : where + " AND " + function + " <= " + tokenMap.format(split.end());
+    }
+
+    private static Map<String, Long> estimates(RunContext runContext, CqlSession session, String keyspace, String table) {
+        Map<String, Long> estimates = new HashMap<>();
+
+        try {
+            for (Row row : session.execute(
+                "SELECT range_start, partitions_count FROM system.size_estimates WHERE keyspace_name = ? AND table_name = ?",
+                keyspace,
+                table
+            )) {
+                estimates.merge(row.getString("range_start"), row.getLong("partitions_count"), Long::sum);
+            }
+        } catch (QueryValidationException e) {
+            // size estimates are not exposed by every deployment (Astra DB), ranges are then weighted equally
+            runContext.logger().warn("Size estimates of '{}.{}' are not available, token ranges are weighted equally: {}", keyspace, table, e.getMessage());
+        }
+
+        return estimates;
+    }
+}
@@ -0,0 +1,140 @@
+package io.kestra.plugin.cassandra;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.datastax.oss.driver.api.core.type.DataType;
+import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
+import com.datastax.oss.protocol.internal.ProtocolConstants;
+
+/**
+ * Generates the values of a column for a workload: numeric keys (uniform, sequential or Zipf-distributed) mapped to
+ * the column type, or random payloads of a given size.
+ */
+class ValueGenerator {
+    private static final byte[] ALPHABET = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    private final AbstractStress.GeneratorType type;
+    private final DataType dataType;
+    private final CodecRegistry codecRegistry;
+    private final long min;
+    private final long max;
+    private final int size;
+    private final Zipf zipf;
+    private final AtomicLong sequence;
+
+    ValueGenerator(AbstractStress.GeneratorType type, DataType dataType, CodecRegistry codecRegistry, long min, long max, int size, double exponent) {
+        if (max < min) {
+            throw new IllegalArgumentException("Generator max " + max + " is lower than min " + min);
+        }
+
+        this.type = type;
+        this.dataType = dataType;
+        this.codecRegistry = codecRegistry;
+        this.min = min;
+        this.max = max;
+        this.size = size;
+        this.zipf = type == AbstractStress.GeneratorType.ZIPF ? new Zipf(max - min + 1, exponent) : null;
+        this.sequence = new AtomicLong(min);
+    }
+
+    Object next(SplittableRandom random) {
+        return switch (this.type) {
+            case RANDOM -> this.convert(random.nextLong(this.min, this.max == Long.MAX_VALUE ? this.max : this.max + 1));
+            case SEQUENCE -> this.convert(this.min + Math.floorMod(this.sequence.getAndIncrement() - this.min, this.max - this.min + 1));
+            case ZIPF -> this.convert(this.min + this.zipf.sample(random) - 1);
+            case PAYLOAD -> this.payload(random);
+        };
+    }
+
+    private Object convert(long value) {
+        return switch (this.dataType.getProtocolCode()) {
+            case ProtocolConstants.DataType.ASCII, ProtocolConstants.DataType.VARCHAR -> Long.toString(value);
+            case ProtocolConstants.DataType.UUID, ProtocolConstants.DataType.TIMEUUID -> new UUID(0x1000L, value);
+            case ProtocolConstants.DataType.BLOB -> ByteBuffer.allocate(Long.BYTES).putLong(0, value);
+            default -> CqlValues.coerce(value, this.dataType, this.codecRegistry);
+        };
+    }
+
+    private Object payload(SplittableRandom random) {
+        byte[] bytes = new byte[this.size];
+
+        if (this.dataType.getProtocolCode() == ProtocolConstants.DataType.BLOB) {
+            random.nextBytes(bytes);
+            return ByteBuffer.wrap(bytes);
+        }
+
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+        }
+
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Zipf distribution over {@code [1, n]} sampled in constant time with rejection-inversion (Hörmann and Derflinger),
+     * so the number of distinct keys can be arbitrarily large.
+     */
+    static class Zipf {
+        private final long n;
+        private final double exponent;
+        private final double hIntegralX1;
+        private final double hIntegralN;
+        private final double s;
+
+        Zipf(long n, double exponent) {
+            if (n < 1 || exponent <= 0) {
+                throw new IllegalArgumentException("Invalid Zipf distribution, n = " + n + ", exponent = " + exponent);
+            }
+
+            this.n = n;
+            this.exponent = exponent;
+            this.hIntegralX1 = hIntegral(1.5) - 1;
+            this.hIntegralN = hIntegral(n + 0.5);
+            this.s = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+        }
+
+        long sample(SplittableRandom random) {
+            while (true) {
+                double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+                double x = hIntegralInverse(u);
+                long k = Math.min(n, Math.max(1, (long) (x + 0.5)));
+
+                if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                    return k;
+                }
+            }
+        }
+
+        private double h(double x) {
+            return Math.exp(-exponent * Math.log(x));
+        }
+
+        private double hIntegral(double x) {
+            double logX = Math.log(x);
+            return helper2((1 - exponent) * logX) * logX;
+        }
+
+        private double hIntegralInverse(double x) {
+            double t = Math.max(-1, x * (1 - exponent));
+            return Math.exp(helper1(t) * x);
+        }
+
+        /**
+         * {@code log(1 + x) / x}, accurate around 0.
+         */
+        private static double helper1(double x) {
+            return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+        }
+
+        /**
+         * {@code (exp(x) - 1) / x}, accurate around 0.
+         */
+        private static double helper2(double x) {
+            return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1 + x * 0.5 * (1 + x / 3 * (1 + 0.25 * x));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.kestra.plugin.cassandra;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.List;
+
+import com.datastax.oss.driver.api.core.type.DataType;
+import com.datastax.oss.driver.api.core.type.DataTypes;
+import com.datastax.oss.driver.api.core.type.VectorType;
+
+/**
+ * Encodes and decodes {@code vector<float, n>} values straight between their serialized form and primitive float
+ * arrays. Float elements have a fixed size, so a serialized vector is just its big-endian floats one after the other,
+ * without the boxing of {@code CqlVector<Float>}.
+ */
+final class Vectors {
+    private Vectors() {
+    }
+
+    static boolean isFloatVector(DataType type) {
+        return type instanceof VectorType vector && DataTypes.FLOAT.equals(vector.getElementType());
+    }
+
+    static float[] decode(ByteBuffer bytes) {
+        if (bytes == null) {
+            return null;
+        }
+
+        // the byte buffer order is big-endian by default, as the protocol
+        FloatBuffer floats = bytes.duplicate().asFloatBuffer();
+        float[] vector = new float[floats.remaining()];
+        floats.get(vector);
+
+        return vector;
+    }
+
+    static ByteBuffer encode(float[] vector) {
+        ByteBuffer bytes = ByteBuffer.allocate(vector.length * Float.BYTES);
+        bytes.asFloatBuffer().put(vector);
+
+        return bytes;
+    }
+
+    /**
+     * Converts a vector read from a flow property or a serialized file, a list of numbers, to a float array.
+     */
+    static float[] of(Object value) {
+        if (value instanceof float[] floats) {
+            return floats;
+        }
+
+        if (!(value instanceof List<?> list)) {
+            throw new IllegalArgumentException("Invalid vector '" + value + "', expected a list of numbers");
+        }
+
+        float[] vector = new float[list.size()];
+        for (int i = 0; i < vector.length; i++) {
+            if (!(list.get(i) instanceof Number number)) {
+                throw new IllegalArgumentException("Invalid vector element '" + list.get(i) + "', expected a number");
+            }
+            vector[i] = number.floatValue();
+        }
+
+        return vector;
+    }
+}
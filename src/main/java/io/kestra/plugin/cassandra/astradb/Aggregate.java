@@ -0,0 +1,73 @@
+package io.kestra.plugin.cassandra.astradb;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.cassandra.AbstractAggregate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Aggregate an Astra DB table",
+    description = "Scans the table token range by token range, in parallel, and folds each row into streaming aggregators " +
+        "(count, sum, average, min, max, approximate distinct count and quantiles). Rows are never materialized, only " +
+        "the aggregation state of each group is kept in memory."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Compute order statistics over the whole table.",
+            full = true,
+            code = """
+                id: astra_aggregate
+                namespace: company.team
+
+                tasks:
+                  - id: aggregate
+                    type: io.kestra.plugin.cassandra.astradb.Aggregate
+                    session:
+                      secureBundle: /path/to/secureBundle.zip
+                      keyspace: astradb_keyspace
+                      clientId: astradb_clientId
+                      clientSecret: "{{ secret('ASTRADB_CLIENT_SECRET') }}"
+                    keyspace: astradb_keyspace
+                    table: orders
+                    aggregations:
+                      - function: COUNT
+                      - function: AVG
+                        column: amount
+                      - function: MAX
+                        column: created_at
+                """
+        )
+    }
+)
+public class Aggregate extends AbstractAggregate {
+    @Schema(
+        title = "Astra DB session configuration",
+        description = "Connection settings including secure bundle or proxy (choose one), keyspace, and service credentials."
+    )
+    @PluginProperty(group = "main")
+    @NotNull
+    protected AstraDbSession session;
+
+    @Override
+    public CqlSession cqlSession(RunContext runContext) throws IllegalVariableEvaluationException {
+        return this.session.connect(runContext);
+    }
+}
@@ -50,7 +50,7 @@ public class AstraDbSession {
     @PluginProperty(secret = true)
     private Property<String> clientSecret;
 
-    CqlSession connect(RunContext runContext) throws IllegalVariableEvaluationException {
+    public CqlSession connect(RunContext runContext) throws IllegalVariableEvaluationException {
         if ((secureBundle != null && proxyAddress != null) || (secureBundle == null && proxyAddress == null)) {
             throw new IllegalArgumentException("Please use only one of secureBundle or proxyAddress");
         }
@@ -79,6 +79,20 @@ public class AstraDbSession {
         return builder.build();
     }
 
+    public String identity(RunContext runContext) throws IllegalVariableEvaluationException {
+        String target = this.proxyAddress != null ?
+            runContext.render(this.proxyAddress.hostname) + ":" + runContext.render(this.proxyAddress.port).as(Integer.class).orElseThrow() :
+            runContext.render(this.secureBundle).as(String.class).orElse("");
+
+        return String.join(
+            ",",
+            target,
+            runContext.render(this.keyspace).as(String.class).orElseThrow(),
+            runContext.render(this.clientId).as(String.class).orElseThrow(),
+            runContext.render(this.clientSecret).as(String.class).orElseThrow()
+        );
+    }
+
     @Getter
     @Builder
     public static class ProxyAddress {
@@ -0,0 +1,75 @@
+package io.kestra.plugin.cassandra.astradb;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.cassandra.AbstractExport;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Incrementally export an Astra DB table",
+    description = "Scans the table token range by token range and only exports the rows written since the previous run, " +
+        "detected with the `WRITETIME()` of chosen columns against a high-water mark kept in the namespace KV store. " +
+        "The output size tracks the volume of changes rather than the size of the table."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Export every night the orders changed since the previous night.",
+            full = true,
+            code = """
+                id: astra_nightly_export
+                namespace: company.team
+
+                tasks:
+                  - id: export
+                    type: io.kestra.plugin.cassandra.astradb.Export
+                    session:
+                      secureBundle: /path/to/secureBundle.zip
+                      keyspace: astradb_keyspace
+                      clientId: astradb_clientId
+                      clientSecret: "{{ secret('ASTRADB_CLIENT_SECRET') }}"
+                    keyspace: astradb_keyspace
+                    table: orders
+                    writetimeColumns:
+                      - status
+                      - amount
+
+                triggers:
+                  - id: nightly
+                    type: io.kestra.plugin.core.trigger.Schedule
+                    cron: "0 2 * * *"
+                """
+        )
+    }
+)
+public class Export extends AbstractExport {
+    @Schema(
+        title = "Astra DB session configuration",
+        description = "Connection settings including secure bundle or proxy (choose one), keyspace, and service credentials."
+    )
+    @PluginProperty(group = "main")
+    @NotNull
+    protected AstraDbSession session;
+
+    @Override
+    public CqlSession cqlSession(RunContext runContext) throws IllegalVariableEvaluationException {
+        return this.session.connect(runContext);
+    }
+}
@@ -0,0 +1,82 @@
+package io.kestra.plugin.cassandra.astradb;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.cassandra.AbstractPlanScan;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Split an Astra DB table into token ranges",
+    description = "Reads the token map and replica ownership to split a table into token ranges. Astra DB doesn't expose " +
+        "`system.size_estimates`, so ranges are balanced on token width. Each range comes with a ready-to-use CQL restriction."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Export a table in 32 ranges, scanning 8 ranges at a time.",
+            full = true,
+            code = """
+                id: astra_parallel_export
+                namespace: company.team
+
+                tasks:
+                  - id: plan
+                    type: io.kestra.plugin.cassandra.astradb.PlanScan
+                    session:
+                      secureBundle: /path/to/secureBundle.zip
+                      keyspace: astradb_keyspace
+                      clientId: astradb_clientId
+                      clientSecret: "{{ secret('ASTRADB_CLIENT_SECRET') }}"
+                    keyspace: astradb_keyspace
+                    table: CQL_TABLE
+                    splits: 32
+
+                  - id: scan
+                    type: io.kestra.plugin.core.flow.ForEach
+                    values: "{{ outputs.plan.ranges }}"
+                    concurrencyLimit: 8
+                    tasks:
+                      - id: export
+                        type: io.kestra.plugin.cassandra.astradb.Query
+                        session:
+                          secureBundle: /path/to/secureBundle.zip
+                          keyspace: astradb_keyspace
+                          clientId: astradb_clientId
+                          clientSecret: "{{ secret('ASTRADB_CLIENT_SECRET') }}"
+                        cql: "SELECT * FROM CQL_TABLE WHERE {{ fromJson(taskrun.value).where }}"
+                        fetchType: STORE
+                """
+        )
+    }
+)
+public class PlanScan extends AbstractPlanScan {
+    @Schema(
+        title = "Astra DB session configuration",
+        description = "Connection settings including secure bundle or proxy (choose one), keyspace, and service credentials."
+    )
+    @PluginProperty(group = "main")
+    @NotNull
+    protected AstraDbSession session;
+
+    @Override
+    public CqlSession cqlSession(RunContext runContext) throws IllegalVariableEvaluationException {
+        return this.session.connect(runContext);
+    }
+}
@@ -60,4 +60,9 @@ public class Query extends AbstractQuery {
     public CqlSession cqlSession(RunContext runContext) throws IllegalVariableEvaluationException {
         return this.session.connect(runContext);
     }
+
+    @Override
+    public String sessionIdentity(RunContext runContext) throws IllegalVariableEvaluationException {
+        return this.session.identity(runContext);
+    }
 }
@@ -0,0 +1,71 @@
+package io.kestra.plugin.cassandra.astradb;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.cassandra.AbstractCQLRealtimeTrigger;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Start one execution per new Astra DB row in real time",
+    description = "Keeps a session open and repeatedly reads the rows after the last cursor value, emitting one execution per row as soon as it is read. " +
+        "The last cursor is saved in the namespace KV store so a restarted trigger does not read earlier rows again."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Start an execution for each event appended to a time-ordered table.",
+            full = true,
+            code = """
+                id: astra_realtime_trigger
+                namespace: company.team
+
+                tasks:
+                  - id: log
+                    type: io.kestra.plugin.core.log.Log
+                    message: "{{ trigger.row }}"
+
+                triggers:
+                  - id: realtime
+                    type: io.kestra.plugin.cassandra.astradb.RealtimeTrigger
+                    session:
+                      secureBundle: /path/to/secureBundle.zip
+                      keyspace: astradb_keyspace
+                      clientId: astradb_clientId
+                      clientSecret: "{{ secret('ASTRADB_CLIENT_SECRET') }}"
+                    cql: "SELECT * FROM events WHERE bucket = 'default' AND event_id > ? LIMIT 1000"
+                    cursorColumn: event_id
+                """
+        )
+    }
+)
+public class RealtimeTrigger extends AbstractCQLRealtimeTrigger {
+    @Schema(
+        title = "Astra DB session configuration",
+        description = "Required connection details (secure bundle or cloud proxy, keyspace, client credentials) used to open the streaming CqlSession."
+    )
+    @PluginProperty(group = "main")
+    @NotNull
+    protected AstraDbSession session;
+
+    @Override
+    public CqlSession cqlSession(RunContext runContext) throws IllegalVariableEvaluationException {
+        return this.session.connect(runContext);
+    }
+}
@@ -63,18 +63,11 @@ import lombok.experimental.SuperBuilder;
 public class Trigger extends AbstractCQLTrigger implements QueryInterface {
 
     @Override
-    protected AbstractQuery.Output runQuery(RunContext runContext) throws Exception {
-        var query = io.kestra.plugin.cassandra.astradb.Query.builder()
+    protected AbstractQuery.AbstractQueryBuilder<?, ?> queryBuilder() {
+        return io.kestra.plugin.cassandra.astradb.Query.builder()
             .id(this.id)
             .type(Query.class.getName())
-            .session(this.getSession())
-            .cql(this.getCql())
-            .fetch(this.getFetch())
-            .store(this.getStore())
-            .fetchOne(this.getFetchOne())
-            .fetchType(this.getFetchType())
-            .build();
-        return query.run(runContext);
+            .session(this.getSession());
     }
 
     @Schema(
@@ -89,4 +82,9 @@ public class Trigger extends AbstractCQLTrigger implements QueryInterface {
     public CqlSession cqlSession(RunContext runContext) throws IllegalVariableEvaluationException {
         return this.session.connect(runContext);
     }
+
+    @Override
+    public String sessionIdentity(RunContext runContext) throws IllegalVariableEvaluationException {
+        return this.session.identity(runContext);
+    }
 }
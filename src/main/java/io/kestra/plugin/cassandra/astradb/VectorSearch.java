@@ -0,0 +1,101 @@
+package io.kestra.plugin.cassandra.astradb;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.cassandra.AbstractVectorSearch;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Run vector similarity searches on an Astra DB table",
+    description = "Finds the nearest rows of query vectors with `ORDER BY ... ANN OF ?` on a `vector<float, n>` column " +
+        "with a storage-attached index. Query vectors are bound as raw float bytes through a prepared statement, and " +
+        "a file of query vectors is searched concurrently. Returned vectors are decoded straight to float arrays."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Find the 5 products closest to a query embedding, with their cosine similarity.",
+            full = true,
+            code = """
+                id: astra_vector_search
+                namespace: company.team
+
+                tasks:
+                  - id: search
+                    type: io.kestra.plugin.cassandra.astradb.VectorSearch
+                    session:
+                      secureBundle: /path/to/secureBundle.zip
+                      keyspace: astradb_keyspace
+                      clientId: astradb_clientId
+                      clientSecret: "{{ secret('ASTRADB_CLIENT_SECRET') }}"
+                    keyspace: astradb_keyspace
+                    table: products
+                    column: embedding
+                    columns:
+                      - id
+                      - name
+                    vector: [0.12, 0.45, 0.33]
+                    limit: 5
+                    similarity: COSINE
+                """
+        ),
+        @Example(
+            title = "Search the embeddings of a file produced by a previous task, 32 searches at a time.",
+            full = true,
+            code = """
+                id: astra_vector_search_batch
+                namespace: company.team
+
+                inputs:
+                  - id: embeddings
+                    type: FILE
+
+                tasks:
+                  - id: search
+                    type: io.kestra.plugin.cassandra.astradb.VectorSearch
+                    session:
+                      secureBundle: /path/to/secureBundle.zip
+                      keyspace: astradb_keyspace
+                      clientId: astradb_clientId
+                      clientSecret: "{{ secret('ASTRADB_CLIENT_SECRET') }}"
+                    keyspace: astradb_keyspace
+                    table: products
+                    column: embedding
+                    vectorsUri: "{{ inputs.embeddings }}"
+                    where: "category = 'books'"
+                    concurrency: 32
+                """
+        )
+    }
+)
+public class VectorSearch extends AbstractVectorSearch {
+    @Schema(
+        title = "Astra DB session configuration",
+        description = "Connection settings including secure bundle or proxy (choose one), keyspace, and service credentials."
+    )
+    @PluginProperty(group = "main")
+    @NotNull
+    protected AstraDbSession session;
+
+    @Override
+    public CqlSession cqlSession(RunContext runContext) throws IllegalVariableEvaluationException {
+        return this.session.connect(runContext);
+    }
+}
@@ -0,0 +1,59 @@
+package io.kestra.plugin.cassandra.multicluster;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.plugin.cassandra.AbstractCompare;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Compare a table between two clusters or keyspaces",
+    description = "Verifies that two tables hold the same rows without exporting them. The token ring is split into " +
+        "ranges compared in parallel: each range is read once on each side to build a Merkle tree of row hashes, and " +
+        "only the leaves whose hashes differ are read again, to report the primary keys of the missing, extra and " +
+        "different rows. Values are compared in their serialized form: compared columns must have the same type on both sides."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Verify a table migrated from a Cassandra cluster to Astra DB.",
+            full = true,
+            code = """
+                id: verify_migration
+                namespace: company.team
+
+                tasks:
+                  - id: compare
+                    type: io.kestra.plugin.cassandra.multicluster.Compare
+                    source:
+                      standard:
+                        endpoints:
+                          - hostname: localhost
+                        localDatacenter: datacenter1
+                    target:
+                      astradb:
+                        secureBundle: "{{ secret('ASTRADB_SECURE_BUNDLE') }}"
+                        keyspace: astradb_keyspace
+                        clientId: astradb_clientId
+                        clientSecret: "{{ secret('ASTRADB_CLIENT_SECRET') }}"
+                    sourceKeyspace: CQL_KEYSPACE
+                    sourceTable: users
+                    targetKeyspace: astradb_keyspace
+                    splits: 256
+                    parallelism: 8
+                """
+        )
+    }
+)
+public class Compare extends AbstractCompare {
+}
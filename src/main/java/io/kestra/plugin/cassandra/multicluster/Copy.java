@@ -0,0 +1,62 @@
+package io.kestra.plugin.cassandra.multicluster;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.plugin.cassandra.AbstractCopy;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Copy a table to another table, keyspace or cluster",
+    description = "Streams the rows of a source table directly into a target table, possibly on another Cassandra cluster " +
+        "or on Astra DB, without going through internal storage. Token ranges are read in parallel and rows are written " +
+        "with asynchronous prepared statements under a bounded in-flight window, so memory stays constant. Values are " +
+        "copied in their serialized form: mapped columns must have the same type in both tables."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Migrate a table from a Cassandra cluster to Astra DB, renaming a column.",
+            full = true,
+            code = """
+                id: cassandra_to_astra
+                namespace: company.team
+
+                tasks:
+                  - id: copy
+                    type: io.kestra.plugin.cassandra.multicluster.Copy
+                    source:
+                      standard:
+                        endpoints:
+                          - hostname: localhost
+                        localDatacenter: datacenter1
+                    target:
+                      astradb:
+                        secureBundle: "{{ secret('ASTRADB_SECURE_BUNDLE') }}"
+                        keyspace: astradb_keyspace
+                        clientId: astradb_clientId
+                        clientSecret: "{{ secret('ASTRADB_CLIENT_SECRET') }}"
+                    sourceKeyspace: CQL_KEYSPACE
+                    sourceTable: users
+                    targetKeyspace: astradb_keyspace
+                    columns:
+                      id: id
+                      name: full_name
+                      email: email
+                    checkpoint: true
+                """
+        )
+    }
+)
+public class Copy extends AbstractCopy {
+}
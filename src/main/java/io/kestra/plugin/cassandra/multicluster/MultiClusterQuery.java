@@ -0,0 +1,57 @@
+package io.kestra.plugin.cassandra.multicluster;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.plugin.cassandra.AbstractMultiClusterQuery;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Run the same CQL query on several clusters concurrently",
+    description = "Connects to every cluster and runs the query on all of them at once, so the task takes as long as the " +
+        "slowest cluster rather than the sum of all of them. Each row is tagged with the name of its cluster and the " +
+        "results are merged into a single output. A cluster failing or exceeding `timeout` is reported in `targets` " +
+        "and left out of the result, as long as `minSuccesses` clusters answered."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Run a report on two regional clusters and merge the results.",
+            full = true,
+            code = """
+                id: cassandra_multi_region_report
+                namespace: company.team
+
+                tasks:
+                  - id: report
+                    type: io.kestra.plugin.cassandra.multicluster.MultiClusterQuery
+                    clusters:
+                      - name: eu
+                        standard:
+                          endpoints:
+                            - hostname: cassandra-eu
+                          localDatacenter: eu-west
+                      - name: us
+                        standard:
+                          endpoints:
+                            - hostname: cassandra-us
+                          localDatacenter: us-east
+                    cql: SELECT day, total FROM CQL_KEYSPACE.daily_sales WHERE day = '2024-01-01'
+                    fetchType: FETCH
+                    timeout: PT30S
+                """
+        )
+    }
+)
+public class MultiClusterQuery extends AbstractMultiClusterQuery {
+}
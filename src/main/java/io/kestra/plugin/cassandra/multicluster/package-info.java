@@ -0,0 +1,10 @@
+@PluginSubGroup(
+    description = "This sub-group of plugins contains tasks working with several Cassandra clusters or Astra DB databases at once.\n" +
+        "Each cluster is either a Cassandra cluster or an Astra DB database, to copy, compare or query data across them.",
+    categories = {
+        PluginSubGroup.PluginCategory.DATA
+    }
+)
+package io.kestra.plugin.cassandra.multicluster;
+
+import io.kestra.core.models.annotations.PluginSubGroup;
\ No newline at end of file
@@ -0,0 +1,77 @@
+package io.kestra.plugin.cassandra.standard;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.cassandra.AbstractAggregate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Aggregate a Cassandra table",
+    description = "Scans the table token range by token range, in parallel, and folds each row into streaming aggregators " +
+        "(count, sum, average, min, max, approximate distinct count and quantiles). Rows are never materialized, only " +
+        "the aggregation state of each group is kept in memory."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Compute order statistics per country over the whole table.",
+            full = true,
+            code = """
+                id: cassandra_aggregate
+                namespace: company.team
+
+                tasks:
+                  - id: aggregate
+                    type: io.kestra.plugin.cassandra.standard.Aggregate
+                    session:
+                      endpoints:
+                        - hostname: localhost
+                      localDatacenter: datacenter1
+                    keyspace: CQL_KEYSPACE
+                    table: orders
+                    groupBy:
+                      - country
+                    aggregations:
+                      - function: COUNT
+                      - function: SUM
+                        column: amount
+                      - function: DISTINCT
+                        column: customer_id
+                      - function: QUANTILES
+                        column: amount
+                        quantiles: [0.5, 0.99]
+                """
+        )
+    }
+)
+public class Aggregate extends AbstractAggregate {
+    @Schema(
+        title = "Cassandra session configuration",
+        description = "Connection settings including endpoints, datacenter, auth, and optional TLS."
+    )
+    @PluginProperty(group = "main")
+    @NotNull
+    protected CassandraDbSession session;
+
+    @Override
+    public CqlSession cqlSession(RunContext runContext) throws IllegalVariableEvaluationException {
+        return this.session.connect(runContext);
+    }
+}
@@ -0,0 +1,74 @@
+package io.kestra.plugin.cassandra.standard;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.cassandra.AbstractBulkLoad;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Bulk load a file into a Cassandra table",
+    description = "Reads rows from an ion file by large runs, sorts each run by token and sends the rows of a same " +
+        "partition together as unlogged single-partition batches, routed to a replica, with bounded concurrency. Each " +
+        "batch is applied as a single mutation, so large initial loads put far less pressure on coordinators, memtables " +
+        "and compaction than one INSERT per row."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Backfill an events table from a file produced by a previous task.",
+            full = true,
+            code = """
+                id: cassandra_bulk_load
+                namespace: company.team
+
+                inputs:
+                  - id: events
+                    type: FILE
+
+                tasks:
+                  - id: load
+                    type: io.kestra.plugin.cassandra.standard.BulkLoad
+                    session:
+                      endpoints:
+                        - hostname: localhost
+                      localDatacenter: datacenter1
+                    keyspace: CQL_KEYSPACE
+                    table: events
+                    from: "{{ inputs.events }}"
+                    sortBuffer: 500000
+                    maxInFlight: 128
+                """
+        )
+    }
+)
+public class BulkLoad extends AbstractBulkLoad {
+    @Schema(
+        title = "Cassandra session configuration",
+        description = "Connection settings including endpoints, datacenter, auth, and optional TLS."
+    )
+    @PluginProperty(group = "main")
+    @NotNull
+    protected CassandraDbSession session;
+
+    @Override
+    public CqlSession cqlSession(RunContext runContext) throws IllegalVariableEvaluationException {
+        return this.session.connect(runContext);
+    }
+}
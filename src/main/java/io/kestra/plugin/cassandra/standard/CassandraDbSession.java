@@ -3,6 +3,7 @@ package io.kestra.plugin.cassandra.standard;
 import java.io.FileInputStream;
 import java.net.InetSocketAddress;
 import java.security.KeyStore;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -73,7 +74,7 @@ public class CassandraDbSession {
     @PluginProperty(dynamic = true, group = "advanced")
     private SecureConnection secureConnection;
 
-    CqlSession connect(RunContext runContext) throws IllegalVariableEvaluationException {
+    public CqlSession connect(RunContext runContext) throws IllegalVariableEvaluationException {
         CqlSessionBuilder cqlSessionBuilder = CqlSession.builder()
             .addContactEndPoints(
                 this.endpoints
@@ -120,6 +121,20 @@ public class CassandraDbSession {
         return cqlSessionBuilder.build();
     }
 
+    public String identity(RunContext runContext) throws IllegalVariableEvaluationException {
+        List<String> parts = new ArrayList<>();
+
+        for (Endpoint endpoint : this.endpoints) {
+            parts.add(runContext.render(endpoint.getHostname()) + ":" + runContext.render(endpoint.getPort()).as(Integer.class).orElseThrow());
+        }
+
+        parts.add(runContext.render(this.localDatacenter).as(String.class).orElse(""));
+        parts.add(runContext.render(this.username).as(String.class).orElse(""));
+        parts.add(runContext.render(this.password).as(String.class).orElse(""));
+
+        return String.join(",", parts);
+    }
+
     @Getter
     @Builder
     public static class Endpoint {
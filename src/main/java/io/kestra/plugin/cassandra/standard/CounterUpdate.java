@@ -0,0 +1,76 @@
+package io.kestra.plugin.cassandra.standard;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.cassandra.AbstractCounterUpdate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Increment Cassandra counters from a file of events",
+    description = "Sums the counter deltas of the events per primary key on the client, spilling to disk above a memory " +
+        "budget, then sends a single `UPDATE ... SET c = c + ?` per key as concurrent asynchronous requests. On skewed " +
+        "events, this sends orders of magnitude fewer counter mutations than one update per event. Counter updates are not " +
+        "idempotent: keys are sent in 64 hash partitions recorded in the namespace KV store once acknowledged, and a retry of " +
+        "the task run skips them, but the updates of a partition interrupted by the failure are sent again and counted twice."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Count page views per page and day from a file of view events.",
+            full = true,
+            code = """
+                id: cassandra_counter_update
+                namespace: company.team
+
+                inputs:
+                  - id: views
+                    type: FILE
+
+                tasks:
+                  - id: count
+                    type: io.kestra.plugin.cassandra.standard.CounterUpdate
+                    session:
+                      endpoints:
+                        - hostname: localhost
+                      localDatacenter: datacenter1
+                    keyspace: CQL_KEYSPACE
+                    table: page_views
+                    from: "{{ inputs.views }}"
+                    counters:
+                      - views
+                    maxInFlight: 64
+                """
+        )
+    }
+)
+public class CounterUpdate extends AbstractCounterUpdate {
+    @Schema(
+        title = "Cassandra session configuration",
+        description = "Connection settings including endpoints, datacenter, auth, and optional TLS."
+    )
+    @PluginProperty(group = "main")
+    @NotNull
+    protected CassandraDbSession session;
+
+    @Override
+    public CqlSession cqlSession(RunContext runContext) throws IllegalVariableEvaluationException {
+        return this.session.connect(runContext);
+    }
+}
@@ -0,0 +1,74 @@
+package io.kestra.plugin.cassandra.standard;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.cassandra.AbstractExport;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Incrementally export a Cassandra table",
+    description = "Scans the table token range by token range and only exports the rows written since the previous run, " +
+        "detected with the `WRITETIME()` of chosen columns against a high-water mark kept in the namespace KV store. " +
+        "The output size tracks the volume of changes rather than the size of the table."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Export every night the orders changed since the previous night.",
+            full = true,
+            code = """
+                id: cassandra_nightly_export
+                namespace: company.team
+
+                tasks:
+                  - id: export
+                    type: io.kestra.plugin.cassandra.standard.Export
+                    session:
+                      endpoints:
+                        - hostname: localhost
+                      localDatacenter: datacenter1
+                    keyspace: CQL_KEYSPACE
+                    table: orders
+                    writetimeColumns:
+                      - status
+                      - amount
+
+                triggers:
+                  - id: nightly
+                    type: io.kestra.plugin.core.trigger.Schedule
+                    cron: "0 2 * * *"
+                """
+        )
+    }
+)
+public class Export extends AbstractExport {
+    @Schema(
+        title = "Cassandra session configuration",
+        description = "Connection settings including endpoints, datacenter, auth, and optional TLS."
+    )
+    @PluginProperty(group = "main")
+    @NotNull
+    protected CassandraDbSession session;
+
+    @Override
+    public CqlSession cqlSession(RunContext runContext) throws IllegalVariableEvaluationException {
+        return this.session.connect(runContext);
+    }
+}
@@ -0,0 +1,80 @@
+package io.kestra.plugin.cassandra.standard;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.cassandra.AbstractPlanScan;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Split a Cassandra table into token ranges",
+    description = "Reads the token map, replica ownership and `system.size_estimates` to split a table into balanced token ranges. " +
+        "Each range comes with a ready-to-use CQL restriction so ranges can be scanned in parallel by `ForEach` or subflows."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Export a table in 32 ranges, scanning 8 ranges at a time.",
+            full = true,
+            code = """
+                id: cassandra_parallel_export
+                namespace: company.team
+
+                tasks:
+                  - id: plan
+                    type: io.kestra.plugin.cassandra.standard.PlanScan
+                    session:
+                      endpoints:
+                        - hostname: localhost
+                      localDatacenter: datacenter1
+                    keyspace: CQL_KEYSPACE
+                    table: CQL_TABLE
+                    splits: 32
+
+                  - id: scan
+                    type: io.kestra.plugin.core.flow.ForEach
+                    values: "{{ outputs.plan.ranges }}"
+                    concurrencyLimit: 8
+                    tasks:
+                      - id: export
+                        type: io.kestra.plugin.cassandra.standard.Query
+                        session:
+                          endpoints:
+                            - hostname: localhost
+                          localDatacenter: datacenter1
+                        cql: "SELECT * FROM CQL_KEYSPACE.CQL_TABLE WHERE {{ fromJson(taskrun.value).where }}"
+                        fetchType: STORE
+                """
+        )
+    }
+)
+public class PlanScan extends AbstractPlanScan {
+    @Schema(
+        title = "Cassandra session configuration",
+        description = "Connection settings including endpoints, datacenter, auth, and optional TLS."
+    )
+    @PluginProperty(group = "main")
+    @NotNull
+    protected CassandraDbSession session;
+
+    @Override
+    public CqlSession cqlSession(RunContext runContext) throws IllegalVariableEvaluationException {
+        return this.session.connect(runContext);
+    }
+}
@@ -0,0 +1,91 @@
+package io.kestra.plugin.cassandra.standard;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.cassandra.AbstractPurge;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Purge rows of a Cassandra table",
+    description = "Scans the table token range by token range, in parallel, and deletes the rows matching a predicate " +
+        "(a CQL restriction, a clustering column bound or the age of a write time) with row, range or partition deletes " +
+        "grouped by partition. Deletes are sent asynchronously with a bounded concurrency and an optional rate limit, " +
+        "and the number of tombstones written is reported. Use `dryRun` to only count."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Delete the events older than 90 days, one range tombstone per partition, at most 200 deletes per second.",
+            full = true,
+            code = """
+                id: cassandra_purge_events
+                namespace: company.team
+
+                tasks:
+                  - id: purge
+                    type: io.kestra.plugin.cassandra.standard.Purge
+                    session:
+                      endpoints:
+                        - hostname: localhost
+                      localDatacenter: datacenter1
+                    keyspace: CQL_KEYSPACE
+                    table: events
+                    clusteringBefore: "'{{ now() | dateAdd(-90, 'DAYS') | date('yyyy-MM-dd') }}'"
+                    granularity: RANGE
+                    rate: 200
+                """
+        ),
+        @Example(
+            title = "Count the sessions not updated for 30 days without deleting them.",
+            full = true,
+            code = """
+                id: cassandra_purge_dry_run
+                namespace: company.team
+
+                tasks:
+                  - id: purge
+                    type: io.kestra.plugin.cassandra.standard.Purge
+                    session:
+                      endpoints:
+                        - hostname: localhost
+                      localDatacenter: datacenter1
+                    keyspace: CQL_KEYSPACE
+                    table: sessions
+                    writetimeColumn: last_seen
+                    olderThan: P30D
+                    dryRun: true
+                """
+        )
+    }
+)
+public class Purge extends AbstractPurge {
+    @Schema(
+        title = "Cassandra session configuration",
+        description = "Connection settings including endpoints, datacenter, auth, and optional TLS."
+    )
+    @PluginProperty(group = "main")
+    @NotNull
+    protected CassandraDbSession session;
+
+    @Override
+    public CqlSession cqlSession(RunContext runContext) throws IllegalVariableEvaluationException {
+        return this.session.connect(runContext);
+    }
+}
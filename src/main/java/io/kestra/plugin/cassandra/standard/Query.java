@@ -49,6 +49,30 @@ import lombok.experimental.SuperBuilder;
                     fetchType: FETCH
                 """
         ),
+        @Example(
+            title = "Export a large table to internal storage, resuming from the last checkpoint when the task is retried.",
+            full = true,
+            code = """
+                id: cassandra_standard_export
+                namespace: company.team
+
+                tasks:
+                  - id: export
+                    type: io.kestra.plugin.cassandra.standard.Query
+                    session:
+                      endpoints:
+                        - hostname: localhost
+                      localDatacenter: datacenter1
+                    cql: SELECT * FROM CQL_KEYSPACE.CQL_TABLE
+                    fetchType: STORE
+                    checkpoint: true
+                    checkpointRows: 1000000
+                    retry:
+                      type: constant
+                      interval: PT1M
+                      maxAttempts: 3
+                """
+        ),
     },
     aliases = "io.kestra.plugin.cassandra.Query"
 )
@@ -65,4 +89,9 @@ public class Query extends AbstractQuery {
     public CqlSession cqlSession(RunContext runContext) throws IllegalVariableEvaluationException {
         return this.session.connect(runContext);
     }
+
+    @Override
+    public String sessionIdentity(RunContext runContext) throws IllegalVariableEvaluationException {
+        return this.session.identity(runContext);
+    }
 }
@@ -0,0 +1,77 @@
+package io.kestra.plugin.cassandra.standard;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.cassandra.AbstractStress;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Run a load test against a Cassandra table",
+    description = "Generates a reproducible read/write workload on a table from per-column value generators (uniform, " +
+        "sequential or Zipf-distributed keys, random payloads), sent as asynchronous requests at a target rate or a " +
+        "maximum concurrency for a given duration. Outputs the throughput and the p50/p90/p99/p99.9 latencies."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Run a 90% read workload on Zipf-distributed keys at 2000 operations per second for 5 minutes.",
+            full = true,
+            code = """
+                id: cassandra_stress
+                namespace: company.team
+
+                tasks:
+                  - id: stress
+                    type: io.kestra.plugin.cassandra.standard.Stress
+                    session:
+                      endpoints:
+                        - hostname: localhost
+                      localDatacenter: datacenter1
+                    keyspace: CQL_KEYSPACE
+                    table: users
+                    columns:
+                      - column: id
+                        type: ZIPF
+                        max: 1000000
+                      - column: profile
+                        type: PAYLOAD
+                        size: 512
+                    readRatio: 0.9
+                    rate: 2000
+                    duration: PT5M
+                    seed: 42
+                """
+        )
+    }
+)
+public class Stress extends AbstractStress {
+    @Schema(
+        title = "Cassandra session configuration",
+        description = "Connection settings including endpoints, datacenter, auth, and optional TLS."
+    )
+    @PluginProperty(group = "main")
+    @NotNull
+    protected CassandraDbSession session;
+
+    @Override
+    public CqlSession cqlSession(RunContext runContext) throws IllegalVariableEvaluationException {
+        return this.session.connect(runContext);
+    }
+}
@@ -58,6 +58,32 @@ import lombok.experimental.SuperBuilder;
                     cql: "SELECT * FROM CQL_KEYSPACE.CQL_TABLE"
                     fetchType: FETCH
                 """
+        ),
+        @Example(
+            title = "Poll a table every 5 seconds while new rows arrive and back off up to 10 minutes when it is idle; empty polls only read one row.",
+            full = true,
+            code = """
+                id: cassandra_adaptive_trigger
+                namespace: company.team
+
+                tasks:
+                  - id: log
+                    type: io.kestra.plugin.core.log.Log
+                    message: "{{ trigger.size }} new rows"
+
+                triggers:
+                  - id: watch
+                    type: io.kestra.plugin.cassandra.standard.Trigger
+                    minInterval: PT5S
+                    maxInterval: PT10M
+                    probe: true
+                    session:
+                       endpoints:
+                          - hostname: localhost
+                       localDatacenter: datacenter1
+                    cql: "SELECT * FROM CQL_KEYSPACE.CQL_TABLE WHERE processed = false ALLOW FILTERING"
+                    fetchType: FETCH
+                """
         )
     },
     aliases = "io.kestra.plugin.cassandra.Trigger"
@@ -65,18 +91,11 @@ import lombok.experimental.SuperBuilder;
 public class Trigger extends AbstractCQLTrigger implements QueryInterface {
 
     @Override
-    protected AbstractQuery.Output runQuery(RunContext runContext) throws Exception {
-        var query = Query.builder()
+    protected AbstractQuery.AbstractQueryBuilder<?, ?> queryBuilder() {
+        return Query.builder()
             .id(this.id)
             .type(Query.class.getName())
-            .session(this.getSession())
-            .cql(this.getCql())
-            .fetch(this.getFetch())
-            .store(this.getStore())
-            .fetchOne(this.getFetchOne())
-            .fetchType(this.getFetchType())
-            .build();
-        return query.run(runContext);
+            .session(this.getSession());
     }
 
     @Schema(
@@ -91,4 +110,9 @@ public class Trigger extends AbstractCQLTrigger implements QueryInterface {
     public CqlSession cqlSession(RunContext runContext) throws IllegalVariableEvaluationException {
         return this.session.connect(runContext);
     }
+
+    @Override
+    public String sessionIdentity(RunContext runContext) throws IllegalVariableEvaluationException {
+        return this.session.identity(runContext);
+    }
 }
@@ -0,0 +1,43 @@
+package io.kestra.plugin.cassandra;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+class CancellationTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void cancelAbortsUploadsAndRequests() throws Exception {
+        RunContext runContext = runContextFactory.of(Map.of());
+        Cancellation cancellation = new Cancellation();
+        cancellation.start(null);
+
+        CompletableFuture<Object> request = cancellation.track(new CompletableFuture<>());
+        PipedUpload upload = cancellation.register(new PipedUpload(runContext, ".ion"));
+        upload.output().write("{id:1}\n".getBytes(StandardCharsets.UTF_8));
+
+        cancellation.cancel();
+
+        assertThat(cancellation.cancelled(), is(true));
+        assertThat(request.isCancelled(), is(true));
+        assertThrows(Exception.class, upload::finish);
+
+        cancellation.finish(runContext);
+        assertThat(runContext.metrics().stream().anyMatch(metric -> metric.getName().equals("cancelled.requests")), is(true));
+    }
+}
@@ -0,0 +1,82 @@
+package io.kestra.plugin.cassandra.multicluster;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.utils.TestsUtils;
+import io.kestra.plugin.cassandra.Cluster;
+import io.kestra.plugin.cassandra.standard.CassandraTestHelper;
+
+import jakarta.inject.Inject;
+
+import static io.kestra.plugin.cassandra.standard.CassandraTestHelper.query;
+import static io.kestra.plugin.cassandra.standard.CassandraTestHelper.session;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+@KestraTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CompareTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private RunContext runContext;
+
+    @BeforeAll
+    public void startUp() throws Exception {
+        runContext = runContextFactory.of(Map.of());
+        new CassandraTestHelper().initServer(runContext);
+
+        for (String table : List.of("compare_source", "compare_target")) {
+            query(runContext, "CREATE TABLE IF NOT EXISTS test." + table + " (id int, name text, PRIMARY KEY (id))", FetchType.NONE);
+            query(runContext, "TRUNCATE test." + table, FetchType.NONE);
+            for (int i = 1; i <= 100; i++) {
+                query(runContext, "INSERT INTO test." + table + " (id, name) VALUES (" + i + ", 'name " + i + "')", FetchType.NONE);
+            }
+        }
+
+        query(runContext, "DELETE FROM test.compare_target WHERE id = 10", FetchType.NONE);
+        query(runContext, "UPDATE test.compare_target SET name = 'changed' WHERE id = 20", FetchType.NONE);
+        query(runContext, "INSERT INTO test.compare_target (id, name) VALUES (1000, 'extra')", FetchType.NONE);
+    }
+
+    @Test
+    void run() throws Exception {
+        Compare task = Compare.builder()
+            .id("compare")
+            .type(Compare.class.getName())
+            .source(Cluster.builder().standard(session()).build())
+            .target(Cluster.builder().standard(session()).build())
+            .sourceKeyspace(Property.ofValue("test"))
+            .sourceTable(Property.ofValue("compare_source"))
+            .targetTable(Property.ofValue("compare_target"))
+            .splits(Property.ofValue(8))
+            .leaves(Property.ofValue(16))
+            .build();
+
+        Compare.Output output = task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()));
+
+        assertThat(output.getRows(), is(200L));
+        assertThat(output.getMissing(), is(1L));
+        assertThat(output.getExtra(), is(1L));
+        assertThat(output.getDifferent(), is(1L));
+
+        try (var reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(output.getUri()), StandardCharsets.UTF_8))) {
+            assertThat(FileSerde.readAll(reader).collectList().block(), hasSize(3));
+        }
+    }
+}
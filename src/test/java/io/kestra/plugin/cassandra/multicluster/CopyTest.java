@@ -0,0 +1,119 @@
+package io.kestra.plugin.cassandra.multicluster;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+import io.kestra.core.utils.TestsUtils;
+import io.kestra.plugin.cassandra.Cluster;
+import io.kestra.plugin.cassandra.standard.CassandraTestHelper;
+
+import jakarta.inject.Inject;
+
+import static io.kestra.plugin.cassandra.standard.CassandraTestHelper.query;
+import static io.kestra.plugin.cassandra.standard.CassandraTestHelper.session;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@KestraTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CopyTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private RunContext runContext;
+
+    @BeforeAll
+    public void startUp() throws Exception {
+        runContext = runContextFactory.of(Map.of());
+        new CassandraTestHelper().initServer(runContext);
+
+        query(runContext, "CREATE TABLE IF NOT EXISTS test.copy_source (id int, name text, age int, PRIMARY KEY (id))", FetchType.NONE);
+        query(runContext, "CREATE TABLE IF NOT EXISTS test.copy_target (id int, full_name text, PRIMARY KEY (id))", FetchType.NONE);
+        query(runContext, "TRUNCATE test.copy_target", FetchType.NONE);
+        query(runContext, "CREATE TABLE IF NOT EXISTS test.copy_resumed (id int, full_name text, PRIMARY KEY (id))", FetchType.NONE);
+        query(runContext, "TRUNCATE test.copy_resumed", FetchType.NONE);
+
+        for (int i = 1; i <= 50; i++) {
+            query(runContext, "INSERT INTO test.copy_source (id, name, age) VALUES (" + i + ", 'name " + i + "', " + i + ")", FetchType.NONE);
+        }
+    }
+
+    @Test
+    void run() throws Exception {
+        Copy task = Copy.builder()
+            .id("copy")
+            .type(Copy.class.getName())
+            .source(Cluster.builder().standard(session()).build())
+            .target(Cluster.builder().standard(session()).build())
+            .sourceKeyspace(Property.ofValue("test"))
+            .sourceTable(Property.ofValue("copy_source"))
+            .targetTable(Property.ofValue("copy_target"))
+            .columns(Property.ofValue(Map.of("id", "id", "name", "full_name")))
+            .splits(Property.ofValue(8))
+            .maxInFlight(Property.ofValue(4))
+            .checkpoint(Property.ofValue(true))
+            .build();
+
+        Copy.Output output = task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()));
+
+        assertThat(output.getRows(), is(50L));
+        assertThat(output.getSkippedRanges(), is(0));
+        assertThat(query(runContext, "SELECT full_name FROM test.copy_target WHERE id = 7", FetchType.FETCH_ONE).getRow().get("full_name"), is("name 7"));
+    }
+
+    @Test
+    void resumeFromSavedPlan() throws Exception {
+        Copy task = Copy.builder()
+            .id("copy")
+            .type(Copy.class.getName())
+            .source(Cluster.builder().standard(session()).build())
+            .target(Cluster.builder().standard(session()).build())
+            .sourceKeyspace(Property.ofValue("test"))
+            .sourceTable(Property.ofValue("copy_source"))
+            .targetTable(Property.ofValue("copy_resumed"))
+            .columns(Property.ofValue(Map.of("id", "id", "name", "full_name")))
+            .splits(Property.ofValue(64))
+            .checkpoint(Property.ofValue(true))
+            .build();
+
+        RunContext copyContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+        String taskRunId = (String) ((Map<?, ?>) copyContext.getVariables().get("taskrun")).get("id");
+
+        // a previous attempt planned two halves of the ring and copied the first one
+        Map<String, Object> checkpoint = Map.of(
+            "plan", List.of(
+                Map.of("start", String.valueOf(Long.MIN_VALUE), "end", "0", "partitions", 25),
+                Map.of("start", "0", "partitions", 25)
+            ),
+            "completed", List.of(0),
+            "rows", 0
+        );
+        copyContext.namespaceKv(copyContext.flowInfo().namespace()).put(
+            "cassandra-copy_" + taskRunId.replaceAll("[^a-zA-Z0-9._-]", "_"),
+            new KVValueAndMetadata(new KVMetadata("test", Duration.ofMinutes(5)), checkpoint)
+        );
+
+        Copy.Output output = task.run(copyContext);
+
+        long secondHalf = (Long) query(runContext, "SELECT count(*) AS c FROM test.copy_source WHERE token(id) > 0", FetchType.FETCH_ONE).getRow().get("c");
+        long copied = (Long) query(runContext, "SELECT count(*) AS c FROM test.copy_resumed", FetchType.FETCH_ONE).getRow().get("c");
+
+        // the saved two-range plan is used, not a new 64-range one
+        assertThat(output.getRanges(), is(2));
+        assertThat(output.getSkippedRanges(), is(1));
+        assertThat(output.getRows(), is(secondHalf));
+        assertThat(copied, is(secondHalf));
+    }
+}
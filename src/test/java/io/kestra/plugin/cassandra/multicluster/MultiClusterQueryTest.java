@@ -0,0 +1,116 @@
+package io.kestra.plugin.cassandra.multicluster;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.plugin.cassandra.Cluster;
+import io.kestra.plugin.cassandra.standard.CassandraDbSession;
+import io.kestra.plugin.cassandra.standard.CassandraTestHelper;
+
+import jakarta.inject.Inject;
+
+import static io.kestra.plugin.cassandra.standard.CassandraTestHelper.query;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MultiClusterQueryTest {
+    private static final String CQL = "SELECT id, name FROM test.multi_cluster WHERE id IN (1, 2)";
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private RunContext runContext;
+
+    private Cluster cluster(String name, int port) {
+        return Cluster.builder()
+            .name(name == null ? null : Property.ofValue(name))
+            .standard(
+                CassandraDbSession.builder()
+                    .endpoints(List.of(CassandraDbSession.Endpoint.builder().hostname("localhost").port(Property.ofValue(port)).build()))
+                    .localDatacenter(Property.ofValue("datacenter1"))
+                    .build()
+            )
+            .build();
+    }
+
+    @BeforeAll
+    public void startUp() throws Exception {
+        runContext = runContextFactory.of(Map.of());
+        new CassandraTestHelper().initServer(runContext);
+
+        query(runContext, "CREATE TABLE IF NOT EXISTS test.multi_cluster (id int, name text, PRIMARY KEY (id))", FetchType.NONE);
+        query(runContext, "INSERT INTO test.multi_cluster (id, name) VALUES (1, 'one')", FetchType.NONE);
+        query(runContext, "INSERT INTO test.multi_cluster (id, name) VALUES (2, 'two')", FetchType.NONE);
+    }
+
+    @Test
+    void fetch() throws Exception {
+        MultiClusterQuery task = MultiClusterQuery.builder()
+            .clusters(List.of(cluster("eu", 9042), cluster(null, 9042)))
+            .cql(Property.ofValue(CQL))
+            .build();
+
+        MultiClusterQuery.Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is(4L));
+        assertThat(output.getFailures(), is(0));
+        assertThat(output.getRows().get(0).get("_source"), is("eu"));
+        assertThat(output.getRows().get(1).get("_source"), is("eu"));
+        // an unnamed cluster is labelled by its position, never by its connection settings
+        assertThat(output.getRows().get(2).get("_source"), is("cluster-2"));
+        assertThat(output.getRows().get(3).get("_source"), is("cluster-2"));
+    }
+
+    @Test
+    void partialFailure() throws Exception {
+        MultiClusterQuery task = MultiClusterQuery.builder()
+            .clusters(List.of(cluster("eu", 9042), cluster("down", 9999)))
+            .cql(Property.ofValue(CQL))
+            .fetchType(Property.ofValue(FetchType.STORE))
+            .build();
+
+        MultiClusterQuery.Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is(2L));
+        assertThat(output.getFailures(), is(1));
+        assertThat(output.getTargets().get(0).getError(), is(nullValue()));
+        assertThat(output.getTargets().get(1).getName(), is("down"));
+        assertThat(output.getTargets().get(1).getError(), is(notNullValue()));
+
+        try (var reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(output.getUri()), StandardCharsets.UTF_8))) {
+            List<Object> rows = FileSerde.readAll(reader).collectList().block();
+            assertThat(rows, hasSize(2));
+            assertThat(((Map<?, ?>) rows.getFirst()).get("_source"), is("eu"));
+        }
+    }
+
+    @Test
+    void tooManyFailures() {
+        MultiClusterQuery task = MultiClusterQuery.builder()
+            .clusters(List.of(cluster("eu", 9042), cluster("down", 9999)))
+            .cql(Property.ofValue(CQL))
+            .minSuccesses(Property.ofValue(2))
+            .build();
+
+        assertThrows(IllegalStateException.class, () -> task.run(runContext));
+    }
+}
@@ -0,0 +1,143 @@
+package io.kestra.plugin.cassandra.standard;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.cassandra.AbstractAggregate;
+
+import jakarta.inject.Inject;
+
+import static io.kestra.plugin.cassandra.standard.CassandraTestHelper.query;
+import static io.kestra.plugin.cassandra.standard.CassandraTestHelper.session;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+
+@KestraTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AggregateTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private RunContext runContext;
+
+    @BeforeAll
+    public void startUp() throws Exception {
+        runContext = runContextFactory.of(Map.of());
+        new CassandraTestHelper().initServer(runContext);
+
+        query(runContext, "CREATE TABLE IF NOT EXISTS test.aggregate_table (id int, grp text, amount bigint, PRIMARY KEY (id))", FetchType.NONE);
+
+        for (int i = 1; i <= 100; i++) {
+            query(runContext, "INSERT INTO test.aggregate_table (id, grp, amount) VALUES (" + i + ", '" + (i % 2 == 0 ? "even" : "odd") + "', " + i + ")", FetchType.NONE);
+        }
+    }
+
+    @Test
+    void run() throws Exception {
+        Aggregate task = Aggregate.builder()
+            .session(session())
+            .keyspace(Property.ofValue("test"))
+            .table(Property.ofValue("aggregate_table"))
+            .aggregations(List.of(
+                AbstractAggregate.Aggregation.builder().function(Property.ofValue(AbstractAggregate.Function.COUNT)).build(),
+                AbstractAggregate.Aggregation.builder().function(Property.ofValue(AbstractAggregate.Function.SUM)).column(Property.ofValue("amount")).build(),
+                AbstractAggregate.Aggregation.builder().function(Property.ofValue(AbstractAggregate.Function.MAX)).column(Property.ofValue("amount")).build(),
+                AbstractAggregate.Aggregation.builder().function(Property.ofValue(AbstractAggregate.Function.DISTINCT)).column(Property.ofValue("amount")).build()
+            ))
+            .splits(Property.ofValue(8))
+            .build();
+
+        AbstractAggregate.Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is(1L));
+        assertThat(output.getScannedRows(), is(100L));
+        assertThat(output.getRows().getFirst().get("count"), is(100L));
+        assertThat(output.getRows().getFirst().get("sum_amount"), is(5050L));
+        assertThat(output.getRows().getFirst().get("max_amount"), is(100L));
+        assertThat(((Number) output.getRows().getFirst().get("distinct_amount")).doubleValue(), closeTo(100, 3));
+    }
+
+    @Test
+    void groupBy() throws Exception {
+        Aggregate task = Aggregate.builder()
+            .session(session())
+            .keyspace(Property.ofValue("test"))
+            .table(Property.ofValue("aggregate_table"))
+            .groupBy(Property.ofValue(List.of("grp")))
+            .aggregations(List.of(
+                AbstractAggregate.Aggregation.builder().name(Property.ofValue("total")).function(Property.ofValue(AbstractAggregate.Function.SUM)).column(Property.ofValue("amount")).build(),
+                AbstractAggregate.Aggregation.builder().function(Property.ofValue(AbstractAggregate.Function.AVG)).column(Property.ofValue("amount")).build()
+            ))
+            .build();
+
+        List<Map<String, Object>> rows = task.run(runContext).getRows().stream()
+            .sorted(Comparator.comparing(row -> (String) row.get("grp")))
+            .toList();
+
+        assertThat(rows.size(), is(2));
+        assertThat(rows.get(0).get("grp"), is("even"));
+        assertThat(rows.get(0).get("total"), is(2550L));
+        assertThat(rows.get(1).get("avg_amount"), is(50.0));
+    }
+
+    @Test
+    void sumOverflow() throws Exception {
+        query(runContext, "CREATE TABLE IF NOT EXISTS test.aggregate_big (id int, amount bigint, PRIMARY KEY (id))", FetchType.NONE);
+        query(runContext, "INSERT INTO test.aggregate_big (id, amount) VALUES (1, " + Long.MAX_VALUE + ")", FetchType.NONE);
+        query(runContext, "INSERT INTO test.aggregate_big (id, amount) VALUES (2, " + Long.MAX_VALUE + ")", FetchType.NONE);
+        query(runContext, "INSERT INTO test.aggregate_big (id, amount) VALUES (3, 1)", FetchType.NONE);
+
+        Aggregate task = Aggregate.builder()
+            .session(session())
+            .keyspace(Property.ofValue("test"))
+            .table(Property.ofValue("aggregate_big"))
+            .aggregations(List.of(
+                AbstractAggregate.Aggregation.builder().function(Property.ofValue(AbstractAggregate.Function.SUM)).column(Property.ofValue("amount")).build(),
+                AbstractAggregate.Aggregation.builder().function(Property.ofValue(AbstractAggregate.Function.AVG)).column(Property.ofValue("amount")).build()
+            ))
+            .splits(Property.ofValue(1))
+            .build();
+
+        Map<String, Object> row = task.run(runContext).getRows().getFirst();
+
+        BigInteger expected = BigInteger.valueOf(Long.MAX_VALUE).shiftLeft(1).add(BigInteger.ONE);
+        assertThat(row.get("sum_amount"), is(expected));
+        assertThat((Double) row.get("avg_amount"), closeTo(expected.doubleValue() / 3, 1e6));
+    }
+
+    @Test
+    void decimalsAndBlobs() throws Exception {
+        query(runContext, "CREATE TABLE IF NOT EXISTS test.aggregate_blob (id int, payload blob, price decimal, PRIMARY KEY (id))", FetchType.NONE);
+        query(runContext, "INSERT INTO test.aggregate_blob (id, payload, price) VALUES (1, 0x01, 0.1)", FetchType.NONE);
+        query(runContext, "INSERT INTO test.aggregate_blob (id, payload, price) VALUES (2, 0x02, 0.2)", FetchType.NONE);
+        query(runContext, "INSERT INTO test.aggregate_blob (id, payload, price) VALUES (3, 0x01, 0.3)", FetchType.NONE);
+
+        Aggregate task = Aggregate.builder()
+            .session(session())
+            .keyspace(Property.ofValue("test"))
+            .table(Property.ofValue("aggregate_blob"))
+            .aggregations(List.of(
+                AbstractAggregate.Aggregation.builder().function(Property.ofValue(AbstractAggregate.Function.SUM)).column(Property.ofValue("price")).build(),
+                AbstractAggregate.Aggregation.builder().function(Property.ofValue(AbstractAggregate.Function.DISTINCT)).column(Property.ofValue("payload")).build()
+            ))
+            .build();
+
+        Map<String, Object> row = task.run(runContext).getRows().getFirst();
+
+        assertThat(row.get("sum_price"), is(new BigDecimal("0.6")));
+        assertThat(((Number) row.get("distinct_payload")).longValue(), is(2L));
+    }
+}
@@ -0,0 +1,75 @@
+package io.kestra.plugin.cassandra.standard;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URI;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+
+import jakarta.inject.Inject;
+
+import static io.kestra.plugin.cassandra.standard.CassandraTestHelper.query;
+import static io.kestra.plugin.cassandra.standard.CassandraTestHelper.session;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+@KestraTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BulkLoadTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private RunContext runContext;
+
+    @BeforeAll
+    public void startUp() throws Exception {
+        runContext = runContextFactory.of(Map.of());
+        new CassandraTestHelper().initServer(runContext);
+
+        query(runContext, "CREATE TABLE IF NOT EXISTS test.bulk_table (device text, seq int, value double, label text, PRIMARY KEY (device, seq))", FetchType.NONE);
+        query(runContext, "TRUNCATE test.bulk_table", FetchType.NONE);
+    }
+
+    @Test
+    void run() throws Exception {
+        File file = runContext.workingDir().createTempFile(".ion").toFile();
+        try (var output = new FileOutputStream(file)) {
+            for (int i = 0; i < 500; i++) {
+                FileSerde.write(output, i % 2 == 0 ?
+                    Map.of("device", "d" + (i % 20), "seq", i, "value", i * 1.5, "label", "l" + i) :
+                    Map.of("device", "d" + (i % 20), "seq", i, "value", i * 1.5)
+                );
+            }
+        }
+        URI uri = runContext.storage().putFile(file);
+
+        BulkLoad task = BulkLoad.builder()
+            .session(session())
+            .keyspace(Property.ofValue("test"))
+            .table(Property.ofValue("bulk_table"))
+            .from(Property.ofValue(uri.toString()))
+            .sortBuffer(Property.ofValue(200))
+            .batchSize(Property.ofValue(5))
+            .build();
+
+        BulkLoad.Output output = task.run(runContext);
+
+        assertThat(output.getRows(), is(500L));
+        assertThat(query(runContext, "SELECT COUNT(*) AS count FROM test.bulk_table", FetchType.FETCH_ONE).getRow().get("count"), is(500L));
+
+        Map<String, Object> row = query(runContext, "SELECT value, label FROM test.bulk_table WHERE device = 'd3' AND seq = 43", FetchType.FETCH_ONE).getRow();
+        assertThat(row.get("value"), is(64.5));
+        assertThat(row.get("label"), nullValue());
+    }
+}
@@ -3,6 +3,7 @@ package io.kestra.plugin.cassandra.standard;
 import java.util.List;
 
 import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.runners.RunContext;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -10,6 +11,22 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 
 public class CassandraTestHelper {
+    public static CassandraDbSession session() {
+        return CassandraDbSession.builder()
+            .endpoints(List.of(CassandraDbSession.Endpoint.builder().hostname("localhost").build()))
+            .localDatacenter(Property.ofValue("datacenter1"))
+            .build();
+    }
+
+    public static Query.Output query(RunContext runContext, String cql, FetchType fetchType) throws Exception {
+        return Query.builder()
+            .session(session())
+            .cql(Property.ofValue(cql))
+            .fetchType(Property.ofValue(fetchType))
+            .build()
+            .run(runContext);
+    }
+
     public void initServer(RunContext runContext) throws Exception {
 
         Query query = Query.builder()
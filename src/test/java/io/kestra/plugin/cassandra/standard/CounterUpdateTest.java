@@ -0,0 +1,119 @@
+package io.kestra.plugin.cassandra.standard;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+import io.kestra.core.utils.TestsUtils;
+
+import jakarta.inject.Inject;
+
+import static io.kestra.plugin.cassandra.standard.CassandraTestHelper.query;
+import static io.kestra.plugin.cassandra.standard.CassandraTestHelper.session;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+@KestraTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CounterUpdateTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private RunContext runContext;
+
+    @BeforeAll
+    public void startUp() throws Exception {
+        runContext = runContextFactory.of(Map.of());
+        new CassandraTestHelper().initServer(runContext);
+
+        query(runContext, "CREATE TABLE IF NOT EXISTS test.counter_table (page text, day int, views counter, clicks counter, PRIMARY KEY (page, day))", FetchType.NONE);
+        query(runContext, "TRUNCATE test.counter_table", FetchType.NONE);
+        query(runContext, "CREATE TABLE IF NOT EXISTS test.counter_resumed (page text, views counter, PRIMARY KEY (page))", FetchType.NONE);
+        query(runContext, "TRUNCATE test.counter_resumed", FetchType.NONE);
+    }
+
+    @Test
+    void run() throws Exception {
+        File file = runContext.workingDir().createTempFile(".ion").toFile();
+        try (var output = new FileOutputStream(file)) {
+            for (int i = 0; i < 1000; i++) {
+                FileSerde.write(output, Map.of("page", "p" + (i % 10), "day", 1, "views", 1, "clicks", i % 2));
+            }
+        }
+        URI uri = runContext.storage().putFile(file);
+
+        CounterUpdate task = CounterUpdate.builder()
+            .session(session())
+            .keyspace(Property.ofValue("test"))
+            .table(Property.ofValue("counter_table"))
+            .from(Property.ofValue(uri.toString()))
+            .maxKeys(Property.ofValue(4))
+            .build();
+
+        CounterUpdate.Output output = task.run(runContext);
+
+        assertThat(output.getEvents(), is(1000L));
+        assertThat(output.getUpdates(), is(10L));
+        assertThat(output.getSpills(), greaterThan(0));
+
+        Map<String, Object> row = query(runContext, "SELECT views, clicks FROM test.counter_table WHERE page = 'p3' AND day = 1", FetchType.FETCH_ONE).getRow();
+        assertThat(row.get("views"), is(100L));
+        assertThat(row.get("clicks"), is(100L));
+    }
+
+    @Test
+    void retrySkipsDrainedPartitions() throws Exception {
+        File file = runContext.workingDir().createTempFile(".ion").toFile();
+        try (var output = new FileOutputStream(file)) {
+            for (int i = 0; i < 100; i++) {
+                FileSerde.write(output, Map.of("page", "p" + (i % 10), "views", 1));
+            }
+        }
+        URI uri = runContext.storage().putFile(file);
+
+        CounterUpdate task = CounterUpdate.builder()
+            .id("counter")
+            .type(CounterUpdate.class.getName())
+            .session(session())
+            .keyspace(Property.ofValue("test"))
+            .table(Property.ofValue("counter_resumed"))
+            .from(Property.ofValue(uri.toString()))
+            .build();
+        RunContext taskContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        // a previous attempt sent every key partition before failing
+        String taskRunId = (String) ((Map<?, ?>) taskContext.getVariables().get("taskrun")).get("id");
+        taskContext.namespaceKv(taskContext.flowInfo().namespace()).put(
+            "cassandra-counter_" + taskRunId.replaceAll("[^a-zA-Z0-9._-]", "_"),
+            new KVValueAndMetadata(new KVMetadata("test", Duration.ofMinutes(5)), IntStream.range(0, 64).boxed().toList())
+        );
+
+        CounterUpdate.Output output = task.run(taskContext);
+
+        assertThat(output.getEvents(), is(100L));
+        assertThat(output.getUpdates(), is(0L));
+        assertThat(query(runContext, "SELECT count(*) AS count FROM test.counter_resumed", FetchType.FETCH_ONE).getRow().get("count"), is(0L));
+
+        // the checkpoint is removed once the task succeeds, so a new attempt sends everything
+        output = task.run(taskContext);
+
+        assertThat(output.getUpdates(), is(10L));
+        assertThat(query(runContext, "SELECT views FROM test.counter_resumed WHERE page = 'p3'", FetchType.FETCH_ONE).getRow().get("views"), is(10L));
+    }
+}
@@ -0,0 +1,74 @@
+package io.kestra.plugin.cassandra.standard;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.core.utils.TestsUtils;
+import io.kestra.plugin.cassandra.AbstractExport;
+
+import jakarta.inject.Inject;
+
+import static io.kestra.plugin.cassandra.standard.CassandraTestHelper.query;
+import static io.kestra.plugin.cassandra.standard.CassandraTestHelper.session;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+@KestraTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ExportTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private RunContext runContext;
+
+    @BeforeAll
+    public void startUp() throws Exception {
+        runContext = runContextFactory.of(Map.of());
+        new CassandraTestHelper().initServer(runContext);
+
+        query(runContext, "CREATE TABLE IF NOT EXISTS test.export_table (id int, status text, PRIMARY KEY (id))", FetchType.NONE);
+        for (int i = 1; i <= 20; i++) {
+            query(runContext, "INSERT INTO test.export_table (id, status) VALUES (" + i + ", 'created')", FetchType.NONE);
+        }
+    }
+
+    @Test
+    void incremental() throws Exception {
+        Export task = Export.builder()
+            .id("export")
+            .type(Export.class.getName())
+            .session(session())
+            .keyspace(Property.ofValue("test"))
+            .table(Property.ofValue("export_table"))
+            .writetimeColumns(Property.ofValue(List.of("status")))
+            .stateKey(Property.ofValue("export-test-" + IdUtils.create()))
+            .splits(Property.ofValue(4))
+            .build();
+
+        AbstractExport.Output first = task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()));
+        assertThat(first.getSize(), is(first.getScannedRows()));
+        assertThat(first.getPreviousHighWaterMark(), nullValue());
+        assertThat(first.getUri(), notNullValue());
+
+        AbstractExport.Output second = task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()));
+        assertThat(second.getSize(), is(0L));
+        assertThat(second.getPreviousHighWaterMark(), is(first.getHighWaterMark()));
+
+        query(runContext, "UPDATE test.export_table SET status = 'shipped' WHERE id = 3", FetchType.NONE);
+
+        AbstractExport.Output third = task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()));
+        assertThat(third.getSize(), is(1L));
+    }
+}
@@ -0,0 +1,268 @@
+package io.kestra.plugin.cassandra.standard;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.datastax.oss.driver.api.core.DriverException;
+import com.datastax.oss.simulacron.common.codec.ConsistencyLevel;
+import com.datastax.oss.simulacron.common.stubbing.PrimeDsl;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.TestsUtils;
+
+import jakarta.inject.Inject;
+
+import static com.datastax.oss.simulacron.common.stubbing.PrimeDsl.readTimeout;
+import static com.datastax.oss.simulacron.common.stubbing.PrimeDsl.rows;
+import static com.datastax.oss.simulacron.common.stubbing.PrimeDsl.unavailable;
+import static com.datastax.oss.simulacron.common.stubbing.PrimeDsl.when;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Query and trigger behaviour under scripted latency and failures, against an in-process {@link SimulatedCluster}.
+ */
+@KestraTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LatencyTest {
+    private static final String CQL = "SELECT * FROM test.events";
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private SimulatedCluster cluster;
+
+    @BeforeAll
+    void startUp() {
+        this.cluster = new SimulatedCluster();
+    }
+
+    @AfterEach
+    void clearPrimes() {
+        this.cluster.clearPrimes();
+    }
+
+    @AfterAll
+    void tearDown() {
+        this.cluster.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 10, 100 })
+    void queryLatency(int delay) throws Exception {
+        this.cluster.prime(events(3).delay(delay, TimeUnit.MILLISECONDS));
+
+        Query query = this.query(FetchType.FETCH);
+        SimulatedCluster.Latencies latencies = SimulatedCluster.measure(20, () -> {
+            Query.Output output = query.run(this.runContextFactory.of(Map.of()));
+            assertThat(output.getSize(), is(3L));
+        });
+
+        this.runContextFactory.of(Map.of()).logger().info("Query with {} ms latency: {}", delay, latencies);
+        assertThat(latencies.percentile(50).toMillis(), greaterThanOrEqualTo((long) delay));
+    }
+
+    @Test
+    void readTimeoutFails() {
+        this.cluster.prime(when(CQL).then(readTimeout(ConsistencyLevel.LOCAL_ONE, 0, 1, false)));
+
+        assertThrows(DriverException.class, () -> this.query(FetchType.FETCH).run(this.runContextFactory.of(Map.of())));
+    }
+
+    @Test
+    void unavailableFails() {
+        this.cluster.prime(when(CQL).then(unavailable(ConsistencyLevel.LOCAL_ONE, 1, 0)));
+
+        assertThrows(DriverException.class, () -> this.query(FetchType.FETCH).run(this.runContextFactory.of(Map.of())));
+    }
+
+    @Test
+    void killCancelsQuery() throws Exception {
+        this.cluster.prime(events(3).delay(5, TimeUnit.SECONDS));
+
+        Query query = this.query(FetchType.STORE);
+        RunContext runContext = this.runContextFactory.of(Map.of());
+        CompletableFuture<Query.Output> run = CompletableFuture.supplyAsync(() -> {
+            try {
+                return query.run(runContext);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        });
+
+        Thread.sleep(500);
+        long start = System.nanoTime();
+        query.kill();
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> run.get(2, TimeUnit.SECONDS));
+        assertThat(exception.getCause(), instanceOf(CancellationException.class));
+        assertThat(Duration.ofNanos(System.nanoTime() - start).toMillis(), lessThan(2000L));
+        assertThat(runContext.metrics().stream().anyMatch(metric -> metric.getName().equals("cancelled.queries")), is(true));
+    }
+
+    @Test
+    void triggerThroughput() throws Exception {
+        this.cluster.prime(events(3).delay(10, TimeUnit.MILLISECONDS));
+
+        Trigger trigger = this.trigger(null);
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> context = TestsUtils.mockTrigger(this.runContextFactory, trigger);
+
+        SimulatedCluster.Latencies latencies = SimulatedCluster.measure(20, () -> {
+            Optional<Execution> execution = trigger.evaluate(context.getKey(), context.getValue());
+            assertThat(execution.isPresent(), is(true));
+        });
+
+        this.runContextFactory.of(Map.of()).logger().info("Trigger with 10 ms latency: {}", latencies);
+        assertThat(latencies.percentile(50).toMillis(), greaterThanOrEqualTo(10L));
+    }
+
+    @Test
+    void triggerDeadline() throws Exception {
+        // slower than the deadline, but within the driver request timeout
+        this.cluster.prime(events(3).delay(1500, TimeUnit.MILLISECONDS));
+
+        Trigger trigger = this.trigger(Duration.ofMillis(200));
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> context = TestsUtils.mockTrigger(this.runContextFactory, trigger);
+
+        long start = System.nanoTime();
+        Optional<Execution> execution = trigger.evaluate(context.getKey(), context.getValue());
+
+        assertThat(execution.isPresent(), is(false));
+        assertThat(Duration.ofNanos(System.nanoTime() - start).toMillis(), lessThan(1500L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void triggerDeadlineKeepsRowsUnseen() throws Exception {
+        this.cluster.prime(events(3).delay(1500, TimeUnit.MILLISECONDS));
+
+        Trigger trigger = this.triggerBuilder(Duration.ofMillis(200))
+            .deduplicationKeys(Property.ofValue(List.of("id")))
+            .build();
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> context = TestsUtils.mockTrigger(this.runContextFactory, trigger);
+
+        assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+
+        // the cancelled poll did not record its rows, so they are all returned once the cluster is fast again
+        this.cluster.clearPrimes();
+        this.cluster.prime(events(3));
+
+        Optional<Execution> execution = trigger.evaluate(context.getKey(), context.getValue());
+        assertThat(execution.isPresent(), is(true));
+        assertThat(((List<Map<String, Object>>) execution.get().getTrigger().getVariables().get("rows")).size(), is(3));
+        assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+    }
+
+    @Test
+    void triggerDeadlineKeepsAdaptiveInterval() throws Exception {
+        this.cluster.prime(events(3).delay(1500, TimeUnit.MILLISECONDS));
+
+        Trigger trigger = this.triggerBuilder(Duration.ofMillis(200))
+            .id("adaptive")
+            .minInterval(Duration.ofSeconds(10))
+            .maxInterval(Duration.ofSeconds(40))
+            .build();
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> context = TestsUtils.mockTrigger(this.runContextFactory, trigger);
+
+        // the cancelled polls are not empty polls: the interval does not back off
+        for (int i = 0; i < 2; i++) {
+            assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+        }
+
+        ZonedDateTime next = trigger.nextEvaluationDate(context.getKey(), Optional.of(context.getValue()));
+        assertThat(Duration.between(ZonedDateTime.now(), next).toSeconds(), lessThanOrEqualTo(10L));
+    }
+
+    @Test
+    void triggerThrottled() throws Exception {
+        this.cluster.prime(events(3).delay(1500, TimeUnit.MILLISECONDS));
+
+        Trigger slow = this.triggerBuilder(null)
+            .id("slow")
+            .maxConcurrentPolls(Property.ofValue(1))
+            .build();
+        Trigger throttled = this.triggerBuilder(Duration.ofMillis(100))
+            .id("throttled")
+            .maxConcurrentPolls(Property.ofValue(1))
+            .build();
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> slowContext = TestsUtils.mockTrigger(this.runContextFactory, slow);
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> throttledContext = TestsUtils.mockTrigger(this.runContextFactory, throttled);
+
+        CompletableFuture<Optional<Execution>> running = CompletableFuture.supplyAsync(() -> {
+            try {
+                return slow.evaluate(slowContext.getKey(), slowContext.getValue());
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        });
+        Thread.sleep(300);
+
+        // the only slot of the cluster is held by the slow poll
+        long start = System.nanoTime();
+        assertThat(throttled.evaluate(throttledContext.getKey(), throttledContext.getValue()).isPresent(), is(false));
+        assertThat(Duration.ofNanos(System.nanoTime() - start).toMillis(), lessThan(1000L));
+        assertThat(throttledContext.getKey().getRunContext().metrics().stream().anyMatch(metric -> metric.getName().equals("poll.throttled")), is(true));
+
+        assertThat(running.get(5, TimeUnit.SECONDS).isPresent(), is(true));
+    }
+
+    private static PrimeDsl.PrimeBuilder events(int count) {
+        PrimeDsl.RowBuilder rows = rows();
+        for (int i = 0; i < count; i++) {
+            rows = rows.row("id", i, "name", "event " + i);
+        }
+
+        return when(CQL).then(rows.columnTypes("id", "int", "name", "varchar"));
+    }
+
+    private Query query(FetchType fetchType) {
+        return Query.builder()
+            .id("query")
+            .type(Query.class.getName())
+            .session(this.cluster.session())
+            .cql(Property.ofValue(CQL))
+            .fetchType(Property.ofValue(fetchType))
+            .build();
+    }
+
+    private Trigger trigger(Duration pollTimeout) {
+        return this.triggerBuilder(pollTimeout).build();
+    }
+
+    private Trigger.TriggerBuilder<?, ?> triggerBuilder(Duration pollTimeout) {
+        return Trigger.builder()
+            .id("watch")
+            .type(Trigger.class.getName())
+            .session(this.cluster.session())
+            .cql(Property.ofValue(CQL))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .pollTimeout(pollTimeout == null ? null : Property.ofValue(pollTimeout));
+    }
+}
@@ -0,0 +1,68 @@
+package io.kestra.plugin.cassandra.standard;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+
+@KestraTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PlanScanTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private RunContext runContext;
+
+    @BeforeAll
+    public void startUp() throws Exception {
+        runContext = runContextFactory.of(Map.of());
+        new CassandraTestHelper().initServer(runContext);
+    }
+
+    @Test
+    void run() throws Exception {
+        PlanScan task = PlanScan.builder()
+            .session(
+                CassandraDbSession.builder()
+                    .endpoints(List.of(CassandraDbSession.Endpoint.builder().hostname("localhost").build()))
+                    .localDatacenter(Property.ofValue("datacenter1"))
+                    .build()
+            )
+            .keyspace(Property.ofValue("test"))
+            .table(Property.ofValue("test_table"))
+            .splits(Property.ofValue(8))
+            .build();
+
+        PlanScan.Output output = task.run(runContext);
+
+        assertThat(output.getSize(), greaterThan(1L));
+        assertThat(output.getRanges().get(0).getWhere(), startsWith("token(id) > "));
+
+        long unbounded = output.getRanges().stream().filter(range -> range.getEnd() == null).count();
+        assertThat(unbounded, is(1L));
+
+        Query query = Query.builder()
+            .session(task.getSession())
+            .cql(Property.ofValue("SELECT count(*) FROM test.test_table WHERE " + output.getRanges().get(0).getWhere()))
+            .fetchType(Property.ofValue(FetchType.FETCH_ONE))
+            .build();
+        assertThat(query.run(runContext).getRow(), not(nullValue()));
+    }
+}
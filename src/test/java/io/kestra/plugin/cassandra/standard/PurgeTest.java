@@ -0,0 +1,128 @@
+package io.kestra.plugin.cassandra.standard;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.cassandra.AbstractPurge;
+
+import jakarta.inject.Inject;
+
+import static io.kestra.plugin.cassandra.standard.CassandraTestHelper.query;
+import static io.kestra.plugin.cassandra.standard.CassandraTestHelper.session;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PurgeTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private RunContext runContext;
+
+    @BeforeAll
+    public void startUp() throws Exception {
+        runContext = runContextFactory.of(Map.of());
+        new CassandraTestHelper().initServer(runContext);
+
+        query(runContext, "CREATE TABLE IF NOT EXISTS test.purge_table (device text, day int, value int, PRIMARY KEY (device, day))", FetchType.NONE);
+        for (int device = 1; device <= 5; device++) {
+            for (int day = 1; day <= 10; day++) {
+                query(runContext, "INSERT INTO test.purge_table (device, day, value) VALUES ('d" + device + "', " + day + ", " + day + ")", FetchType.NONE);
+            }
+        }
+
+        // p1 is entirely before day 4, p2 straddles it and p3 is entirely after it
+        query(runContext, "CREATE TABLE IF NOT EXISTS test.purge_partitions (device text, day int, value int, PRIMARY KEY (device, day))", FetchType.NONE);
+        for (int day = 1; day <= 3; day++) {
+            query(runContext, "INSERT INTO test.purge_partitions (device, day, value) VALUES ('p1', " + day + ", " + day + ")", FetchType.NONE);
+        }
+        for (int day = 1; day <= 6; day++) {
+            query(runContext, "INSERT INTO test.purge_partitions (device, day, value) VALUES ('p2', " + day + ", " + day + ")", FetchType.NONE);
+        }
+        for (int day = 5; day <= 6; day++) {
+            query(runContext, "INSERT INTO test.purge_partitions (device, day, value) VALUES ('p3', " + day + ", " + day + ")", FetchType.NONE);
+        }
+    }
+
+    @Test
+    void run() throws Exception {
+        Purge dryRun = Purge.builder()
+            .session(session())
+            .keyspace(Property.ofValue("test"))
+            .table(Property.ofValue("purge_table"))
+            .clusteringBefore(Property.ofValue("4"))
+            .granularity(Property.ofValue(AbstractPurge.Granularity.RANGE))
+            .dryRun(Property.ofValue(true))
+            .splits(Property.ofValue(4))
+            .build();
+
+        AbstractPurge.Output output = dryRun.run(runContext);
+        assertThat(output.getRows(), is(15L));
+        assertThat(output.getPartitions(), is(5L));
+        assertThat(output.getTombstones(), is(5L));
+        assertThat(query(runContext, "SELECT count(*) AS count FROM test.purge_table", FetchType.FETCH_ONE).getRow().get("count"), is(50L));
+
+        Purge purge = Purge.builder()
+            .session(session())
+            .keyspace(Property.ofValue("test"))
+            .table(Property.ofValue("purge_table"))
+            .where(Property.ofValue("value > 8"))
+            .batchSize(Property.ofValue(1))
+            .rate(Property.ofValue(100))
+            .build();
+
+        output = purge.run(runContext);
+        assertThat(output.getRows(), is(10L));
+        assertThat(output.getTombstones(), is(10L));
+        assertThat(query(runContext, "SELECT count(*) AS count FROM test.purge_table", FetchType.FETCH_ONE).getRow().get("count"), is(40L));
+    }
+
+    @Test
+    void partition() throws Exception {
+        Purge purge = Purge.builder()
+            .session(session())
+            .keyspace(Property.ofValue("test"))
+            .table(Property.ofValue("purge_partitions"))
+            .clusteringBefore(Property.ofValue("4"))
+            .granularity(Property.ofValue(AbstractPurge.Granularity.PARTITION))
+            .partitionTombstones(Property.ofValue(true))
+            .build();
+
+        AbstractPurge.Output output = purge.run(runContext);
+        assertThat(output.getRows(), is(6L));
+        assertThat(output.getPartitions(), is(2L));
+        assertThat(output.getTombstones(), is(2L));
+
+        assertThat(query(runContext, "SELECT count(*) AS count FROM test.purge_partitions WHERE device = 'p1'", FetchType.FETCH_ONE).getRow().get("count"), is(0L));
+        assertThat(query(runContext, "SELECT count(*) AS count FROM test.purge_partitions WHERE device = 'p2'", FetchType.FETCH_ONE).getRow().get("count"), is(3L));
+        assertThat(query(runContext, "SELECT count(*) AS count FROM test.purge_partitions WHERE device = 'p3'", FetchType.FETCH_ONE).getRow().get("count"), is(2L));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = AbstractPurge.Granularity.class, names = { "RANGE", "PARTITION" })
+    void tombstoneGranularityRejectsFilters(AbstractPurge.Granularity granularity) throws Exception {
+        Purge purge = Purge.builder()
+            .session(session())
+            .keyspace(Property.ofValue("test"))
+            .table(Property.ofValue("purge_table"))
+            .clusteringBefore(Property.ofValue("4"))
+            .where(Property.ofValue("value = 1"))
+            .granularity(Property.ofValue(granularity))
+            .build();
+
+        assertThrows(IllegalArgumentException.class, () -> purge.run(runContext));
+        assertThat(query(runContext, "SELECT count(*) AS count FROM test.purge_table WHERE device = 'd1' AND day = 1", FetchType.FETCH_ONE).getRow().get("count"), is(1L));
+    }
+}
@@ -1,21 +1,34 @@
 package io.kestra.plugin.cassandra.standard;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.net.URI;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.protocol.internal.util.Bytes;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.primitives.Longs;
 
@@ -24,11 +37,24 @@ import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+import io.kestra.plugin.cassandra.QueryGuardrails;
+import io.kestra.plugin.cassandra.ResultCache;
+import io.kestra.core.utils.TestsUtils;
 
 import jakarta.inject.Inject;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @KestraTest
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -88,4 +114,284 @@ class QueryTest {
         assertThat(queryOutput.getRow().get("c_list"), is(List.of("a", "b", "c")));
         assertThat(queryOutput.getRow().get("c_tuple"), is(List.of(3, "hours")));
     }
+
+    @Test
+    void checkpointedStore() throws Exception {
+        Query query = Query.builder()
+            .id("checkpointedStore")
+            .type(Query.class.getName())
+            .session(
+                CassandraDbSession.builder()
+                    .endpoints(List.of(CassandraDbSession.Endpoint.builder().hostname("localhost").build()))
+                    .localDatacenter(Property.ofValue("datacenter1"))
+                    .build()
+            )
+            .cql(Property.ofValue("SELECT * FROM test.test_table;"))
+            .fetchType(Property.ofValue(FetchType.STORE))
+            .pageSize(Property.ofValue(1))
+            .checkpoint(Property.ofValue(true))
+            .checkpointRows(Property.ofValue(1))
+            .build();
+
+        Query.Output queryOutput = query.run(TestsUtils.mockRunContext(runContextFactory, query, Map.of()));
+
+        assertThat(queryOutput.getSize(), is(1L));
+        assertThat(queryOutput.getUri(), notNullValue());
+    }
+
+    @Test
+    void checkpointedStoreResume() throws Exception {
+        String cql = "SELECT id, name FROM test.export_resume";
+        CassandraTestHelper.query(runContext, "CREATE TABLE IF NOT EXISTS test.export_resume (id int, name text, PRIMARY KEY (id))", FetchType.NONE);
+        for (int i = 0; i < 10; i++) {
+            CassandraTestHelper.query(runContext, "INSERT INTO test.export_resume (id, name) VALUES (" + i + ", 'row " + i + "')", FetchType.NONE);
+        }
+
+        Query query = Query.builder()
+            .id("checkpointedStoreResume")
+            .type(Query.class.getName())
+            .session(CassandraTestHelper.session())
+            .cql(Property.ofValue(cql))
+            .fetchType(Property.ofValue(FetchType.STORE))
+            .pageSize(Property.ofValue(4))
+            .checkpoint(Property.ofValue(true))
+            .checkpointRows(Property.ofValue(4))
+            .build();
+        RunContext queryContext = TestsUtils.mockRunContext(runContextFactory, query, Map.of());
+
+        // a previous attempt wrote the first page as a chunk, then failed before the next one
+        URI chunk;
+        String pagingState;
+        try (CqlSession session = CassandraTestHelper.session().connect(runContext)) {
+            ResultSet rs = session.execute(SimpleStatement.newInstance(cql).setPageSize(4));
+            File file = queryContext.workingDir().createTempFile(".ion").toFile();
+            try (var output = new BufferedOutputStream(new FileOutputStream(file))) {
+                for (Row row : rs.currentPage()) {
+                    FileSerde.write(output, Map.of("id", row.getInt("id"), "name", row.getString("name")));
+                }
+            }
+            chunk = queryContext.storage().putFile(file);
+            pagingState = Base64.getEncoder().encodeToString(Bytes.getArray(rs.getExecutionInfo().getPagingState()));
+        }
+
+        String key = "cassandra-export_" + ((String) ((Map<?, ?>) queryContext.getVariables().get("taskrun")).get("id")).replaceAll("[^a-zA-Z0-9._-]", "_");
+        KVStore kv = queryContext.namespaceKv(queryContext.flowInfo().namespace());
+        kv.put(key, new KVValueAndMetadata(
+            new KVMetadata("test", Duration.ofMinutes(5)),
+            Map.of("chunks", List.of(chunk.toString()), "count", 4, "completed", false, "pagingState", pagingState)
+        ));
+
+        Query.Output output = query.run(queryContext);
+
+        assertThat(output.getSize(), is(10L));
+        try (var reader = new BufferedReader(new InputStreamReader(queryContext.storage().getFile(output.getUri())))) {
+            List<Object> rows = FileSerde.readAll(reader).collectList().block();
+
+            assertThat(rows.size(), is(10));
+            assertThat(rows.stream().map(row -> ((Map<?, ?>) row).get("id")).distinct().count(), is(10L));
+        }
+
+        // the chunks and the checkpoint are cleaned up once merged
+        assertThat(queryContext.storage().isFileExist(chunk), is(false));
+        assertThat(kv.getValue(key).isPresent(), is(false));
+    }
+
+    @Test
+    void cachedFetch() throws Exception {
+        Query query = Query.builder()
+            .session(
+                CassandraDbSession.builder()
+                    .endpoints(List.of(CassandraDbSession.Endpoint.builder().hostname("localhost").build()))
+                    .localDatacenter(Property.ofValue("datacenter1"))
+                    .build()
+            )
+            .cql(Property.ofValue("SELECT id, name FROM test.test_table;"))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .cache(ResultCache.builder().build())
+            .build();
+
+        Query.Output first = query.run(runContext);
+        Query.Output second = query.run(runContext);
+
+        assertThat(first.getSize(), is(1L));
+        assertThat(second, sameInstance(first));
+    }
+
+    @Test
+    void cacheScopedToNamespace() throws Exception {
+        Query query = Query.builder()
+            .id("cached")
+            .type(Query.class.getName())
+            .session(
+                CassandraDbSession.builder()
+                    .endpoints(List.of(CassandraDbSession.Endpoint.builder().hostname("localhost").build()))
+                    .localDatacenter(Property.ofValue("datacenter1"))
+                    .build()
+            )
+            .cql(Property.ofValue("SELECT id, name FROM test.test_table WHERE id = 1;"))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .cache(ResultCache.builder().build())
+            .build();
+
+        Query.Output global = query.run(runContext);
+        Query.Output namespaced = query.run(TestsUtils.mockRunContext(runContextFactory, query, Map.of()));
+        Query.Output again = query.run(TestsUtils.mockRunContext(runContextFactory, query, Map.of()));
+
+        assertThat(namespaced, not(sameInstance(global)));
+        assertThat(again, sameInstance(namespaced));
+    }
+
+    @Test
+    void fanOut() throws Exception {
+        Query query = Query.builder()
+            .session(
+                CassandraDbSession.builder()
+                    .endpoints(List.of(CassandraDbSession.Endpoint.builder().hostname("localhost").build()))
+                    .localDatacenter(Property.ofValue("datacenter1"))
+                    .build()
+            )
+            .cql(Property.ofValue("SELECT id, name FROM test.test_table WHERE id = ?"))
+            .keys(Property.ofValue(List.of("1", "missing", List.of("1"))))
+            .concurrency(Property.ofValue(2))
+            .mergeOrder(Property.ofValue(List.of("id")))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        Query.Output queryOutput = query.run(runContext);
+
+        assertThat(queryOutput.getSize(), is(2L));
+        assertThat(queryOutput.getRows().getFirst().get("name"), is("Dusan"));
+    }
+
+    @Test
+    void fanOutStore() throws Exception {
+        Query query = Query.builder()
+            .session(CassandraTestHelper.session())
+            .cql(Property.ofValue("SELECT id, name FROM test.test_table WHERE id = ?"))
+            .keys(Property.ofValue(List.of("1", "missing", List.of("1"))))
+            .concurrency(Property.ofValue(2))
+            .mergeOrder(Property.ofValue(List.of("id")))
+            .fetchType(Property.ofValue(FetchType.STORE))
+            .build();
+
+        Query.Output queryOutput = query.run(runContext);
+
+        assertThat(queryOutput.getSize(), is(2L));
+        try (var reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(queryOutput.getUri())))) {
+            List<Object> rows = FileSerde.readAll(reader).collectList().block();
+
+            assertThat(rows.size(), is(2));
+            assertThat(((Map<?, ?>) rows.getFirst()).get("name"), is("Dusan"));
+        }
+    }
+
+    @Test
+    void fanOutFetchOneStopsAtFirstRow() throws Exception {
+        Query query = Query.builder()
+            .session(CassandraTestHelper.session())
+            .cql(Property.ofValue("SELECT id, name FROM test.test_table WHERE id = ?"))
+            .keys(Property.ofValue(List.of("1", "missing", "other")))
+            .concurrency(Property.ofValue(1))
+            .fetchType(Property.ofValue(FetchType.FETCH_ONE))
+            .build();
+
+        RunContext fanOutContext = runContextFactory.of(Map.of());
+        Query.Output queryOutput = query.run(fanOutContext);
+
+        assertThat(queryOutput.getSize(), is(1L));
+        assertThat(queryOutput.getRow().get("name"), is("Dusan"));
+        assertThat(
+            fanOutContext.metrics().stream().filter(metric -> metric.getName().equals("fanout.keys")).findFirst().orElseThrow().getValue(),
+            is(1.0)
+        );
+    }
+
+    @Test
+    void compactRows() throws Exception {
+        Query query = Query.builder()
+            .session(
+                CassandraDbSession.builder()
+                    .endpoints(List.of(CassandraDbSession.Endpoint.builder().hostname("localhost").build()))
+                    .localDatacenter(Property.ofValue("datacenter1"))
+                    .build()
+            )
+            .cql(Property.ofValue("SELECT id, name, c_int FROM test.test_table"))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .rowFormat(Property.ofValue(Query.RowFormat.COMPACT))
+            .build();
+
+        Query.Output queryOutput = query.run(runContext);
+
+        assertThat(queryOutput.getSize(), is(1L));
+        assertThat(queryOutput.getRows(), nullValue());
+        assertThat(queryOutput.getColumns(), is(List.of("id", "name", "c_int")));
+        assertThat(queryOutput.getValues().getFirst(), is(List.of("1", "Dusan", 2147483647)));
+    }
+
+    @Test
+    void jsonPassThrough() throws Exception {
+        Query fetch = Query.builder()
+            .session(
+                CassandraDbSession.builder()
+                    .endpoints(List.of(CassandraDbSession.Endpoint.builder().hostname("localhost").build()))
+                    .localDatacenter(Property.ofValue("datacenter1"))
+                    .build()
+            )
+            .cql(Property.ofValue("SELECT JSON id, name, c_int FROM test.test_table"))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        Query.Output fetched = fetch.run(runContext);
+
+        assertThat(fetched.getSize(), is(1L));
+        assertThat(fetched.getRows().getFirst().get("name"), is("Dusan"));
+        assertThat(fetched.getRows().getFirst().get("c_int"), is(2147483647));
+
+        Query store = Query.builder()
+            .session(fetch.getSession())
+            .cql(fetch.getCql())
+            .fetchType(Property.ofValue(FetchType.STORE))
+            .build();
+
+        Query.Output stored = store.run(runContext);
+
+        try (var reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(stored.getUri())))) {
+            List<Object> rows = FileSerde.readAll(reader).collectList().block();
+
+            assertThat(rows.size(), is(1));
+            assertThat(((Map<?, ?>) rows.getFirst()).get("id"), is("1"));
+        }
+    }
+
+    @Test
+    void guardrails() throws Exception {
+        QueryGuardrails guardrails = QueryGuardrails.builder()
+            .policy(Property.ofValue(QueryGuardrails.Policy.BLOCK))
+            .build();
+
+        Query singlePartition = Query.builder()
+            .session(
+                CassandraDbSession.builder()
+                    .endpoints(List.of(CassandraDbSession.Endpoint.builder().hostname("localhost").build()))
+                    .localDatacenter(Property.ofValue("datacenter1"))
+                    .build()
+            )
+            .cql(Property.ofValue("SELECT id, name FROM test.test_table WHERE id = '1'"))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .guardrails(guardrails)
+            .build();
+
+        assertThat(singlePartition.run(runContext).getSize(), is(1L));
+
+        Query fullScan = Query.builder()
+            .session(singlePartition.getSession())
+            .cql(Property.ofValue("SELECT * FROM test.test_table WHERE name = 'Dusan' ALLOW FILTERING"))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .guardrails(guardrails)
+            .build();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> fullScan.run(runContext));
+        assertThat(exception.getMessage(), containsString("ALLOW FILTERING"));
+        assertThat(exception.getMessage(), containsString("without LIMIT"));
+    }
 }
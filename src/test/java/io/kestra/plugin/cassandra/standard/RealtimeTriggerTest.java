@@ -0,0 +1,188 @@
+package io.kestra.plugin.cassandra.standard;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.core.utils.TestsUtils;
+
+import jakarta.inject.Inject;
+import reactor.core.publisher.Flux;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+class RealtimeTriggerTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void run() throws Exception {
+        CassandraDbSession session = CassandraDbSession.builder()
+            .endpoints(List.of(CassandraDbSession.Endpoint.builder().hostname("localhost").build()))
+            .localDatacenter(Property.ofValue("datacenter1"))
+            .build();
+
+        String table = "test.realtime_" + IdUtils.create().toLowerCase().replaceAll("[^a-z0-9]", "");
+        for (String cql : List.of(
+            "CREATE TABLE IF NOT EXISTS " + table + " (bucket text, event_id timeuuid, name text, PRIMARY KEY (bucket, event_id))",
+            "INSERT INTO " + table + " (bucket, event_id, name) VALUES ('b1', now(), 'first')",
+            "INSERT INTO " + table + " (bucket, event_id, name) VALUES ('b1', now(), 'second')"
+        )) {
+            Query query = Query.builder().session(session).cql(Property.ofValue(cql)).build();
+            query.run(runContextFactory.of(Map.of()));
+        }
+
+        RealtimeTrigger trigger = RealtimeTrigger.builder()
+            .id("realtime")
+            .type(RealtimeTrigger.class.getName())
+            .session(session)
+            .cql(Property.ofValue("SELECT * FROM " + table + " WHERE bucket = 'b1' AND event_id > ?"))
+            .cursorColumn(Property.ofValue("event_id"))
+            .initialCursor(Property.ofValue("13814000-1dd2-11b2-8080-808080808080"))
+            .build();
+
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> context = TestsUtils.mockTrigger(runContextFactory, trigger);
+        List<Execution> executions = Flux.from(trigger.evaluate(context.getKey(), context.getValue()))
+            .take(2)
+            .collectList()
+            .block(Duration.ofSeconds(30));
+        trigger.kill();
+
+        assertThat(executions.size(), is(2));
+        assertThat(((Map<?, ?>) executions.get(0).getTrigger().getVariables().get("row")).get("name"), is("first"));
+        assertThat(((Map<?, ?>) executions.get(1).getTrigger().getVariables().get("row")).get("name"), is("second"));
+    }
+
+    @Test
+    void resumeAfterDeliveredRows() throws Exception {
+        CassandraDbSession session = CassandraDbSession.builder()
+            .endpoints(List.of(CassandraDbSession.Endpoint.builder().hostname("localhost").build()))
+            .localDatacenter(Property.ofValue("datacenter1"))
+            .build();
+
+        String table = "test.realtime_" + IdUtils.create().toLowerCase().replaceAll("[^a-z0-9]", "");
+        for (String cql : List.of(
+            "CREATE TABLE IF NOT EXISTS " + table + " (bucket text, event_id timeuuid, name text, PRIMARY KEY (bucket, event_id))",
+            "INSERT INTO " + table + " (bucket, event_id, name) VALUES ('b1', now(), 'first')",
+            "INSERT INTO " + table + " (bucket, event_id, name) VALUES ('b1', now(), 'second')",
+            "INSERT INTO " + table + " (bucket, event_id, name) VALUES ('b1', now(), 'third')"
+        )) {
+            Query query = Query.builder().session(session).cql(Property.ofValue(cql)).build();
+            query.run(runContextFactory.of(Map.of()));
+        }
+
+        RealtimeTrigger first = this.trigger(session, table);
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> context = TestsUtils.mockTrigger(runContextFactory, first);
+
+        // only one execution is requested, so only the first row is read and its cursor saved
+        List<Execution> delivered = Flux.from(first.evaluate(context.getKey(), context.getValue()))
+            .take(1)
+            .collectList()
+            .block(Duration.ofSeconds(30));
+        first.kill();
+
+        RealtimeTrigger restarted = this.trigger(session, table);
+        List<Execution> resumed = Flux.from(restarted.evaluate(context.getKey(), context.getValue()))
+            .take(2)
+            .collectList()
+            .block(Duration.ofSeconds(30));
+        restarted.kill();
+
+        assertThat(((Map<?, ?>) delivered.getFirst().getTrigger().getVariables().get("row")).get("name"), is("first"));
+        assertThat(resumed.size(), is(2));
+        assertThat(((Map<?, ?>) resumed.get(0).getTrigger().getVariables().get("row")).get("name"), is("second"));
+        assertThat(((Map<?, ?>) resumed.get(1).getTrigger().getVariables().get("row")).get("name"), is("third"));
+    }
+
+    @Test
+    void resumeWithinSharedCursor() throws Exception {
+        CassandraDbSession session = CassandraDbSession.builder()
+            .endpoints(List.of(CassandraDbSession.Endpoint.builder().hostname("localhost").build()))
+            .localDatacenter(Property.ofValue("datacenter1"))
+            .build();
+
+        String table = "test.realtime_" + IdUtils.create().toLowerCase().replaceAll("[^a-z0-9]", "");
+        for (String cql : List.of(
+            "CREATE TABLE IF NOT EXISTS " + table + " (bucket text, ts timestamp, id int, name text, PRIMARY KEY (bucket, ts, id))",
+            "INSERT INTO " + table + " (bucket, ts, id, name) VALUES ('b1', '2024-01-01T00:00:00Z', 1, 'first')",
+            "INSERT INTO " + table + " (bucket, ts, id, name) VALUES ('b1', '2024-01-01T00:00:00Z', 2, 'second')",
+            "INSERT INTO " + table + " (bucket, ts, id, name) VALUES ('b1', '2024-01-01T00:00:00Z', 3, 'third')"
+        )) {
+            Query query = Query.builder().session(session).cql(Property.ofValue(cql)).build();
+            query.run(runContextFactory.of(Map.of()));
+        }
+
+        RealtimeTrigger first = this.timestampTrigger(session, table);
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> context = TestsUtils.mockTrigger(runContextFactory, first);
+
+        List<Execution> delivered = Flux.from(first.evaluate(context.getKey(), context.getValue()))
+            .take(1)
+            .collectList()
+            .block(Duration.ofSeconds(30));
+        first.kill();
+
+        // the rows sharing the saved timestamp are read again, and only the one already emitted is skipped
+        RealtimeTrigger restarted = this.timestampTrigger(session, table);
+        List<Execution> resumed = Flux.from(restarted.evaluate(context.getKey(), context.getValue()))
+            .take(2)
+            .collectList()
+            .block(Duration.ofSeconds(30));
+        restarted.kill();
+
+        assertThat(((Map<?, ?>) delivered.getFirst().getTrigger().getVariables().get("row")).get("name"), is("first"));
+        assertThat(((Map<?, ?>) resumed.get(0).getTrigger().getVariables().get("row")).get("name"), is("second"));
+        assertThat(((Map<?, ?>) resumed.get(1).getTrigger().getVariables().get("row")).get("name"), is("third"));
+    }
+
+    @Test
+    void rejectsQueryWithoutCursorMarker() {
+        CassandraDbSession session = CassandraDbSession.builder()
+            .endpoints(List.of(CassandraDbSession.Endpoint.builder().hostname("localhost").build()))
+            .localDatacenter(Property.ofValue("datacenter1"))
+            .build();
+
+        RealtimeTrigger trigger = RealtimeTrigger.builder()
+            .id("realtime")
+            .type(RealtimeTrigger.class.getName())
+            .session(session)
+            .cql(Property.ofValue("SELECT * FROM system.local"))
+            .cursorColumn(Property.ofValue("key"))
+            .build();
+
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> context = TestsUtils.mockTrigger(runContextFactory, trigger);
+        assertThrows(IllegalArgumentException.class, () -> Flux.from(trigger.evaluate(context.getKey(), context.getValue())).blockFirst(Duration.ofSeconds(30)));
+    }
+
+    private RealtimeTrigger timestampTrigger(CassandraDbSession session, String table) {
+        return RealtimeTrigger.builder()
+            .id("realtime-ts")
+            .type(RealtimeTrigger.class.getName())
+            .session(session)
+            .cql(Property.ofValue("SELECT * FROM " + table + " WHERE bucket = 'b1' AND ts >= ?"))
+            .cursorColumn(Property.ofValue("ts"))
+            .initialCursor(Property.ofValue("2023-01-01T00:00:00Z"))
+            .build();
+    }
+
+    private RealtimeTrigger trigger(CassandraDbSession session, String table) {
+        return RealtimeTrigger.builder()
+            .id("realtime")
+            .type(RealtimeTrigger.class.getName())
+            .session(session)
+            .cql(Property.ofValue("SELECT * FROM " + table + " WHERE bucket = 'b1' AND event_id > ?"))
+            .cursorColumn(Property.ofValue("event_id"))
+            .initialCursor(Property.ofValue("13814000-1dd2-11b2-8080-808080808080"))
+            .build();
+    }
+}
@@ -0,0 +1,100 @@
+package io.kestra.plugin.cassandra.standard;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.datastax.oss.simulacron.common.cluster.ClusterSpec;
+import com.datastax.oss.simulacron.common.stubbing.PrimeDsl;
+import com.datastax.oss.simulacron.server.BoundCluster;
+import com.datastax.oss.simulacron.server.Server;
+
+import io.kestra.core.models.property.Property;
+
+/**
+ * A single node cluster served in process by Simulacron: it speaks the native protocol but answers from scripted
+ * primes, so results, delays and errors are deterministic and no Cassandra is needed.
+ */
+class SimulatedCluster implements AutoCloseable {
+    private final Server server;
+    private final BoundCluster cluster;
+
+    SimulatedCluster() {
+        this.server = Server.builder().build();
+        this.cluster = this.server.register(ClusterSpec.builder().withNodes(1));
+    }
+
+    CassandraDbSession session() {
+        InetSocketAddress address = this.cluster.node(0).inetSocketAddress();
+
+        return CassandraDbSession.builder()
+            .endpoints(List.of(
+                CassandraDbSession.Endpoint.builder()
+                    .hostname(address.getAddress().getHostAddress())
+                    .port(Property.ofValue(address.getPort()))
+                    .build()
+            ))
+            .localDatacenter(Property.ofValue("dc1"))
+            .build();
+    }
+
+    void prime(PrimeDsl.PrimeBuilder prime) {
+        this.cluster.prime(prime);
+    }
+
+    void clearPrimes() {
+        this.cluster.clearPrimes(true);
+    }
+
+    /**
+     * Runs the action the given number of times and records the duration of each run.
+     */
+    static Latencies measure(int runs, Action action) throws Exception {
+        List<Duration> durations = new ArrayList<>(runs);
+        long start = System.nanoTime();
+
+        for (int i = 0; i < runs; i++) {
+            long runStart = System.nanoTime();
+            action.run();
+            durations.add(Duration.ofNanos(System.nanoTime() - runStart));
+        }
+
+        return new Latencies(durations, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    @Override
+    public void close() {
+        this.server.unregister(this.cluster);
+        this.server.close();
+    }
+
+    @FunctionalInterface
+    interface Action {
+        void run() throws Exception;
+    }
+
+    record Latencies(List<Duration> durations, Duration total) {
+        Duration percentile(double percentile) {
+            List<Duration> sorted = this.durations.stream().sorted().toList();
+            int index = (int) Math.ceil(percentile / 100 * sorted.size()) - 1;
+
+            return sorted.get(Math.max(0, index));
+        }
+
+        double throughput() {
+            return this.durations.size() / (this.total.toNanos() / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "%d runs, %.1f runs/s, p50 %d ms, p99 %d ms",
+                this.durations.size(),
+                this.throughput(),
+                this.percentile(50).toMillis(),
+                this.percentile(99).toMillis()
+            );
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package io.kestra.plugin.cassandra.standard;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.cassandra.AbstractStress;
+
+import jakarta.inject.Inject;
+
+import static io.kestra.plugin.cassandra.standard.CassandraTestHelper.query;
+import static io.kestra.plugin.cassandra.standard.CassandraTestHelper.session;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+@KestraTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StressTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private RunContext runContext;
+
+    @BeforeAll
+    public void startUp() throws Exception {
+        runContext = runContextFactory.of(Map.of());
+        new CassandraTestHelper().initServer(runContext);
+
+        query(runContext, "CREATE TABLE IF NOT EXISTS test.stress_table (id bigint, payload text, PRIMARY KEY (id))", FetchType.NONE);
+    }
+
+    @Test
+    void run() throws Exception {
+        Stress task = Stress.builder()
+            .session(session())
+            .keyspace(Property.ofValue("test"))
+            .table(Property.ofValue("stress_table"))
+            .columns(List.of(
+                AbstractStress.ColumnGenerator.builder()
+                    .column(Property.ofValue("id"))
+                    .type(Property.ofValue(AbstractStress.GeneratorType.ZIPF))
+                    .max(Property.ofValue(100L))
+                    .build(),
+                AbstractStress.ColumnGenerator.builder()
+                    .column(Property.ofValue("payload"))
+                    .type(Property.ofValue(AbstractStress.GeneratorType.PAYLOAD))
+                    .size(Property.ofValue(32))
+                    .build()
+            ))
+            .readRatio(Property.ofValue(0.5))
+            .operations(Property.ofValue(500L))
+            .duration(Property.ofValue(Duration.ofMinutes(1)))
+            .concurrency(Property.ofValue(16))
+            .seed(Property.ofValue(42L))
+            .build();
+
+        AbstractStress.Output output = task.run(runContext);
+
+        assertThat(output.getOperations(), is(500L));
+        assertThat(output.getErrors(), is(0L));
+        assertThat(output.getReads() + output.getWrites(), is(500L));
+        assertThat(output.getThroughput(), greaterThan(0.0));
+        assertThat(output.getWriteLatency().get("p99"), notNullValue());
+    }
+}
@@ -1,5 +1,7 @@
 package io.kestra.plugin.cassandra.standard;
 
+import java.time.Duration;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -12,13 +14,21 @@ import org.junit.jupiter.api.TestInstance;
 import com.google.common.collect.ImmutableMap;
 
 import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.conditions.ConditionContext;
 import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.TestsUtils;
 import jakarta.inject.Inject;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @KestraTest(startRunner = true, startScheduler = true)
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -46,4 +56,131 @@ public class TriggerTest {
         var rows = (List<Map<String, Object>>) execution.getTrigger().getVariables().get("rows");
         assertThat(rows.size(), is(1));
     }
+
+    @Test
+    @EvaluateTrigger(flow = "flows/cassandra-listen-probe.yml", triggerId = "watch")
+    public void testCassandraTriggerWithProbe(Optional<Execution> optionalExecution) {
+        assertThat(optionalExecution.isPresent(), is(true));
+        Execution execution = optionalExecution.get();
+
+        var rows = (List<Map<String, Object>>) execution.getTrigger().getVariables().get("rows");
+        assertThat(rows.size(), is(1));
+    }
+
+    @Test
+    @EvaluateTrigger(flow = "flows/cassandra-listen-dedup.yml", triggerId = "watch")
+    public void testCassandraTriggerWithDeduplication(Optional<Execution> optionalExecution) {
+        assertThat(optionalExecution.isPresent(), is(true));
+        Execution execution = optionalExecution.get();
+
+        var rows = (List<Map<String, Object>>) execution.getTrigger().getVariables().get("rows");
+        assertThat(rows.size(), is(1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void deduplicationAcrossEvaluations() throws Exception {
+        CassandraTestHelper.query(runContext, "CREATE TABLE IF NOT EXISTS test.dedup_events (id int, name text, PRIMARY KEY (id))", FetchType.NONE);
+        CassandraTestHelper.query(runContext, "TRUNCATE test.dedup_events", FetchType.NONE);
+        CassandraTestHelper.query(runContext, "INSERT INTO test.dedup_events (id, name) VALUES (1, 'first')", FetchType.NONE);
+        CassandraTestHelper.query(runContext, "INSERT INTO test.dedup_events (id, name) VALUES (2, 'second')", FetchType.NONE);
+
+        Trigger trigger = Trigger.builder()
+            .id("dedup")
+            .type(Trigger.class.getName())
+            .session(CassandraTestHelper.session())
+            .cql(Property.ofValue("SELECT * FROM test.dedup_events"))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .deduplicationKeys(Property.ofValue(List.of("id")))
+            .build();
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> context = TestsUtils.mockTrigger(runContextFactory, trigger);
+
+        Optional<Execution> first = trigger.evaluate(context.getKey(), context.getValue());
+        assertThat(first.isPresent(), is(true));
+        assertThat(((List<Map<String, Object>>) first.get().getTrigger().getVariables().get("rows")).size(), is(2));
+
+        // the same rows again: all of them were already seen
+        assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+
+        CassandraTestHelper.query(runContext, "INSERT INTO test.dedup_events (id, name) VALUES (3, 'third')", FetchType.NONE);
+
+        Optional<Execution> third = trigger.evaluate(context.getKey(), context.getValue());
+        assertThat(third.isPresent(), is(true));
+        List<Map<String, Object>> rows = (List<Map<String, Object>>) third.get().getTrigger().getVariables().get("rows");
+        assertThat(rows.size(), is(1));
+        assertThat(rows.getFirst().get("id"), is(3));
+    }
+
+    @Test
+    public void deduplicationValidation() throws Exception {
+        CassandraTestHelper.query(runContext, "CREATE TABLE IF NOT EXISTS test.dedup_events (id int, name text, PRIMARY KEY (id))", FetchType.NONE);
+        CassandraTestHelper.query(runContext, "INSERT INTO test.dedup_events (id, name) VALUES (1, 'first')", FetchType.NONE);
+
+        Trigger unknownColumn = Trigger.builder()
+            .id("dedup-unknown")
+            .type(Trigger.class.getName())
+            .session(CassandraTestHelper.session())
+            .cql(Property.ofValue("SELECT * FROM test.dedup_events"))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .deduplicationKeys(Property.ofValue(List.of("missing")))
+            .build();
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> unknownContext = TestsUtils.mockTrigger(runContextFactory, unknownColumn);
+        assertThrows(IllegalArgumentException.class, () -> unknownColumn.evaluate(unknownContext.getKey(), unknownContext.getValue()));
+
+        Trigger emptySet = Trigger.builder()
+            .id("dedup-size")
+            .type(Trigger.class.getName())
+            .session(CassandraTestHelper.session())
+            .cql(Property.ofValue("SELECT * FROM test.dedup_events"))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .deduplicationKeys(Property.ofValue(List.of("id")))
+            .deduplicationSize(Property.ofValue(0))
+            .build();
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> sizeContext = TestsUtils.mockTrigger(runContextFactory, emptySet);
+        assertThrows(IllegalArgumentException.class, () -> emptySet.evaluate(sizeContext.getKey(), sizeContext.getValue()));
+    }
+
+    @Test
+    public void adaptiveInterval() throws Exception {
+        Trigger empty = this.adaptiveTrigger("SELECT * FROM test.test_table WHERE id = 'missing'", Duration.ofSeconds(10));
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> context = TestsUtils.mockTrigger(runContextFactory, empty);
+
+        // each empty poll doubles the interval, up to maxInterval
+        for (long expected : new long[] { 20, 40, 40 }) {
+            assertThat(empty.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+            assertThat(secondsUntil(empty.nextEvaluationDate(context.getKey(), Optional.of(context.getValue()))), is(both(greaterThan(expected - 5)).and(lessThanOrEqualTo(expected))));
+        }
+
+        // the interval is read back from the KV store by another instance, as after a scheduler restart
+        Trigger found = this.adaptiveTrigger("SELECT * FROM test.test_table", Duration.ofSeconds(10));
+        assertThat(secondsUntil(found.nextEvaluationDate(context.getKey(), Optional.of(context.getValue()))), is(greaterThan(35L)));
+
+        // a poll returning data drops back to minInterval
+        assertThat(found.evaluate(context.getKey(), context.getValue()).isPresent(), is(true));
+        assertThat(secondsUntil(found.nextEvaluationDate(context.getKey(), Optional.of(context.getValue()))), is(lessThanOrEqualTo(10L)));
+    }
+
+    @Test
+    public void adaptiveIntervalValidation() throws Exception {
+        Trigger trigger = this.adaptiveTrigger("SELECT * FROM test.test_table", Duration.ofMinutes(5));
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> context = TestsUtils.mockTrigger(runContextFactory, trigger);
+
+        assertThrows(IllegalArgumentException.class, () -> trigger.evaluate(context.getKey(), context.getValue()));
+    }
+
+    private Trigger adaptiveTrigger(String cql, Duration minInterval) {
+        return Trigger.builder()
+            .id("adaptive")
+            .type(Trigger.class.getName())
+            .session(CassandraTestHelper.session())
+            .cql(Property.ofValue(cql))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .minInterval(minInterval)
+            .maxInterval(Duration.ofSeconds(40))
+            .build();
+    }
+
+    private static long secondsUntil(ZonedDateTime date) {
+        return Duration.between(ZonedDateTime.now(), date).toSeconds() + 1;
+    }
 }
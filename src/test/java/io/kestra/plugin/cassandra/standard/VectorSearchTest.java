@@ -0,0 +1,125 @@
+package io.kestra.plugin.cassandra.standard;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.plugin.cassandra.AbstractVectorSearch;
+
+import jakarta.inject.Inject;
+
+import static io.kestra.plugin.cassandra.standard.CassandraTestHelper.query;
+import static io.kestra.plugin.cassandra.standard.CassandraTestHelper.session;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class VectorSearchTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private RunContext runContext;
+
+    @BeforeAll
+    public void startUp() throws Exception {
+        runContext = runContextFactory.of(Map.of());
+        new CassandraTestHelper().initServer(runContext);
+
+        query(runContext, "CREATE TABLE IF NOT EXISTS test.vector_table (id int PRIMARY KEY, embedding vector<float, 3>)", FetchType.NONE);
+        query(runContext, "CREATE CUSTOM INDEX IF NOT EXISTS vector_table_embedding ON test.vector_table (embedding) USING 'StorageAttachedIndex'", FetchType.NONE);
+        query(runContext, "INSERT INTO test.vector_table (id, embedding) VALUES (1, [1.0, 0.0, 0.0])", FetchType.NONE);
+        query(runContext, "INSERT INTO test.vector_table (id, embedding) VALUES (2, [0.0, 1.0, 0.0])", FetchType.NONE);
+        query(runContext, "INSERT INTO test.vector_table (id, embedding) VALUES (3, [0.0, 0.0, 1.0])", FetchType.NONE);
+    }
+
+    @Test
+    void run() throws Exception {
+        VectorSearch task = VectorSearch.builder()
+            .session(session())
+            .keyspace(Property.ofValue("test"))
+            .table(Property.ofValue("vector_table"))
+            .column(Property.ofValue("embedding"))
+            .vector(Property.ofValue(List.of(0.1F, 0.9F, 0.0F)))
+            .limit(Property.ofValue(2))
+            .similarity(Property.ofValue(AbstractVectorSearch.Similarity.COSINE))
+            .build();
+
+        VectorSearch.Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is(2L));
+        assertThat(output.getRows().getFirst().get("id"), is(2));
+        assertThat(((float[]) output.getRows().getFirst().get("embedding"))[1], is(1.0F));
+    }
+
+    @Test
+    void batch() throws Exception {
+        File file = runContext.workingDir().createTempFile(".ion").toFile();
+        try (var output = new FileOutputStream(file)) {
+            FileSerde.write(output, List.of(0.0, 0.0, 1.0));
+            FileSerde.write(output, Map.of("vector", List.of(1.0, 0.1, 0.0)));
+        }
+        URI uri = runContext.storage().putFile(file);
+
+        VectorSearch task = VectorSearch.builder()
+            .session(session())
+            .keyspace(Property.ofValue("test"))
+            .table(Property.ofValue("vector_table"))
+            .column(Property.ofValue("embedding"))
+            .columns(Property.ofValue(List.of("id")))
+            .vectorsUri(Property.ofValue(uri.toString()))
+            .limit(Property.ofValue(1))
+            .concurrency(Property.ofValue(1))
+            .build();
+
+        VectorSearch.Output output = task.run(runContext);
+
+        assertThat(output.getQueries(), is(2L));
+        assertThat(output.getSize(), is(2L));
+
+        try (var reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(output.getUri()), StandardCharsets.UTF_8))) {
+            List<Object> results = FileSerde.readAll(reader).collectList().block();
+
+            assertThat(((Map<?, ?>) ((List<?>) ((Map<?, ?>) results.get(0)).get("rows")).getFirst()).get("id"), is(3));
+            assertThat(((Map<?, ?>) ((List<?>) ((Map<?, ?>) results.get(1)).get("rows")).getFirst()).get("id"), is(1));
+        }
+    }
+
+    @Test
+    void batchRejectsWrongDimensions() throws Exception {
+        File file = runContext.workingDir().createTempFile(".ion").toFile();
+        try (var output = new FileOutputStream(file)) {
+            FileSerde.write(output, List.of(0.0, 0.0, 1.0));
+            FileSerde.write(output, List.of(1.0, 0.0));
+        }
+        URI uri = runContext.storage().putFile(file);
+
+        VectorSearch task = VectorSearch.builder()
+            .session(session())
+            .keyspace(Property.ofValue("test"))
+            .table(Property.ofValue("vector_table"))
+            .column(Property.ofValue("embedding"))
+            .vectorsUri(Property.ofValue(uri.toString()))
+            .limit(Property.ofValue(1))
+            .concurrency(Property.ofValue(4))
+            .build();
+
+        assertThrows(IllegalArgumentException.class, () -> task.run(runContext));
+    }
+}